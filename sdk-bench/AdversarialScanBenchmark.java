@@ -0,0 +1,89 @@
+package com.teracrafts.huefy.bench;
+
+import com.teracrafts.huefy.errors.ErrorSanitizer;
+import com.teracrafts.huefy.security.Security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * PII detection and error sanitization on payloads built to make the original regexes
+ * slow, against the linear scanners that replaced them.
+ *
+ * <p>{@code alnum} is one long run of email local-part characters with no {@code @};
+ * the email pattern rescans the rest of the run from every position, so its time grows
+ * with the square of the length. {@code domain} is an address whose domain is a long
+ * run of dots and digits with no top-level domain, which the domain pattern backs
+ * through. {@code digits} is groups of digits that almost form card and phone numbers.
+ * Each payload is {@code length} characters long.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdversarialScanBenchmark {
+
+    private static final List<Pattern> PII_REGEXES = List.of(
+            Pattern.compile("[a-zA-Z0-9._%+\\-]+@[a-zA-Z0-9.\\-]+\\.[a-zA-Z]{2,}"),
+            Pattern.compile("\\b(?:\\d{4}[\\s\\-]?){3}\\d{4}\\b"),
+            Pattern.compile("\\b\\d{3}-\\d{2}-\\d{4}\\b"),
+            Pattern.compile("(?:\\+?1[\\s\\-.]?)?\\(?\\d{3}\\)?[\\s\\-.]?\\d{3}[\\s\\-.]?\\d{4}"),
+            Pattern.compile("\\b(?:\\d{1,3}\\.){3}\\d{1,3}\\b")
+    );
+
+    @Param({"alnum", "domain", "digits"})
+    private String payload;
+
+    @Param({"4096", "16384"})
+    private int length;
+
+    private String text;
+
+    @Setup
+    public void prepare() {
+        String unit = switch (payload) {
+            case "alnum" -> "a";
+            case "domain" -> "1.";
+            case "digits" -> "4111 1111 1111 111-";
+            default -> throw new IllegalArgumentException(payload);
+        };
+        String prefix = payload.equals("domain") ? "x@" : "";
+        text = (prefix + unit.repeat(length / unit.length() + 1)).substring(0, length);
+    }
+
+    @Benchmark
+    public int regexDetect() {
+        int found = 0;
+        for (Pattern pattern : PII_REGEXES) {
+            if (pattern.matcher(text).find()) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public List<String> scannerDetect() {
+        return Security.detectPii(text);
+    }
+
+    @Benchmark
+    public String sanitize() {
+        return ErrorSanitizer.sanitize(text);
+    }
+}
@@ -0,0 +1,49 @@
+package com.teracrafts.huefy.bench;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs the selected benchmarks once per thread count and prints a results table, so
+ * contention effects show up side by side.
+ *
+ * <p>Arguments: a benchmark include pattern and a comma-separated list of thread counts.</p>
+ */
+public class BenchRunner {
+
+    public static void main(String[] args) throws Exception {
+        String include = args.length > 0 ? args[0] : ".*";
+        String[] threadCounts = (args.length > 1 ? args[1] : "1,2,4,8").split(",");
+
+        List<String> rows = new ArrayList<>();
+        for (String threadCount : threadCounts) {
+            int threads = Integer.parseInt(threadCount.trim());
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .build();
+            Collection<RunResult> results = new Runner(options).run();
+            for (RunResult result : results) {
+                StringBuilder name = new StringBuilder(result.getParams().getBenchmark());
+                for (String key : result.getParams().getParamsKeys()) {
+                    name.append(' ').append(key).append('=').append(result.getParams().getParam(key));
+                }
+                rows.add(String.format("%-70s %3d threads %,16.0f %s",
+                        name,
+                        threads,
+                        result.getPrimaryResult().getScore(),
+                        result.getPrimaryResult().getScoreUnit()));
+            }
+        }
+
+        System.out.println();
+        System.out.println("=== Results by thread count ===");
+        rows.forEach(System.out::println);
+    }
+}
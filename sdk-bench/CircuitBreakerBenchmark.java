@@ -0,0 +1,70 @@
+package com.teracrafts.huefy.bench;
+
+import com.teracrafts.huefy.config.HuefyConfig;
+import com.teracrafts.huefy.http.CircuitBreaker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention benchmark for the request path through one shared circuit breaker: every
+ * request calls {@code ensureClosed()} and then {@code recordSuccess()}.
+ *
+ * <p>{@code monitorBreaker} is the previous fully synchronized implementation, kept here
+ * as a baseline. Run across thread counts with {@link BenchRunner}; the lock-free breaker
+ * should scale with threads while the monitor baseline flattens or degrades.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CircuitBreakerBenchmark {
+
+    private final CircuitBreaker breaker = new CircuitBreaker(new HuefyConfig.CircuitBreakerConfig());
+    private final MonitorCircuitBreaker monitor = new MonitorCircuitBreaker();
+
+    @Benchmark
+    public void lockFreeBreaker() {
+        breaker.ensureClosed();
+        breaker.recordSuccess();
+    }
+
+    @Benchmark
+    public void monitorBreaker() {
+        monitor.ensureClosed();
+        monitor.recordSuccess();
+    }
+
+    /**
+     * The request path of the former synchronized breaker, reduced to the closed state.
+     */
+    static final class MonitorCircuitBreaker {
+
+        private boolean open;
+        private int failureCount;
+        private int halfOpenAttempts;
+
+        synchronized void ensureClosed() {
+            if (open) {
+                throw new IllegalStateException("open");
+            }
+        }
+
+        synchronized void recordSuccess() {
+            open = false;
+            failureCount = 0;
+            halfOpenAttempts = 0;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.teracrafts.huefy.bench;
+
+import com.teracrafts.huefy.security.Security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * PII detection on a template value: the single-pass scanner behind
+ * {@link Security#detectPii(String)} against the five-regex pipeline it replaced.
+ *
+ * <p>{@code clean} is typical template text with no PII, {@code email} has one address
+ * near the end, {@code mixed} holds every type, and {@code digits} is a long run of
+ * order numbers and prices, which the digit patterns have to examine closely.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PiiScanBenchmark {
+
+    private static final List<PiiPattern> REGEXES = List.of(
+            new PiiPattern("email", Pattern.compile("[a-zA-Z0-9._%+\\-]+@[a-zA-Z0-9.\\-]+\\.[a-zA-Z]{2,}")),
+            new PiiPattern("credit_card", Pattern.compile("\\b(?:\\d{4}[\\s\\-]?){3}\\d{4}\\b")),
+            new PiiPattern("ssn", Pattern.compile("\\b\\d{3}-\\d{2}-\\d{4}\\b")),
+            new PiiPattern("phone", Pattern.compile(
+                    "(?:\\+?1[\\s\\-.]?)?\\(?\\d{3}\\)?[\\s\\-.]?\\d{3}[\\s\\-.]?\\d{4}")),
+            new PiiPattern("ip_address", Pattern.compile("\\b(?:\\d{1,3}\\.){3}\\d{1,3}\\b"))
+    );
+
+    @Param({"clean", "email", "mixed", "digits"})
+    private String input;
+
+    private String text;
+
+    @Setup
+    public void prepare() {
+        String prose = "Hi there, your order has shipped and should arrive within a few days. "
+                + "Thanks for shopping with us, and let us know if anything is not right. ";
+        switch (input) {
+            case "clean" -> text = prose.repeat(3);
+            case "email" -> text = prose.repeat(3) + "Questions? Write to support@example.com.";
+            case "mixed" -> text = "Reach jane.doe@example.com or (555) 123-4567. SSN 123-45-6789, card "
+                    + "4111 1111 1111 1111, last login from 192.168.1.100.";
+            case "digits" -> text = "Order 2024061512 total 129.99 qty 12 sku 88172 ref 77 ".repeat(8);
+            default -> throw new IllegalArgumentException(input);
+        }
+    }
+
+    @Benchmark
+    public List<String> regex() {
+        return REGEXES.stream()
+                .filter(p -> p.pattern().matcher(text).find())
+                .map(PiiPattern::type)
+                .toList();
+    }
+
+    @Benchmark
+    public List<String> scanner() {
+        return Security.detectPii(text);
+    }
+
+    private record PiiPattern(String type, Pattern pattern) {}
+}
@@ -0,0 +1,81 @@
+package com.teracrafts.huefy.bench;
+
+import com.teracrafts.huefy.security.PiiFinding;
+import com.teracrafts.huefy.security.Security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PII checks on template data: walking the values with {@link Security#findPii} against
+ * serializing each non-string value to JSON and scanning the text, as sends used to.
+ *
+ * <p>{@code flat} holds only strings and numbers, {@code nested} an order with a list of
+ * line items and a customer map.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PiiWalkBenchmark {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Param({"flat", "nested"})
+    private String shape;
+
+    private Map<String, Object> data;
+
+    @Setup
+    public void prepare() {
+        data = new LinkedHashMap<>();
+        data.put("firstName", "Jane");
+        data.put("orderNumber", 2024061512);
+        data.put("total", 129.99);
+        data.put("greeting", "Thanks for your order, it will ship within two business days.");
+        if (shape.equals("nested")) {
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                items.add(Map.of("sku", "SKU-" + (88172 + i), "name", "Item number " + i, "qty", i + 1,
+                        "price", 9.99 + i));
+            }
+            data.put("items", items);
+            data.put("customer", Map.of("name", "Jane Doe", "tier", "gold",
+                    "address", Map.of("city", "Springfield", "zip", "12345")));
+        }
+    }
+
+    @Benchmark
+    public List<PiiFinding> walk() {
+        return Security.findPii(data, 65_536);
+    }
+
+    @Benchmark
+    public int serialize() throws JsonProcessingException {
+        int found = 0;
+        for (Object value : data.values()) {
+            String text = value instanceof CharSequence ? value.toString() : objectMapper.writeValueAsString(value);
+            found += Security.detectPii(text, 65_536).size();
+        }
+        return found;
+    }
+}
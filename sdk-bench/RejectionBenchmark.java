@@ -0,0 +1,73 @@
+package com.teracrafts.huefy.bench;
+
+import com.teracrafts.huefy.config.HuefyConfig;
+import com.teracrafts.huefy.errors.HuefyException;
+import com.teracrafts.huefy.http.CircuitBreaker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rejecting a request at an open circuit breaker, with and without stack trace
+ * capture.
+ *
+ * <p>Stack capture cost grows with the depth of the caller's stack, so the rejection is
+ * made {@code depth} frames below the benchmark method to stand in for an application
+ * call chain.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RejectionBenchmark {
+
+    @Param({"0", "64"})
+    private int depth;
+
+    private CircuitBreaker withStack;
+    private CircuitBreaker stackless;
+
+    @Setup
+    public void open() {
+        var config = new HuefyConfig.CircuitBreakerConfig(1, TimeUnit.HOURS.toMillis(1));
+        withStack = new CircuitBreaker(config, null, false);
+        stackless = new CircuitBreaker(config, null, true);
+        withStack.recordFailure();
+        stackless.recordFailure();
+    }
+
+    @Benchmark
+    public HuefyException rejectWithStack() {
+        return reject(withStack, depth);
+    }
+
+    @Benchmark
+    public HuefyException rejectStackless() {
+        return reject(stackless, depth);
+    }
+
+    private static HuefyException reject(CircuitBreaker breaker, int depth) {
+        if (depth > 0) {
+            return reject(breaker, depth - 1);
+        }
+        try {
+            breaker.ensureClosed();
+            throw new IllegalStateException("circuit is closed");
+        } catch (HuefyException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.teracrafts.huefy.bench;
+
+import com.teracrafts.huefy.errors.ErrorSanitizer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Error body sanitization: {@link ErrorSanitizer#sanitize(String)} against the
+ * rule-by-rule {@code replaceAll} chain it replaced.
+ *
+ * <p>{@code json} is a typical clean JSON error, {@code html} a proxy's 5xx page,
+ * {@code pii} a JSON error echoing an email address and a token.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SanitizerBenchmark {
+
+    private static final String MASK = "***REDACTED***";
+
+    private static final List<Pattern> RULES = List.of(
+            Pattern.compile("(?i)(api[_-]?key|apikey|x-api-key)[\"':\\s=]+[\"']?([a-zA-Z0-9_\\-]{20,})[\"']?"),
+            Pattern.compile("(?i)(bearer\\s+)([a-zA-Z0-9_\\-\\.]+)"),
+            Pattern.compile("(?i)(authorization)[\"':\\s=]+[\"']?([^\"'\\s,}{]+)[\"']?"),
+            Pattern.compile("[a-zA-Z0-9._%+\\-]+@[a-zA-Z0-9.\\-]+\\.[a-zA-Z]{2,}"),
+            Pattern.compile("\\b(?:\\d{1,3}\\.){3}\\d{1,3}\\b"),
+            Pattern.compile("\\b(?:\\d{4}[\\s\\-]?){3}\\d{4}\\b"),
+            Pattern.compile("\\b\\d{3}-\\d{2}-\\d{4}\\b"),
+            Pattern.compile("(?:\\+?1[\\s\\-.]?)?\\(?\\d{3}\\)?[\\s\\-.]?\\d{3}[\\s\\-.]?\\d{4}"),
+            Pattern.compile("(?i)(password|secret|token|credential)[\"':\\s=]+[\"']?([^\"'\\s,}{]+)[\"']?")
+    );
+
+    @Param({"json", "html", "pii"})
+    private String input;
+
+    private String body;
+
+    @Setup
+    public void prepare() {
+        switch (input) {
+            case "json" -> body = "{\"success\":false,\"error\":{\"code\":\"SERVICE_UNAVAILABLE\","
+                    + "\"message\":\"The service is temporarily unavailable, please retry later\"}}";
+            case "html" -> body = "<html><head><title>502 Bad Gateway</title></head><body><center>"
+                    + "<h1>502 Bad Gateway</h1></center><hr><center>nginx</center>"
+                    + "<p>The upstream server returned an invalid response.</p>".repeat(20)
+                    + "</body></html>";
+            case "pii" -> body = "{\"success\":false,\"error\":{\"code\":\"VALIDATION_ERROR\","
+                    + "\"message\":\"Recipient jane.doe@example.com is suppressed\",\"token\":\"tk_9f8e7d6c\"}}";
+            default -> throw new IllegalArgumentException(input);
+        }
+    }
+
+    @Benchmark
+    public String sequential() {
+        String result = body;
+        for (Pattern rule : RULES) {
+            var matcher = rule.matcher(result);
+            if (matcher.find()) {
+                result = matcher.replaceAll(match -> match.groupCount() >= 2 ? match.group(1) + " " + MASK : MASK);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public String singlePass() {
+        return ErrorSanitizer.sanitize(body);
+    }
+}
@@ -0,0 +1,242 @@
+package com.teracrafts.huefy.client;
+
+import com.teracrafts.huefy.models.BulkRecipient;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Pull-based source of bulk recipient chunks for streaming sends.
+ *
+ * <p>Implementations produce a chunk only when {@link #next()} is called, so the number
+ * of recipients held in memory is bounded by the number of outstanding pulls. Calls to
+ * {@code next()} may come from several threads and are served in order.</p>
+ */
+interface BulkChunkSource {
+
+    /**
+     * Pulls the next chunk.
+     *
+     * @return a future completing with up to {@code chunkSize} recipients, with null once
+     *         the source is exhausted, or exceptionally if the source fails
+     */
+    CompletableFuture<List<BulkRecipient>> next();
+
+    /**
+     * Stops the source; outstanding and future pulls complete with null.
+     */
+    void cancel();
+
+    /**
+     * Creates a source that pulls chunks from an iterator. The iterator is only ever
+     * advanced by one thread at a time.
+     *
+     * @param recipients the iterator to drain
+     * @param chunkSize  the maximum chunk size
+     * @return the source
+     */
+    static BulkChunkSource fromIterator(Iterator<? extends BulkRecipient> recipients, int chunkSize) {
+        return new IteratorSource(recipients, chunkSize);
+    }
+
+    /**
+     * Creates a source that subscribes to a publisher and requests exactly one chunk's
+     * worth of recipients per pull, propagating backpressure upstream.
+     *
+     * @param recipients the publisher to subscribe to
+     * @param chunkSize  the maximum chunk size
+     * @return the source
+     */
+    static BulkChunkSource fromPublisher(Flow.Publisher<? extends BulkRecipient> recipients, int chunkSize) {
+        PublisherSource source = new PublisherSource(chunkSize);
+        recipients.subscribe(source);
+        return source;
+    }
+
+    /**
+     * Iterator-backed source; pulls are synchronous.
+     */
+    final class IteratorSource implements BulkChunkSource {
+
+        private final Iterator<? extends BulkRecipient> recipients;
+        private final int chunkSize;
+        private boolean done;
+
+        private IteratorSource(Iterator<? extends BulkRecipient> recipients, int chunkSize) {
+            this.recipients = recipients;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public synchronized CompletableFuture<List<BulkRecipient>> next() {
+            if (done) {
+                return CompletableFuture.completedFuture(null);
+            }
+            try {
+                List<BulkRecipient> chunk = new ArrayList<>(chunkSize);
+                while (chunk.size() < chunkSize && recipients.hasNext()) {
+                    chunk.add(recipients.next());
+                }
+                if (chunk.isEmpty()) {
+                    done = true;
+                    return CompletableFuture.completedFuture(null);
+                }
+                return CompletableFuture.completedFuture(chunk);
+            } catch (RuntimeException e) {
+                done = true;
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        @Override
+        public synchronized void cancel() {
+            done = true;
+        }
+    }
+
+    /**
+     * Publisher-backed source. Only one chunk is requested from upstream at a time;
+     * further pulls wait in line until the current chunk is filled.
+     */
+    final class PublisherSource implements BulkChunkSource, Flow.Subscriber<BulkRecipient> {
+
+        private final int chunkSize;
+        private final Deque<CompletableFuture<List<BulkRecipient>>> waiting = new ArrayDeque<>();
+        private Flow.Subscription subscription;
+        private List<BulkRecipient> buffer;
+        private boolean filling;
+        private boolean done;
+        private Throwable failure;
+
+        private PublisherSource(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public CompletableFuture<List<BulkRecipient>> next() {
+            CompletableFuture<List<BulkRecipient>> pull = new CompletableFuture<>();
+            boolean start;
+            synchronized (this) {
+                if (done) {
+                    return failure != null
+                            ? CompletableFuture.failedFuture(failure)
+                            : CompletableFuture.completedFuture(null);
+                }
+                waiting.add(pull);
+                start = startFillingIfIdle();
+            }
+            if (start) {
+                subscription.request(chunkSize);
+            }
+            return pull;
+        }
+
+        @Override
+        public void cancel() {
+            Flow.Subscription current;
+            synchronized (this) {
+                done = true;
+                buffer = null;
+                current = subscription;
+            }
+            if (current != null) {
+                current.cancel();
+            }
+            onComplete();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            boolean start;
+            synchronized (this) {
+                if (this.subscription != null || done) {
+                    subscription.cancel();
+                    return;
+                }
+                this.subscription = subscription;
+                start = startFillingIfIdle();
+            }
+            if (start) {
+                subscription.request(chunkSize);
+            }
+        }
+
+        @Override
+        public void onNext(BulkRecipient item) {
+            CompletableFuture<List<BulkRecipient>> pull = null;
+            List<BulkRecipient> chunk = null;
+            boolean start = false;
+            synchronized (this) {
+                if (!filling) {
+                    return;
+                }
+                buffer.add(item);
+                if (buffer.size() == chunkSize) {
+                    chunk = buffer;
+                    pull = waiting.poll();
+                    filling = false;
+                    buffer = null;
+                    start = startFillingIfIdle();
+                }
+            }
+            if (pull != null) {
+                pull.complete(chunk);
+            }
+            if (start) {
+                subscription.request(chunkSize);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            List<CompletableFuture<List<BulkRecipient>>> pulls;
+            synchronized (this) {
+                done = true;
+                filling = false;
+                buffer = null;
+                failure = throwable;
+                pulls = new ArrayList<>(waiting);
+                waiting.clear();
+            }
+            pulls.forEach(pull -> pull.completeExceptionally(throwable));
+        }
+
+        @Override
+        public void onComplete() {
+            List<CompletableFuture<List<BulkRecipient>>> pulls;
+            List<BulkRecipient> partial;
+            synchronized (this) {
+                done = true;
+                filling = false;
+                partial = buffer != null && !buffer.isEmpty() ? buffer : null;
+                buffer = null;
+                pulls = new ArrayList<>(waiting);
+                waiting.clear();
+            }
+            for (CompletableFuture<List<BulkRecipient>> pull : pulls) {
+                pull.complete(partial);
+                partial = null;
+            }
+        }
+
+        /**
+         * Starts filling a new chunk when a pull is waiting and none is in progress.
+         * Must be called while holding the lock.
+         *
+         * @return true if the caller should request a chunk from upstream
+         */
+        private boolean startFillingIfIdle() {
+            if (filling || done || subscription == null || waiting.isEmpty()) {
+                return false;
+            }
+            filling = true;
+            buffer = new ArrayList<>(chunkSize);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package com.teracrafts.huefy.client;
+
+import com.teracrafts.huefy.errors.ErrorCode;
+import com.teracrafts.huefy.errors.HuefyException;
+import com.teracrafts.huefy.models.BulkRecipient;
+import com.teracrafts.huefy.models.RecipientStatus;
+import com.teracrafts.huefy.models.SendBulkEmailsResponse;
+import com.teracrafts.huefy.models.SendBulkEmailsResponseData;
+import com.teracrafts.huefy.validators.EmailValidators;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Dispatches an oversized bulk send as a series of compliant chunks.
+ *
+ * <p>Up to {@code parallelism} chunks are in flight at any time. Each lane picks the
+ * next unsent chunk as soon as its previous one completes, so a slow chunk never
+ * stalls the others. A chunk that fails after retries does not abort the rest; its
+ * recipients are reported as failed in the merged result. Only when every chunk
+ * fails does the returned future complete exceptionally.</p>
+ *
+ * <p>Chunks come either from a materialized list, in which case every recipient
+ * status is kept in order, or from a {@link BulkChunkSource}, in which case chunks
+ * are pulled only when a lane is free and only counts are retained, so memory stays
+ * bounded by {@code parallelism} chunks regardless of the total size.</p>
+ */
+final class BulkDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkDispatcher.class);
+
+    /** Errors and batch IDs a streamed summary keeps, so it stays bounded however many chunks run. */
+    static final int SUMMARY_LIMIT = 100;
+
+    private final Function<List<BulkRecipient>, CompletableFuture<SendBulkEmailsResponse>> chunkSender;
+    private final int parallelism;
+
+    /**
+     * @param chunkSender sends a single compliant chunk
+     * @param parallelism maximum number of chunks in flight
+     */
+    BulkDispatcher(Function<List<BulkRecipient>, CompletableFuture<SendBulkEmailsResponse>> chunkSender,
+                   int parallelism) {
+        this.chunkSender = chunkSender;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Splits a recipient list into consecutive views of at most {@code chunkSize} entries.
+     */
+    static List<List<BulkRecipient>> chunk(List<BulkRecipient> recipients, int chunkSize) {
+        List<List<BulkRecipient>> chunks = new ArrayList<>((recipients.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < recipients.size(); from += chunkSize) {
+            chunks.add(recipients.subList(from, Math.min(from + chunkSize, recipients.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Sends all chunks and merges their responses in chunk order.
+     *
+     * @param chunks the chunks to send
+     * @return a future completing with the aggregated response
+     */
+    CompletableFuture<SendBulkEmailsResponse> dispatch(List<List<BulkRecipient>> chunks) {
+        ChunkOutcome[] outcomes = new ChunkOutcome[chunks.size()];
+        AtomicInteger next = new AtomicInteger();
+
+        int lanes = Math.min(parallelism, chunks.size());
+        CompletableFuture<?>[] running = new CompletableFuture<?>[lanes];
+        for (int i = 0; i < lanes; i++) {
+            running[i] = lane(() -> sendNext(chunks, outcomes, next));
+        }
+
+        return CompletableFuture.allOf(running).thenApply(ignored -> merge(List.of(outcomes)));
+    }
+
+    /**
+     * Pulls chunks from a source and sends them as lanes free up.
+     *
+     * <p>Recipients rejected by {@code validator} are not sent; they are reported as
+     * failed recipient statuses alongside the chunk they arrived in. Each chunk's
+     * response, including rejected and failed recipients, is handed to
+     * {@code chunkListener}. The returned summary carries summed counts but no
+     * recipient statuses, and only the first {@link #SUMMARY_LIMIT} errors and batch IDs;
+     * metadata {@code droppedErrors} and {@code droppedBatchIds} count the rest, which
+     * reach {@code chunkListener} only.</p>
+     *
+     * @param source        the chunk source
+     * @param validator     returns an error message for an invalid recipient, or null
+     * @param chunkListener receives each chunk's response (may be null)
+     * @return a future completing with the summary once the source is exhausted and all
+     *         chunks have completed, or exceptionally if the source fails
+     */
+    CompletableFuture<SendBulkEmailsResponse> dispatch(BulkChunkSource source,
+                                                       Function<BulkRecipient, String> validator,
+                                                       Consumer<SendBulkEmailsResponse> chunkListener) {
+        Aggregate aggregate = new Aggregate(false);
+        CompletableFuture<?>[] running = new CompletableFuture<?>[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            running[i] = lane(() -> sendNextStreamed(source, validator, chunkListener, aggregate));
+        }
+
+        return CompletableFuture.allOf(running)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        source.cancel();
+                    }
+                })
+                .thenApply(ignored -> aggregate.result());
+    }
+
+    /**
+     * Runs {@code step} until it yields false. Steps that complete immediately, such as
+     * chunks rejected before any network call, are looped over rather than chained, so a
+     * long run of them cannot overflow the stack; the lane only continues from a callback
+     * when a step is still pending.
+     *
+     * @param step starts the next step; its future yields whether to run another
+     * @return a future completing once a step yields false, or exceptionally if one fails
+     */
+    private static CompletableFuture<Void> lane(Supplier<CompletableFuture<Boolean>> step) {
+        CompletableFuture<Void> lane = new CompletableFuture<>();
+        runLane(step, lane);
+        return lane;
+    }
+
+    private static void runLane(Supplier<CompletableFuture<Boolean>> step, CompletableFuture<Void> lane) {
+        while (true) {
+            CompletableFuture<Boolean> current;
+            try {
+                current = step.get();
+            } catch (RuntimeException e) {
+                lane.completeExceptionally(e);
+                return;
+            }
+            if (!current.isDone()) {
+                current.whenComplete((more, error) -> {
+                    if (error != null) {
+                        lane.completeExceptionally(unwrap(error));
+                    } else if (more) {
+                        runLane(step, lane);
+                    } else {
+                        lane.complete(null);
+                    }
+                });
+                return;
+            }
+            boolean more;
+            try {
+                more = current.join();
+            } catch (CompletionException | CancellationException e) {
+                lane.completeExceptionally(unwrap(e));
+                return;
+            }
+            if (!more) {
+                lane.complete(null);
+                return;
+            }
+        }
+    }
+
+    private CompletableFuture<Boolean> sendNext(List<List<BulkRecipient>> chunks, ChunkOutcome[] outcomes,
+                                                AtomicInteger next) {
+        int index = next.getAndIncrement();
+        if (index >= chunks.size()) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        List<BulkRecipient> chunk = chunks.get(index);
+        return send(chunk).handle((response, error) -> {
+            outcomes[index] = new ChunkOutcome(chunk, response, unwrap(error));
+            return true;
+        });
+    }
+
+    private CompletableFuture<Boolean> sendNextStreamed(BulkChunkSource source,
+                                                       Function<BulkRecipient, String> validator,
+                                                       Consumer<SendBulkEmailsResponse> chunkListener,
+                                                       Aggregate aggregate) {
+        return source.next().thenCompose(chunk -> {
+            if (chunk == null) {
+                return CompletableFuture.completedFuture(false);
+            }
+
+            List<BulkRecipient> accepted = new ArrayList<>(chunk.size());
+            List<RecipientStatus> rejected = new ArrayList<>();
+            for (BulkRecipient recipient : chunk) {
+                String error = validator.apply(recipient);
+                if (error == null) {
+                    accepted.add(recipient);
+                } else {
+                    rejected.add(new RecipientStatus(
+                            recipient != null ? recipient.email() : null, "failed", null, error, null));
+                }
+            }
+
+            CompletableFuture<SendBulkEmailsResponse> sent = accepted.isEmpty()
+                    ? CompletableFuture.completedFuture(null)
+                    : send(accepted);
+
+            return sent
+                    .handle((response, error) -> {
+                        SendBulkEmailsResponse chunkResponse = aggregate.add(
+                                new ChunkOutcome(accepted, response, unwrap(error)), rejected);
+                        if (chunkListener != null) {
+                            try {
+                                chunkListener.accept(chunkResponse);
+                            } catch (RuntimeException e) {
+                                logger.warn("Bulk chunk listener threw: {}", e.getMessage());
+                            }
+                        }
+                        return true;
+                    });
+        });
+    }
+
+    private CompletableFuture<SendBulkEmailsResponse> send(List<BulkRecipient> chunk) {
+        try {
+            return chunkSender.apply(chunk);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Merges per-chunk outcomes into a single response with summed counts and every
+     * recipient status, in chunk order.
+     */
+    static SendBulkEmailsResponse merge(List<ChunkOutcome> outcomes) {
+        Aggregate aggregate = new Aggregate(true);
+        for (ChunkOutcome outcome : outcomes) {
+            aggregate.add(outcome, List.of());
+        }
+        return aggregate.result();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * The result of sending one chunk: either a response or the error it failed with.
+     * A chunk with neither had no recipients left to send after validation.
+     */
+    record ChunkOutcome(List<BulkRecipient> chunk, SendBulkEmailsResponse response, Throwable error) {}
+
+    /**
+     * Running totals across chunks.
+     */
+    private static final class Aggregate {
+
+        private final boolean retainAll;
+        private int chunkCount;
+        private SendBulkEmailsResponseData first;
+        private Throwable firstError;
+        private boolean success = true;
+        private String status;
+        private boolean mixedStatus;
+        private String correlationId;
+        private String completedAt;
+        private int totalRecipients;
+        private int processedCount;
+        private int successCount;
+        private int failureCount;
+        private int suppressedCount;
+        private final List<RecipientStatus> recipients = new ArrayList<>();
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+        private final List<String> batchIds = new ArrayList<>();
+        private int droppedErrors;
+        private int droppedBatchIds;
+
+        /**
+         * @param retainAll whether to keep every recipient status, error and batch ID, rather
+         *                  than no statuses and the first {@link #SUMMARY_LIMIT} of the others
+         */
+        Aggregate(boolean retainAll) {
+            this.retainAll = retainAll;
+        }
+
+        /**
+         * Adds one chunk's outcome and returns that chunk's own response, with failed
+         * and rejected recipients expressed as failed statuses.
+         */
+        synchronized SendBulkEmailsResponse add(ChunkOutcome outcome, List<RecipientStatus> rejected) {
+            int index = chunkCount++;
+            List<RecipientStatus> chunkRecipients = new ArrayList<>(rejected);
+            List<Map<String, Object>> chunkErrors = new ArrayList<>();
+            int chunkTotal = rejected.size();
+            int chunkFailures = rejected.size();
+            SendBulkEmailsResponseData data = null;
+
+            if (outcome.error() != null) {
+                if (firstError == null) {
+                    firstError = outcome.error();
+                }
+                mixedStatus = true;
+                chunkTotal += outcome.chunk().size();
+                chunkFailures += outcome.chunk().size();
+                for (BulkRecipient r : outcome.chunk()) {
+                    chunkRecipients.add(new RecipientStatus(r.email().trim(), "failed", null,
+                            outcome.error().getMessage(), null));
+                }
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("chunk", index);
+                error.put("recipients", outcome.chunk().size());
+                error.put("message", outcome.error().getMessage());
+                if (outcome.error() instanceof HuefyException e) {
+                    error.put("code", e.getCode().name());
+                }
+                chunkErrors.add(error);
+            } else if (outcome.response() != null) {
+                SendBulkEmailsResponse response = outcome.response();
+                data = response.data();
+                success &= response.success();
+                if (correlationId == null) {
+                    correlationId = response.correlationId();
+                }
+                if (first == null) {
+                    first = data;
+                    status = data.status();
+                } else if (status == null ? data.status() != null : !status.equals(data.status())) {
+                    mixedStatus = true;
+                }
+                if (data.batchId() != null) {
+                    if (retainAll || batchIds.size() < SUMMARY_LIMIT) {
+                        batchIds.add(data.batchId());
+                    } else {
+                        droppedBatchIds++;
+                    }
+                }
+                if (data.completedAt() != null) {
+                    completedAt = data.completedAt();
+                }
+                chunkTotal += data.totalRecipients();
+                processedCount += data.processedCount();
+                successCount += data.successCount();
+                chunkFailures += data.failureCount();
+                suppressedCount += data.suppressedCount();
+                chunkRecipients.addAll(data.recipients());
+                chunkErrors.addAll(data.errors());
+            }
+
+            if (!rejected.isEmpty() || outcome.error() != null) {
+                success = false;
+                mixedStatus = true;
+            }
+            totalRecipients += chunkTotal;
+            failureCount += chunkFailures;
+            if (retainAll) {
+                errors.addAll(chunkErrors);
+            } else {
+                int kept = Math.min(chunkErrors.size(), SUMMARY_LIMIT - errors.size());
+                errors.addAll(chunkErrors.subList(0, kept));
+                droppedErrors += chunkErrors.size() - kept;
+            }
+            if (retainAll) {
+                recipients.addAll(chunkRecipients);
+            }
+
+            if (data != null && rejected.isEmpty()) {
+                return outcome.response();
+            }
+            return new SendBulkEmailsResponse(false, new SendBulkEmailsResponseData(
+                    data != null ? data.batchId() : null,
+                    data != null ? "partial" : "failed",
+                    data != null ? data.templateKey() : null,
+                    data != null ? data.templateVersion() : 0,
+                    data != null ? data.senderUsed() : null,
+                    data != null && data.senderVerified(),
+                    chunkTotal,
+                    data != null ? data.processedCount() : 0,
+                    data != null ? data.successCount() : 0,
+                    chunkFailures,
+                    data != null ? data.suppressedCount() : 0,
+                    data != null ? data.startedAt() : null,
+                    data != null ? data.completedAt() : null,
+                    chunkRecipients,
+                    chunkErrors,
+                    data != null ? data.metadata() : Map.of()
+            ), outcome.response() != null ? outcome.response().correlationId() : null);
+        }
+
+        synchronized SendBulkEmailsResponse result() {
+            if (chunkCount == 0) {
+                throw new HuefyException(EmailValidators.validateBulkCount(0), ErrorCode.VALIDATION_ERROR, null, false);
+            }
+            if (first == null && firstError != null) {
+                throw firstError instanceof RuntimeException e ? e : new CompletionException(firstError);
+            }
+
+            Map<String, Object> metadata = new LinkedHashMap<>(first != null ? first.metadata() : Map.of());
+            metadata.put("chunkCount", chunkCount);
+            metadata.put("batchIds", batchIds);
+            if (!retainAll) {
+                metadata.put("droppedErrors", droppedErrors);
+                metadata.put("droppedBatchIds", droppedBatchIds);
+            }
+
+            SendBulkEmailsResponseData merged = new SendBulkEmailsResponseData(
+                    first != null ? first.batchId() : null,
+                    first == null ? "failed" : mixedStatus ? "partial" : status,
+                    first != null ? first.templateKey() : null,
+                    first != null ? first.templateVersion() : 0,
+                    first != null ? first.senderUsed() : null,
+                    first != null && first.senderVerified(),
+                    totalRecipients,
+                    processedCount,
+                    successCount,
+                    failureCount,
+                    suppressedCount,
+                    first != null ? first.startedAt() : null,
+                    completedAt,
+                    recipients,
+                    errors,
+                    metadata
+            );
+
+            return new SendBulkEmailsResponse(success && first != null, merged, correlationId);
+        }
+    }
+}
@@ -1,19 +1,19 @@
 package com.teracrafts.huefy.client;
 
+import com.teracrafts.huefy.config.ConcurrencyLimitInfo;
 import com.teracrafts.huefy.config.HuefyConfig;
+import com.teracrafts.huefy.config.RateLimitInfo;
 import com.teracrafts.huefy.errors.HuefyException;
 import com.teracrafts.huefy.errors.ErrorCode;
 import com.teracrafts.huefy.http.HttpClient;
 import com.teracrafts.huefy.models.HealthResponse;
-import com.teracrafts.huefy.models.HealthResponseData;
 import com.teracrafts.huefy.utils.Version;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Main client for the Huefy SDK.
@@ -37,7 +37,6 @@ import java.util.Objects;
 public class HuefyClient implements AutoCloseable {
 
     private static final Logger logger = LoggerFactory.getLogger(HuefyClient.class);
-    private static final ObjectMapper objectMapper = new ObjectMapper();
 
     private final HuefyConfig config;
     protected final HttpClient httpClient;
@@ -85,27 +84,42 @@ public class HuefyClient implements AutoCloseable {
      */
     public HealthResponse healthCheck() {
         ensureOpen();
-        try {
-            String response = httpClient.request("GET", "/health", null);
-            JsonNode node = objectMapper.readTree(response);
-
-            JsonNode dataNode = node.path("data");
-            HealthResponseData data = new HealthResponseData(
-                    dataNode.has("status") ? dataNode.get("status").asText() : "unknown",
-                    dataNode.has("timestamp") ? dataNode.get("timestamp").asText() : null,
-                    dataNode.has("version") ? dataNode.get("version").asText() : null
-            );
+        return httpClient.request("GET", "/health", null, ResponseDecoders.HEALTH);
+    }
 
-            return new HealthResponse(
-                    node.has("success") && node.get("success").asBoolean(),
-                    data,
-                    node.has("correlationId") ? node.get("correlationId").asText() : null
-            );
+    /**
+     * Performs a health check against the API without blocking the calling thread.
+     *
+     * @return a future completing with the health check response, or exceptionally
+     *         with a {@link HuefyException} if the request fails
+     */
+    public CompletableFuture<HealthResponse> healthCheckAsync() {
+        try {
+            ensureOpen();
         } catch (HuefyException e) {
-            throw e;
-        } catch (Exception e) {
-            throw HuefyException.networkError("Health check failed: " + e.getMessage(), e);
+            return CompletableFuture.failedFuture(e);
         }
+        return httpClient.requestAsync("GET", "/health", null, ResponseDecoders.HEALTH);
+    }
+
+    /**
+     * Returns the rate limit state the API reported most recently. The snapshot is kept
+     * up to date from every response, whether or not rate limit callbacks are set.
+     *
+     * @return the latest rate limit info, or null if no response has carried rate limit headers yet
+     */
+    public RateLimitInfo getRateLimitInfo() {
+        return httpClient.getRateLimitInfo();
+    }
+
+    /**
+     * Returns the current adaptive concurrency limit, with the number of requests in
+     * flight and waiting for a slot.
+     *
+     * @return a snapshot of the limit, or null if no concurrency limit is configured
+     */
+    public ConcurrencyLimitInfo getConcurrencyLimitInfo() {
+        return httpClient.getConcurrencyLimitInfo();
     }
 
     /**
@@ -195,6 +209,36 @@ public class HuefyClient implements AutoCloseable {
             return this;
         }
 
+        public Builder useVirtualThreads(boolean useVirtualThreads) {
+            configBuilder.useVirtualThreads(useVirtualThreads);
+            return this;
+        }
+
+        public Builder maxCircuitBreakers(int maxCircuitBreakers) {
+            configBuilder.maxCircuitBreakers(maxCircuitBreakers);
+            return this;
+        }
+
+        public Builder stacklessRejections(boolean stacklessRejections) {
+            configBuilder.stacklessRejections(stacklessRejections);
+            return this;
+        }
+
+        public Builder rateLimiterConfig(HuefyConfig.RateLimiterConfig rateLimiterConfig) {
+            configBuilder.rateLimiterConfig(rateLimiterConfig);
+            return this;
+        }
+
+        public Builder concurrencyLimitConfig(HuefyConfig.ConcurrencyLimitConfig concurrencyLimitConfig) {
+            configBuilder.concurrencyLimitConfig(concurrencyLimitConfig);
+            return this;
+        }
+
+        public Builder maxSanitizedErrorLength(int maxSanitizedErrorLength) {
+            configBuilder.maxSanitizedErrorLength(maxSanitizedErrorLength);
+            return this;
+        }
+
         /**
          * Builds the client.
          *
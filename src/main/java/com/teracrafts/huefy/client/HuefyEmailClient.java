@@ -1,24 +1,25 @@
 package com.teracrafts.huefy.client;
 
 import com.teracrafts.huefy.config.HuefyConfig;
-import com.teracrafts.huefy.errors.ErrorCode;
 import com.teracrafts.huefy.errors.HuefyException;
+import com.teracrafts.huefy.http.Admission;
 import com.teracrafts.huefy.models.*;
-import com.teracrafts.huefy.security.Security;
 import com.teracrafts.huefy.validators.EmailValidators;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.core.type.TypeReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Email-focused client for the Huefy SDK.
@@ -34,15 +35,20 @@ import java.util.Objects;
  * // Bulk emails
  * var recipients = List.of(new BulkRecipient("alice@example.com", "to", Map.of("name", "Alice")));
  * var result = client.sendBulkEmails(new SendBulkEmailsRequest("welcome", recipients));
+ *
+ * // Non-blocking
+ * client.sendEmailAsync(request).thenAccept(r -> System.out.println(r.data().emailId()));
  * }</pre>
  */
 public class HuefyEmailClient extends HuefyClient {
 
     private static final Logger logger = LoggerFactory.getLogger(HuefyEmailClient.class);
-    private static final ObjectMapper objectMapper = new ObjectMapper();
     private static final String EMAILS_SEND_PATH = "/emails/send";
     private static final String EMAILS_SEND_BULK_PATH = "/emails/send-bulk";
 
+    private final SendCoalescer coalescer;
+    private final PiiMonitor piiMonitor;
+
     /**
      * Creates a new email client with the given API key and default configuration.
      *
@@ -61,6 +67,11 @@ public class HuefyEmailClient extends HuefyClient {
      */
     public HuefyEmailClient(HuefyConfig config) {
         super(config);
+        this.coalescer = config.getCoalescingConfig() != null
+                ? new SendCoalescer(config.getCoalescingConfig(), this::sendBulkChunkAsync, httpClient.getExecutor())
+                : null;
+        this.piiMonitor = new PiiMonitor(config.getPiiScanConfig(), config.getMaxPiiScanLength(),
+                httpClient.getExecutor());
     }
 
     /**
@@ -75,322 +86,525 @@ public class HuefyEmailClient extends HuefyClient {
     /**
      * Sends an email using a template.
      *
+     * <p>When coalescing is enabled, the send joins a bulk batch and this call blocks until
+     * that batch has been sent.</p>
+     *
      * @param request the email request containing templateKey, data, recipient, and optional provider
      * @return the send email response
      * @throws HuefyException if validation fails or the request fails
      */
     public SendEmailResponse sendEmail(SendEmailRequest request) {
-        if (request.recipientObject() != null) {
-            return sendEmail(request.templateKey(), request.data(), request.recipientObject(), request.provider());
+        if (coalescer != null) {
+            validateSendEmail(request);
+            return awaitCoalesced(coalesce(request));
         }
-        return sendEmail(request.templateKey(), request.data(), request.recipient(), request.provider());
+        byte[] body = prepareSendEmail(request);
+        return httpClient.request("POST", EMAILS_SEND_PATH, body, ResponseDecoders.SEND_EMAIL, request.provider());
     }
 
-    static ObjectNode buildSendEmailBody(
-            String templateKey,
-            Map<String, ?> data,
-            String recipient,
-            EmailProvider provider
-    ) {
-        ObjectNode body = objectMapper.createObjectNode();
-        body.put("templateKey", templateKey.trim());
-        body.put("recipient", recipient.trim());
-        body.set("data", objectMapper.valueToTree(data));
-
-        if (provider != null) {
-            body.put("providerType", provider.getValue());
+    /**
+     * Sends an email using a template without blocking the calling thread.
+     *
+     * <p>Validation runs on the calling thread; the request itself, including retries,
+     * circuit breaking and key rotation, is executed asynchronously. When coalescing is
+     * enabled, the send is buffered with others for the same template key and provider
+     * and delivered as part of one bulk request.</p>
+     *
+     * @param request the email request containing templateKey, data, recipient, and optional provider
+     * @return a future completing with the send email response, or exceptionally with a
+     *         {@link HuefyException} if validation fails or the request fails
+     */
+    public CompletableFuture<SendEmailResponse> sendEmailAsync(SendEmailRequest request) {
+        if (coalescer != null) {
+            try {
+                validateSendEmail(request);
+            } catch (HuefyException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            return coalesce(request);
         }
+        byte[] body;
+        try {
+            body = prepareSendEmail(request);
+        } catch (HuefyException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return httpClient.requestAsync("POST", EMAILS_SEND_PATH, body, ResponseDecoders.SEND_EMAIL,
+                request.provider());
+    }
 
-        return body;
+    /**
+     * Sends an email like {@link #sendEmail(SendEmailRequest)}, but reports failures as a
+     * {@link SendResult} instead of throwing. Invalid input and an open circuit are
+     * detected without creating an exception.
+     *
+     * @param request the email request containing templateKey, data, recipient, and optional provider
+     * @return the result of the send
+     */
+    public SendResult<SendEmailResponse> trySendEmail(SendEmailRequest request) {
+        String invalid = checkSendEmail(request);
+        if (invalid != null) {
+            return new SendResult.ValidationFailure<>(invalid);
+        }
+        try {
+            if (coalescer != null) {
+                return new SendResult.Success<>(awaitCoalesced(coalesce(request)));
+            }
+            byte[] body = renderSendEmailBody(request);
+            Admission admission = httpClient.admit(EMAILS_SEND_PATH, request.provider());
+            if (!admission.isGranted()) {
+                return rejected(admission);
+            }
+            return new SendResult.Success<>(httpClient.request(admission, "POST", body, ResponseDecoders.SEND_EMAIL));
+        } catch (HuefyException e) {
+            return SendResult.failure(e);
+        }
     }
 
-    static ObjectNode buildSendEmailBody(
-            String templateKey,
-            Map<String, ?> data,
-            SendEmailRecipient recipient,
-            EmailProvider provider
-    ) {
-        ObjectNode body = objectMapper.createObjectNode();
-        body.put("templateKey", templateKey.trim());
-        ObjectNode recipientNode = objectMapper.createObjectNode();
-        recipientNode.put("email", recipient.email().trim());
-        if (recipient.type() != null && !recipient.type().isBlank()) {
-            recipientNode.put("type", recipient.type().trim().toLowerCase(java.util.Locale.ROOT));
+    /**
+     * Sends an email asynchronously like {@link #sendEmailAsync(SendEmailRequest)}, but
+     * reports failures as a {@link SendResult}. The returned future never completes
+     * exceptionally.
+     *
+     * @param request the email request containing templateKey, data, recipient, and optional provider
+     * @return a future completing with the result of the send
+     */
+    public CompletableFuture<SendResult<SendEmailResponse>> trySendEmailAsync(SendEmailRequest request) {
+        String invalid = checkSendEmail(request);
+        if (invalid != null) {
+            return CompletableFuture.completedFuture(new SendResult.ValidationFailure<>(invalid));
         }
-        if (recipient.data() != null) {
-            recipientNode.set("data", objectMapper.valueToTree(recipient.data()));
+        if (coalescer != null) {
+            return toResult(coalesce(request));
+        }
+        byte[] body;
+        try {
+            body = renderSendEmailBody(request);
+        } catch (HuefyException e) {
+            return CompletableFuture.completedFuture(SendResult.failure(e));
         }
-        body.set("recipient", recipientNode);
-        body.set("data", objectMapper.valueToTree(data));
+        return httpClient.admitAsync(EMAILS_SEND_PATH, request.provider()).thenCompose(admission ->
+                admission.isGranted()
+                        ? toResult(httpClient.requestAsync(admission, "POST", body, ResponseDecoders.SEND_EMAIL))
+                        : CompletableFuture.completedFuture(rejected(admission)));
+    }
+
+    /**
+     * Validates a single-send request, checks it for PII and renders the request body.
+     */
+    private byte[] prepareSendEmail(SendEmailRequest request) {
+        validateSendEmail(request);
+        return renderSendEmailBody(request);
+    }
+
+    private static byte[] renderSendEmailBody(SendEmailRequest request) {
+        String templateKey = request.templateKey();
+        Map<String, ?> data = request.data();
+        SendEmailRecipient recipient = request.recipientObject();
 
-        if (provider != null) {
-            body.put("providerType", provider.getValue());
+        try {
+            byte[] body = recipient != null
+                    ? RequestBodyWriter.writeSendEmail(templateKey, data, recipient, request.provider())
+                    : RequestBodyWriter.writeSendEmail(templateKey, data, request.recipient(), request.provider());
+
+            logger.debug("Sending email to {} using template '{}'",
+                    recipient != null ? recipient.email() : request.recipient(), templateKey);
+            return body;
+        } catch (Exception e) {
+            throw HuefyException.networkError("Failed to send email: " + e.getMessage(), e);
         }
+    }
 
-        return body;
+    /**
+     * Validates a single-send request and checks its data for PII.
+     */
+    private void validateSendEmail(SendEmailRequest request) {
+        String error = checkSendEmail(request);
+        if (error != null) {
+            throw validationError(error);
+        }
     }
 
-    private SendEmailResponse sendEmail(String templateKey, Map<String, ?> data,
-                                        String recipient, EmailProvider provider) {
-        // Validate input
-        List<String> errors = EmailValidators.validateSendEmailInput(templateKey, data, recipient);
+    /**
+     * Validates a single-send request without throwing, checking its data for PII when it
+     * is valid.
+     *
+     * @return the validation error message, or null if the request is valid
+     */
+    private String checkSendEmail(SendEmailRequest request) {
+        String templateKey = request.templateKey();
+        Map<String, ?> data = request.data();
+        SendEmailRecipient recipient = request.recipientObject();
+
+        List<String> errors = recipient != null
+                ? EmailValidators.validateSendEmailRecipientInput(templateKey, data, recipient)
+                : EmailValidators.validateSendEmailInput(templateKey, data, request.recipient());
         if (!errors.isEmpty()) {
-            throw new HuefyException(
-                    "Validation failed: " + String.join("; ", errors),
-                    ErrorCode.VALIDATION_ERROR,
-                    null,
-                    false
-            );
+            return "Validation failed: " + String.join("; ", errors);
         }
 
-        // Check template data for PII and warn (matching Go SDK behavior)
-        for (Map.Entry<String, ?> entry : data.entrySet()) {
-            String valueText;
-            try {
-                valueText = entry.getValue() instanceof CharSequence
-                        ? entry.getValue().toString()
-                        : objectMapper.writeValueAsString(entry.getValue());
-            } catch (Exception ignored) {
-                valueText = String.valueOf(entry.getValue());
-            }
-            List<String> piiTypes = Security.detectPii(valueText);
-            if (!piiTypes.isEmpty()) {
-                logger.warn("Potential PII detected in template data field '{}': {}. " +
-                        "Consider removing or encrypting these fields.", entry.getKey(), piiTypes);
-            }
+        // Check template data for PII and count findings (matching Go SDK behavior)
+        piiMonitor.check(data, recipient != null ? recipient.data() : null);
+        return null;
+    }
+
+    /**
+     * Queues a validated single send for coalescing. Its template data becomes the bulk
+     * recipient's data, with any recipient-level data taking precedence.
+     */
+    private CompletableFuture<SendEmailResponse> coalesce(SendEmailRequest request) {
+        SendEmailRecipient recipient = request.recipientObject();
+        Map<String, Object> data = new LinkedHashMap<>(request.data());
+        if (recipient != null && recipient.data() != null) {
+            data.putAll(recipient.data());
         }
+        BulkRecipient bulkRecipient = recipient != null
+                ? new BulkRecipient(recipient.email().trim(), recipient.type(), data)
+                : new BulkRecipient(request.recipient().trim(), null, data);
+        return coalescer.submit(request.templateKey(), request.provider(), bulkRecipient);
+    }
 
+    private static SendEmailResponse awaitCoalesced(CompletableFuture<SendEmailResponse> future) {
         try {
-            ObjectNode body = buildSendEmailBody(templateKey, data, recipient, provider);
-
-            logger.debug("Sending email to {} using template '{}'", recipient, templateKey);
-            String responseBody = httpClient.request("POST", EMAILS_SEND_PATH, body.toString());
-            JsonNode responseNode = objectMapper.readTree(responseBody);
-
-            JsonNode dataNode2 = responseNode.path("data");
-            List<RecipientStatus> recipients = new ArrayList<>();
-            if (dataNode2.has("recipients") && dataNode2.get("recipients").isArray()) {
-                for (JsonNode r : dataNode2.get("recipients")) {
-                    recipients.add(new RecipientStatus(
-                            r.has("email") ? r.get("email").asText() : null,
-                            r.has("status") ? r.get("status").asText() : null,
-                            r.has("messageId") ? r.get("messageId").asText() : null,
-                            r.has("error") ? r.get("error").asText() : null,
-                            r.has("sentAt") ? r.get("sentAt").asText() : null
-                    ));
-                }
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof HuefyException huefyException) {
+                throw huefyException;
             }
+            throw HuefyException.networkError("Failed to send email: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
 
-            SendEmailResponseData emailData = new SendEmailResponseData(
-                    dataNode2.has("emailId") ? dataNode2.get("emailId").asText() : null,
-                    dataNode2.has("status") ? dataNode2.get("status").asText() : null,
-                    recipients,
-                    dataNode2.has("scheduledAt") ? dataNode2.get("scheduledAt").asText() : null,
-                    dataNode2.has("sentAt") ? dataNode2.get("sentAt").asText() : null
-            );
+    /**
+     * Sends multiple emails in bulk using a shared template.
+     *
+     * <p>Recipient lists of any size are accepted. Lists larger than the per-request
+     * limit are split into compliant chunks that are sent concurrently, bounded by
+     * {@link HuefyConfig#getBulkParallelism()}, and merged into one response with summed
+     * counts and every recipient status.</p>
+     *
+     * @param request the bulk email request containing templateKey, recipients, and optional provider
+     * @return the bulk send response
+     * @throws HuefyException if validation fails or the request fails
+     */
+    public SendBulkEmailsResponse sendBulkEmails(SendBulkEmailsRequest request) {
+        validateSendBulkEmails(request);
+        if (request.recipients().size() <= EmailValidators.MAX_BULK_EMAILS) {
+            byte[] body = renderSendBulkEmailsBody(request.templateKey(), request.recipients(), request.provider());
+            return httpClient.request("POST", EMAILS_SEND_BULK_PATH, body, ResponseDecoders.SEND_BULK_EMAILS,
+                    request.provider());
+        }
 
-            return new SendEmailResponse(
-                    responseNode.has("success") && responseNode.get("success").asBoolean(),
-                    emailData,
-                    responseNode.has("correlationId") ? responseNode.get("correlationId").asText() : null
-            );
+        return awaitBulk(dispatchBulkChunks(request));
+    }
 
+    /**
+     * Sends multiple emails in bulk using a shared template without blocking the calling thread.
+     *
+     * <p>Oversized recipient lists are chunked and dispatched as described in
+     * {@link #sendBulkEmails(SendBulkEmailsRequest)}.</p>
+     *
+     * @param request the bulk email request containing templateKey, recipients, and optional provider
+     * @return a future completing with the bulk send response, or exceptionally with a
+     *         {@link HuefyException} if validation fails or the request fails
+     */
+    public CompletableFuture<SendBulkEmailsResponse> sendBulkEmailsAsync(SendBulkEmailsRequest request) {
+        try {
+            validateSendBulkEmails(request);
         } catch (HuefyException e) {
-            throw e;
-        } catch (Exception e) {
-            throw HuefyException.networkError("Failed to send email: " + e.getMessage(), e);
+            return CompletableFuture.failedFuture(e);
+        }
+        if (request.recipients().size() <= EmailValidators.MAX_BULK_EMAILS) {
+            return sendBulkChunkAsync(request.templateKey(), request.recipients(), request.provider());
         }
+        return dispatchBulkChunks(request);
     }
 
-    private SendEmailResponse sendEmail(String templateKey, Map<String, ?> data,
-                                        SendEmailRecipient recipient, EmailProvider provider) {
-        List<String> errors = EmailValidators.validateSendEmailRecipientInput(templateKey, data, recipient);
-        if (!errors.isEmpty()) {
-            throw new HuefyException(
-                    "Validation failed: " + String.join("; ", errors),
-                    ErrorCode.VALIDATION_ERROR,
-                    null,
-                    false
-            );
+    /**
+     * Sends emails in bulk like {@link #sendBulkEmails(SendBulkEmailsRequest)}, but reports
+     * failures as a {@link SendResult} instead of throwing. For a chunked send, the result
+     * is a failure only when every chunk fails.
+     *
+     * @param request the bulk email request containing templateKey, recipients, and optional provider
+     * @return the result of the send
+     */
+    public SendResult<SendBulkEmailsResponse> trySendBulkEmails(SendBulkEmailsRequest request) {
+        String invalid = checkSendBulkEmails(request);
+        if (invalid != null) {
+            return new SendResult.ValidationFailure<>(invalid);
         }
-
-        for (Map.Entry<String, ?> entry : data.entrySet()) {
-            String valueText;
-            try {
-                valueText = entry.getValue() instanceof CharSequence
-                        ? entry.getValue().toString()
-                        : objectMapper.writeValueAsString(entry.getValue());
-            } catch (Exception ignored) {
-                valueText = String.valueOf(entry.getValue());
+        try {
+            if (request.recipients().size() > EmailValidators.MAX_BULK_EMAILS) {
+                return new SendResult.Success<>(awaitBulk(dispatchBulkChunks(request)));
             }
-            List<String> piiTypes = Security.detectPii(valueText);
-            if (!piiTypes.isEmpty()) {
-                logger.warn("Potential PII detected in template data field '{}': {}. " +
-                        "Consider removing or encrypting these fields.", entry.getKey(), piiTypes);
+            byte[] body = renderSendBulkEmailsBody(request.templateKey(), request.recipients(), request.provider());
+            Admission admission = httpClient.admit(EMAILS_SEND_BULK_PATH, request.provider());
+            if (!admission.isGranted()) {
+                return rejected(admission);
             }
+            return new SendResult.Success<>(
+                    httpClient.request(admission, "POST", body, ResponseDecoders.SEND_BULK_EMAILS));
+        } catch (HuefyException e) {
+            return SendResult.failure(e);
         }
+    }
 
-        if (recipient.data() != null) {
-            for (Map.Entry<String, ?> entry : recipient.data().entrySet()) {
-                String valueText;
-                try {
-                    valueText = entry.getValue() instanceof CharSequence
-                            ? entry.getValue().toString()
-                            : objectMapper.writeValueAsString(entry.getValue());
-                } catch (Exception ignored) {
-                    valueText = String.valueOf(entry.getValue());
-                }
-                List<String> piiTypes = Security.detectPii(valueText);
-                if (!piiTypes.isEmpty()) {
-                    logger.warn("Potential PII detected in recipient data field '{}': {}. " +
-                            "Consider removing or encrypting these fields.", entry.getKey(), piiTypes);
-                }
-            }
+    /**
+     * Sends emails in bulk asynchronously like
+     * {@link #sendBulkEmailsAsync(SendBulkEmailsRequest)}, but reports failures as a
+     * {@link SendResult}. The returned future never completes exceptionally.
+     *
+     * @param request the bulk email request containing templateKey, recipients, and optional provider
+     * @return a future completing with the result of the send
+     */
+    public CompletableFuture<SendResult<SendBulkEmailsResponse>> trySendBulkEmailsAsync(
+            SendBulkEmailsRequest request) {
+        String invalid = checkSendBulkEmails(request);
+        if (invalid != null) {
+            return CompletableFuture.completedFuture(new SendResult.ValidationFailure<>(invalid));
+        }
+        if (request.recipients().size() > EmailValidators.MAX_BULK_EMAILS) {
+            return toResult(dispatchBulkChunks(request));
+        }
+        byte[] body;
+        try {
+            body = renderSendBulkEmailsBody(request.templateKey(), request.recipients(), request.provider());
+        } catch (HuefyException e) {
+            return CompletableFuture.completedFuture(SendResult.failure(e));
+        }
+        return httpClient.admitAsync(EMAILS_SEND_BULK_PATH, request.provider()).thenCompose(admission ->
+                admission.isGranted()
+                        ? toResult(httpClient.requestAsync(admission, "POST", body, ResponseDecoders.SEND_BULK_EMAILS))
+                        : CompletableFuture.completedFuture(rejected(admission)));
+    }
+
+    private static <T> SendResult<T> rejected(Admission admission) {
+        return new SendResult.Rejected<>(admission.getCode(), admission.getMessage(), admission.getRetryAfter(), null);
+    }
+
+    private static <T> CompletableFuture<SendResult<T>> toResult(CompletableFuture<T> future) {
+        return future.handle((response, error) -> error == null
+                ? new SendResult.Success<>(response)
+                : SendResult.failure(error));
+    }
+
+    /**
+     * Streams a bulk send from an iterator, blocking until every recipient has been sent.
+     *
+     * <p>Recipients are pulled one chunk at a time, only when one of the
+     * {@link HuefyConfig#getBulkParallelism()} send lanes is free, so memory stays flat no
+     * matter how many recipients the iterator yields. Invalid recipients are not sent and
+     * are reported as failed statuses. Per-recipient statuses are delivered to
+     * {@code chunkListener} chunk by chunk; the returned response carries only the summed
+     * counts and the first errors and batch IDs, with the number left out in its
+     * {@code droppedErrors} and {@code droppedBatchIds} metadata.</p>
+     *
+     * @param templateKey   the template key
+     * @param recipients    the recipients to send to
+     * @param provider      the email provider (may be null)
+     * @param chunkListener receives each chunk's response (may be null)
+     * @return the summary response
+     * @throws HuefyException if the template key is invalid, the iterator fails, or every chunk fails
+     */
+    public SendBulkEmailsResponse sendBulkEmails(String templateKey, Iterator<? extends BulkRecipient> recipients,
+                                                 EmailProvider provider,
+                                                 Consumer<SendBulkEmailsResponse> chunkListener) {
+        return awaitBulk(sendBulkEmailsAsync(templateKey, recipients, provider, chunkListener));
+    }
+
+    /**
+     * Streams a bulk send from a {@link Stream}, blocking until every recipient has been
+     * sent. The stream is closed afterwards. See
+     * {@link #sendBulkEmails(String, Iterator, EmailProvider, Consumer)}.
+     *
+     * @param templateKey   the template key
+     * @param recipients    the recipients to send to
+     * @param provider      the email provider (may be null)
+     * @param chunkListener receives each chunk's response (may be null)
+     * @return the summary response
+     * @throws HuefyException if the template key is invalid, the stream fails, or every chunk fails
+     */
+    public SendBulkEmailsResponse sendBulkEmails(String templateKey, Stream<? extends BulkRecipient> recipients,
+                                                 EmailProvider provider,
+                                                 Consumer<SendBulkEmailsResponse> chunkListener) {
+        try (recipients) {
+            return sendBulkEmails(templateKey, recipients.iterator(), provider, chunkListener);
+        }
+    }
+
+    /**
+     * Streams a bulk send from an iterator without blocking the calling thread. The
+     * iterator is advanced from SDK completion threads, one chunk at a time. See
+     * {@link #sendBulkEmails(String, Iterator, EmailProvider, Consumer)}.
+     *
+     * @param templateKey   the template key
+     * @param recipients    the recipients to send to
+     * @param provider      the email provider (may be null)
+     * @param chunkListener receives each chunk's response (may be null)
+     * @return a future completing with the summary response
+     */
+    public CompletableFuture<SendBulkEmailsResponse> sendBulkEmailsAsync(String templateKey,
+                                                                          Iterator<? extends BulkRecipient> recipients,
+                                                                          EmailProvider provider,
+                                                                          Consumer<SendBulkEmailsResponse> chunkListener) {
+        Objects.requireNonNull(recipients, "recipients must not be null");
+        return streamBulkChunks(templateKey, provider, chunkListener,
+                () -> BulkChunkSource.fromIterator(recipients, EmailValidators.MAX_BULK_EMAILS));
+    }
+
+    /**
+     * Streams a bulk send from a {@link Flow.Publisher} without blocking the calling thread.
+     *
+     * <p>The publisher is asked for exactly one chunk's worth of recipients each time a
+     * send lane frees up, so a slow API applies backpressure all the way upstream. See
+     * {@link #sendBulkEmails(String, Iterator, EmailProvider, Consumer)}.</p>
+     *
+     * @param templateKey   the template key
+     * @param recipients    the recipients to send to
+     * @param provider      the email provider (may be null)
+     * @param chunkListener receives each chunk's response (may be null)
+     * @return a future completing with the summary response
+     */
+    public CompletableFuture<SendBulkEmailsResponse> sendBulkEmailsAsync(String templateKey,
+                                                                          Flow.Publisher<? extends BulkRecipient> recipients,
+                                                                          EmailProvider provider,
+                                                                          Consumer<SendBulkEmailsResponse> chunkListener) {
+        Objects.requireNonNull(recipients, "recipients must not be null");
+        return streamBulkChunks(templateKey, provider, chunkListener,
+                () -> BulkChunkSource.fromPublisher(recipients, EmailValidators.MAX_BULK_EMAILS));
+    }
+
+    private CompletableFuture<SendBulkEmailsResponse> streamBulkChunks(String templateKey, EmailProvider provider,
+                                                                       Consumer<SendBulkEmailsResponse> chunkListener,
+                                                                       Supplier<BulkChunkSource> source) {
+        Objects.requireNonNull(templateKey, "templateKey must not be null");
+        String templateErr = EmailValidators.validateTemplateKey(templateKey);
+        if (templateErr != null) {
+            return CompletableFuture.failedFuture(
+                    validationError(templateErr));
         }
 
+        return new BulkDispatcher(
+                chunk -> sendBulkChunkAsync(templateKey, chunk, provider),
+                getConfig().getBulkParallelism()
+        ).dispatch(source.get(), EmailValidators::validateBulkRecipient, chunkListener);
+    }
+
+    private static SendBulkEmailsResponse awaitBulk(CompletableFuture<SendBulkEmailsResponse> future) {
         try {
-            ObjectNode body = buildSendEmailBody(templateKey, data, recipient, provider);
-
-            logger.debug("Sending email to {} using template '{}'", recipient.email(), templateKey);
-            String responseBody = httpClient.request("POST", EMAILS_SEND_PATH, body.toString());
-            JsonNode responseNode = objectMapper.readTree(responseBody);
-
-            JsonNode dataNode2 = responseNode.path("data");
-            List<RecipientStatus> recipients = new ArrayList<>();
-            if (dataNode2.has("recipients") && dataNode2.get("recipients").isArray()) {
-                for (JsonNode r : dataNode2.get("recipients")) {
-                    recipients.add(new RecipientStatus(
-                            r.has("email") ? r.get("email").asText() : null,
-                            r.has("status") ? r.get("status").asText() : null,
-                            r.has("messageId") ? r.get("messageId").asText() : null,
-                            r.has("error") ? r.get("error").asText() : null,
-                            r.has("sentAt") ? r.get("sentAt").asText() : null
-                    ));
-                }
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof HuefyException huefyException) {
+                throw huefyException;
             }
+            throw HuefyException.networkError("Failed to send bulk emails: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
 
-            SendEmailResponseData emailData = new SendEmailResponseData(
-                    dataNode2.has("emailId") ? dataNode2.get("emailId").asText() : null,
-                    dataNode2.has("status") ? dataNode2.get("status").asText() : null,
-                    recipients,
-                    dataNode2.has("scheduledAt") ? dataNode2.get("scheduledAt").asText() : null,
-                    dataNode2.has("sentAt") ? dataNode2.get("sentAt").asText() : null
-            );
-
-            return new SendEmailResponse(
-                    responseNode.has("success") && responseNode.get("success").asBoolean(),
-                    emailData,
-                    responseNode.has("correlationId") ? responseNode.get("correlationId").asText() : null
-            );
+    private CompletableFuture<SendBulkEmailsResponse> dispatchBulkChunks(SendBulkEmailsRequest request) {
+        List<List<BulkRecipient>> chunks = BulkDispatcher.chunk(request.recipients(), EmailValidators.MAX_BULK_EMAILS);
+        logger.debug("Splitting {} bulk recipients into {} chunks", request.recipients().size(), chunks.size());
+        return new BulkDispatcher(
+                chunk -> sendBulkChunkAsync(request.templateKey(), chunk, request.provider()),
+                getConfig().getBulkParallelism()
+        ).dispatch(chunks);
+    }
 
+    private CompletableFuture<SendBulkEmailsResponse> sendBulkChunkAsync(String templateKey,
+                                                                          List<BulkRecipient> recipients,
+                                                                          EmailProvider provider) {
+        byte[] body;
+        try {
+            body = renderSendBulkEmailsBody(templateKey, recipients, provider);
         } catch (HuefyException e) {
-            throw e;
-        } catch (Exception e) {
-            throw HuefyException.networkError("Failed to send email: " + e.getMessage(), e);
+            return CompletableFuture.failedFuture(e);
         }
+        return httpClient.requestAsync("POST", EMAILS_SEND_BULK_PATH, body, ResponseDecoders.SEND_BULK_EMAILS,
+                provider);
     }
 
     /**
-     * Sends multiple emails in bulk using a shared template.
+     * Validates a bulk request: template key, recipient count and every recipient.
+     */
+    private void validateSendBulkEmails(SendBulkEmailsRequest request) {
+        String error = checkSendBulkEmails(request);
+        if (error != null) {
+            throw validationError(error);
+        }
+    }
+
+    /**
+     * Validates a bulk request without throwing.
      *
-     * @param request the bulk email request containing templateKey, recipients, and optional provider
-     * @return the bulk send response
-     * @throws HuefyException if validation fails or the request fails
+     * @return the validation error message, or null if the request is valid
      */
-    public SendBulkEmailsResponse sendBulkEmails(SendBulkEmailsRequest request) {
+    private static String checkSendBulkEmails(SendBulkEmailsRequest request) {
         Objects.requireNonNull(request.templateKey(), "templateKey must not be null");
         Objects.requireNonNull(request.recipients(), "recipients must not be null");
 
         String templateErr = EmailValidators.validateTemplateKey(request.templateKey());
         if (templateErr != null) {
-            throw new HuefyException(templateErr, ErrorCode.VALIDATION_ERROR, null, false);
+            return templateErr;
+        }
+
+        // Oversized lists are chunked, so only the lower bound applies to the request as a whole
+        String countErr = EmailValidators.validateBulkCount(
+                Math.min(request.recipients().size(), EmailValidators.MAX_BULK_EMAILS));
+        if (countErr != null) {
+            return countErr;
         }
 
         for (int i = 0; i < request.recipients().size(); i++) {
             String recipientErr = EmailValidators.validateBulkRecipient(request.recipients().get(i));
             if (recipientErr != null) {
-                throw new HuefyException(
-                        "recipients[" + i + "]: " + recipientErr,
-                        ErrorCode.VALIDATION_ERROR,
-                        null,
-                        false
-                );
+                return "recipients[" + i + "]: " + recipientErr;
             }
         }
+        return null;
+    }
 
-        try {
-
-            ObjectNode body = objectMapper.createObjectNode();
-            body.put("templateKey", request.templateKey().trim());
-
-            ArrayNode recipientsNode = objectMapper.createArrayNode();
-            for (BulkRecipient r : request.recipients()) {
-                ObjectNode rNode = objectMapper.createObjectNode();
-                rNode.put("email", r.email().trim());
-                if (r.type() != null && !r.type().isBlank()) {
-                    rNode.put("type", r.type().trim().toLowerCase(java.util.Locale.ROOT));
-                }
-                if (r.data() != null) rNode.set("data", objectMapper.valueToTree(r.data()));
-                recipientsNode.add(rNode);
-            }
-            body.set("recipients", recipientsNode);
-
-            if (request.provider() != null) body.put("providerType", request.provider().getValue());
-
-            logger.debug("Sending bulk emails using template '{}'", request.templateKey());
-            String responseBody = httpClient.request("POST", EMAILS_SEND_BULK_PATH, body.toString());
-            JsonNode responseNode = objectMapper.readTree(responseBody);
-
-            JsonNode dataNode = responseNode.path("data");
-            List<RecipientStatus> recipientStatuses = new ArrayList<>();
-            if (dataNode.has("recipients") && dataNode.get("recipients").isArray()) {
-                for (JsonNode r : dataNode.get("recipients")) {
-                    recipientStatuses.add(new RecipientStatus(
-                            r.has("email") ? r.get("email").asText() : null,
-                            r.has("status") ? r.get("status").asText() : null,
-                            r.has("messageId") ? r.get("messageId").asText() : null,
-                            r.has("error") ? r.get("error").asText() : null,
-                            r.has("sentAt") ? r.get("sentAt").asText() : null
-                    ));
-                }
-            }
+    private HuefyException validationError(String message) {
+        return HuefyException.validationError(message, getConfig().isStacklessRejections());
+    }
 
-            SendBulkEmailsResponseData bulkData = new SendBulkEmailsResponseData(
-                    dataNode.has("batchId") ? dataNode.get("batchId").asText() : null,
-                    dataNode.has("status") ? dataNode.get("status").asText() : null,
-                    dataNode.has("templateKey") ? dataNode.get("templateKey").asText() : null,
-                    dataNode.has("templateVersion") ? dataNode.get("templateVersion").asInt() : 0,
-                    dataNode.has("senderUsed") ? dataNode.get("senderUsed").asText() : null,
-                    dataNode.has("senderVerified") && dataNode.get("senderVerified").asBoolean(),
-                    dataNode.has("totalRecipients") ? dataNode.get("totalRecipients").asInt() : 0,
-                    dataNode.has("processedCount") ? dataNode.get("processedCount").asInt() : 0,
-                    dataNode.has("successCount") ? dataNode.get("successCount").asInt() : 0,
-                    dataNode.has("failureCount") ? dataNode.get("failureCount").asInt() : 0,
-                    dataNode.has("suppressedCount") ? dataNode.get("suppressedCount").asInt() : 0,
-                    dataNode.has("startedAt") ? dataNode.get("startedAt").asText() : null,
-                    dataNode.has("completedAt") ? dataNode.get("completedAt").asText() : null,
-                    recipientStatuses,
-                    dataNode.has("errors")
-                            ? objectMapper.convertValue(dataNode.get("errors"), new TypeReference<List<Map<String, Object>>>() {})
-                            : List.of(),
-                    dataNode.has("metadata")
-                            ? objectMapper.convertValue(dataNode.get("metadata"), new TypeReference<Map<String, Object>>() {})
-                            : Map.of()
-            );
-
-            return new SendBulkEmailsResponse(
-                    responseNode.has("success") && responseNode.get("success").asBoolean(),
-                    bulkData,
-                    responseNode.has("correlationId") ? responseNode.get("correlationId").asText() : null
-            );
+    /**
+     * Renders the request body for one compliant bulk chunk.
+     */
+    private static byte[] renderSendBulkEmailsBody(String templateKey, List<BulkRecipient> recipients,
+                                                   EmailProvider provider) {
+        try {
+            byte[] body = RequestBodyWriter.writeSendBulkEmails(templateKey, recipients, provider);
 
-        } catch (HuefyException e) {
-            throw e;
+            logger.debug("Sending {} bulk emails using template '{}'", recipients.size(), templateKey);
+            return body;
         } catch (Exception e) {
             throw HuefyException.networkError("Failed to send bulk emails: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Returns how often PII has been found in each field of single-send data, counting
+     * only the sends checked under the configured {@link HuefyConfig.PiiScanConfig}.
+     * Fields are named by their path in the request body, with list indices folded into
+     * {@code [*]}, for example {@code data.customer.email} or {@code data.items[*].phone}.
+     *
+     * @return a snapshot of the number of checked sends with PII in each field, sorted by field
+     */
+    public Map<String, Long> getPiiFindingCounts() {
+        return piiMonitor.counts();
+    }
+
+    /**
+     * Flushes any coalesced sends still waiting for their batch, then closes the client.
+     */
+    @Override
+    public void close() {
+        if (coalescer != null && !isClosed()) {
+            coalescer.flushAll();
+        }
+        super.close();
+    }
+
     /**
      * Builder for creating {@link HuefyEmailClient} instances with advanced configuration.
      */
@@ -440,6 +654,56 @@ public class HuefyEmailClient extends HuefyClient {
             return this;
         }
 
+        public Builder useVirtualThreads(boolean useVirtualThreads) {
+            configBuilder.useVirtualThreads(useVirtualThreads);
+            return this;
+        }
+
+        public Builder bulkParallelism(int bulkParallelism) {
+            configBuilder.bulkParallelism(bulkParallelism);
+            return this;
+        }
+
+        public Builder coalescingConfig(HuefyConfig.CoalescingConfig coalescingConfig) {
+            configBuilder.coalescingConfig(coalescingConfig);
+            return this;
+        }
+
+        public Builder maxCircuitBreakers(int maxCircuitBreakers) {
+            configBuilder.maxCircuitBreakers(maxCircuitBreakers);
+            return this;
+        }
+
+        public Builder stacklessRejections(boolean stacklessRejections) {
+            configBuilder.stacklessRejections(stacklessRejections);
+            return this;
+        }
+
+        public Builder rateLimiterConfig(HuefyConfig.RateLimiterConfig rateLimiterConfig) {
+            configBuilder.rateLimiterConfig(rateLimiterConfig);
+            return this;
+        }
+
+        public Builder concurrencyLimitConfig(HuefyConfig.ConcurrencyLimitConfig concurrencyLimitConfig) {
+            configBuilder.concurrencyLimitConfig(concurrencyLimitConfig);
+            return this;
+        }
+
+        public Builder maxPiiScanLength(int maxPiiScanLength) {
+            configBuilder.maxPiiScanLength(maxPiiScanLength);
+            return this;
+        }
+
+        public Builder maxSanitizedErrorLength(int maxSanitizedErrorLength) {
+            configBuilder.maxSanitizedErrorLength(maxSanitizedErrorLength);
+            return this;
+        }
+
+        public Builder piiScanConfig(HuefyConfig.PiiScanConfig piiScanConfig) {
+            configBuilder.piiScanConfig(piiScanConfig);
+            return this;
+        }
+
         /**
          * Builds the email client.
          *
@@ -0,0 +1,189 @@
+package com.teracrafts.huefy.client;
+
+import com.teracrafts.huefy.config.HuefyConfig.PiiScanConfig;
+import com.teracrafts.huefy.security.PiiFinding;
+import com.teracrafts.huefy.security.Security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks single-send data for PII according to the configured {@link PiiScanConfig.Mode}
+ * and counts findings per field.
+ *
+ * <p>Fields are named by their path in the request body, such as
+ * {@code data.customer.email} or {@code recipient.data.phones[*]}; list indices are
+ * folded into {@code [*]} so every element of a list shares one counter. A counter
+ * goes up at most once per send, however many findings in the send map to its field.
+ * The first finding in a field is logged as a warning, and later ones are only counted.
+ * At most {@link #MAX_FIELDS} fields are tracked; findings in further fields are counted
+ * under {@link #OTHER_FIELDS}.</p>
+ */
+final class PiiMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PiiMonitor.class);
+
+    static final int MAX_FIELDS = 1024;
+    static final String OTHER_FIELDS = "(other)";
+
+    private final PiiScanConfig config;
+    private final int maxScanLength;
+    private final Executor executor;
+    private final AtomicLong sends = new AtomicLong();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a monitor.
+     *
+     * @param config        the PII scan settings
+     * @param maxScanLength the maximum number of characters scanned per string
+     * @param executor      the executor background checks run on, or null for the common pool
+     */
+    PiiMonitor(PiiScanConfig config, int maxScanLength, Executor executor) {
+        this.config = config;
+        this.maxScanLength = maxScanLength;
+        this.executor = executor != null ? executor : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Checks one send's data, now, later or not at all depending on the mode.
+     *
+     * @param data          the template data
+     * @param recipientData the recipient data, or null
+     */
+    void check(Map<String, ?> data, Map<String, ?> recipientData) {
+        switch (config.getMode()) {
+            case OFF -> {
+            }
+            case SAMPLED -> {
+                if (sends.getAndIncrement() % config.getSampleRate() == 0) {
+                    scan(data, recipientData);
+                }
+            }
+            case ASYNC -> submit(data, recipientData);
+            case INLINE -> scan(data, recipientData);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the finding counts: for each field, the number of checked
+     * sends that had PII in it.
+     *
+     * @return the counts, sorted by field
+     */
+    Map<String, Long> counts() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counts.forEach((field, count) -> snapshot.put(field, count.sum()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Queues a background check. The maps are copied first so that a caller reusing them
+     * for the next send cannot race the check; nested values are not copied.
+     */
+    private void submit(Map<String, ?> data, Map<String, ?> recipientData) {
+        if (queued.incrementAndGet() > config.getMaxQueued()) {
+            queued.decrementAndGet();
+            logger.debug("PII check queue is full; send not checked");
+            return;
+        }
+        Map<String, ?> dataCopy = data != null ? new HashMap<>(data) : null;
+        Map<String, ?> recipientDataCopy = recipientData != null ? new HashMap<>(recipientData) : null;
+        try {
+            executor.execute(() -> {
+                try {
+                    scan(dataCopy, recipientDataCopy);
+                } catch (RuntimeException e) {
+                    logger.debug("PII check failed: {}", e.getMessage(), e);
+                } finally {
+                    queued.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            logger.debug("PII check executor rejected check: {}", e.getMessage());
+        }
+    }
+
+    private void scan(Map<String, ?> data, Map<String, ?> recipientData) {
+        List<PiiFinding> dataFindings = Security.findPii(data, maxScanLength);
+        List<PiiFinding> recipientFindings = recipientData != null
+                ? Security.findPii(recipientData, maxScanLength)
+                : List.of();
+        if (dataFindings.isEmpty() && recipientFindings.isEmpty()) {
+            return;
+        }
+        Set<LongAdder> counted = Collections.newSetFromMap(new IdentityHashMap<>());
+        record("data", dataFindings, counted);
+        record("recipient.data", recipientFindings, counted);
+    }
+
+    /**
+     * Counts the findings of one send, skipping counters in {@code counted}, which the
+     * send has already incremented.
+     */
+    private void record(String prefix, List<PiiFinding> findings, Set<LongAdder> counted) {
+        for (PiiFinding finding : findings) {
+            String field = field(prefix, finding.path());
+            LongAdder count = counts.get(field);
+            if (count == null) {
+                count = register(field, finding);
+            }
+            if (counted.add(count)) {
+                count.increment();
+            }
+        }
+    }
+
+    private LongAdder register(String field, PiiFinding finding) {
+        if (counts.size() >= MAX_FIELDS) {
+            return counts.computeIfAbsent(OTHER_FIELDS, f -> new LongAdder());
+        }
+        LongAdder created = new LongAdder();
+        LongAdder existing = counts.putIfAbsent(field, created);
+        if (existing != null) {
+            return existing;
+        }
+        logger.warn("Potential PII detected in field '{}': {}. Consider removing or encrypting this field; "
+                + "later findings in it are only counted.", field, finding.types());
+        return created;
+    }
+
+    /** The prefixed path with every list index replaced by {@code *}. */
+    private static String field(String prefix, String path) {
+        StringBuilder field = new StringBuilder(prefix.length() + 1 + path.length()).append(prefix);
+        if (!path.isEmpty() && path.charAt(0) != '[') {
+            field.append('.');
+        }
+        boolean inIndex = false;
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (inIndex) {
+                if (c == ']') {
+                    field.append("*]");
+                    inIndex = false;
+                }
+            } else {
+                field.append(c);
+                inIndex = c == '[';
+            }
+        }
+        return field.toString();
+    }
+}
@@ -0,0 +1,126 @@
+package com.teracrafts.huefy.client;
+
+import com.teracrafts.huefy.models.BulkRecipient;
+import com.teracrafts.huefy.models.EmailProvider;
+import com.teracrafts.huefy.models.SendEmailRecipient;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the send and send-bulk wire format directly with a {@link JsonGenerator}.
+ *
+ * <p>Template and recipient data maps are streamed straight into a per-thread,
+ * reusable byte buffer instead of being converted to a {@code JsonNode} tree and then
+ * rendered to a {@code String}. The output is identical to rendering the equivalent
+ * {@code ObjectNode}.</p>
+ */
+final class RequestBodyWriter {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final ThreadLocal<ByteArrayBuilder> BUFFER = ThreadLocal.withInitial(ByteArrayBuilder::new);
+
+    private RequestBodyWriter() {
+        // Utility class
+    }
+
+    /**
+     * Writes a single-send body with a plain recipient address.
+     */
+    static byte[] writeSendEmail(String templateKey, Map<String, ?> data, String recipient,
+                                 EmailProvider provider) throws IOException {
+        ByteArrayBuilder buffer = acquire();
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(buffer)) {
+            gen.writeStartObject();
+            gen.writeStringField("templateKey", templateKey.trim());
+            gen.writeStringField("recipient", recipient.trim());
+            gen.writeFieldName("data");
+            gen.writeObject(data);
+            writeProvider(gen, provider);
+            gen.writeEndObject();
+        }
+        return drain(buffer);
+    }
+
+    /**
+     * Writes a single-send body with a recipient object.
+     */
+    static byte[] writeSendEmail(String templateKey, Map<String, ?> data, SendEmailRecipient recipient,
+                                 EmailProvider provider) throws IOException {
+        ByteArrayBuilder buffer = acquire();
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(buffer)) {
+            gen.writeStartObject();
+            gen.writeStringField("templateKey", templateKey.trim());
+            gen.writeFieldName("recipient");
+            writeRecipient(gen, recipient.email(), recipient.type(), recipient.data());
+            gen.writeFieldName("data");
+            gen.writeObject(data);
+            writeProvider(gen, provider);
+            gen.writeEndObject();
+        }
+        return drain(buffer);
+    }
+
+    /**
+     * Writes a send-bulk body for one compliant chunk of recipients.
+     */
+    static byte[] writeSendBulkEmails(String templateKey, List<BulkRecipient> recipients,
+                                      EmailProvider provider) throws IOException {
+        ByteArrayBuilder buffer = acquire();
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(buffer)) {
+            gen.writeStartObject();
+            gen.writeStringField("templateKey", templateKey.trim());
+            gen.writeArrayFieldStart("recipients");
+            for (BulkRecipient r : recipients) {
+                writeRecipient(gen, r.email(), r.type(), r.data());
+            }
+            gen.writeEndArray();
+            writeProvider(gen, provider);
+            gen.writeEndObject();
+        }
+        return drain(buffer);
+    }
+
+    private static void writeRecipient(JsonGenerator gen, String email, String type, Map<String, ?> data)
+            throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("email", email.trim());
+        if (type != null && !type.isBlank()) {
+            gen.writeStringField("type", type.trim().toLowerCase(Locale.ROOT));
+        }
+        if (data != null) {
+            gen.writeFieldName("data");
+            gen.writeObject(data);
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeProvider(JsonGenerator gen, EmailProvider provider) throws IOException {
+        if (provider != null) {
+            gen.writeStringField("providerType", provider.getValue());
+        }
+    }
+
+    /**
+     * Returns this thread's buffer, emptied. Resetting keeps only the most recent
+     * block, so a thread retains at most one bounded block between writes.
+     */
+    private static ByteArrayBuilder acquire() {
+        ByteArrayBuilder buffer = BUFFER.get();
+        buffer.reset();
+        return buffer;
+    }
+
+    private static byte[] drain(ByteArrayBuilder buffer) {
+        byte[] bytes = buffer.toByteArray();
+        buffer.reset();
+        return bytes;
+    }
+}
@@ -0,0 +1,322 @@
+package com.teracrafts.huefy.client;
+
+import com.teracrafts.huefy.errors.HuefyException;
+import com.teracrafts.huefy.http.ResponseDecoder;
+import com.teracrafts.huefy.models.HealthResponse;
+import com.teracrafts.huefy.models.HealthResponseData;
+import com.teracrafts.huefy.models.RecipientStatus;
+import com.teracrafts.huefy.models.SendBulkEmailsResponse;
+import com.teracrafts.huefy.models.SendBulkEmailsResponseData;
+import com.teracrafts.huefy.models.SendEmailResponse;
+import com.teracrafts.huefy.models.SendEmailResponseData;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming decoders for the API's response envelopes.
+ *
+ * <p>Each decoder walks the body token by token with a {@link JsonParser} and binds
+ * fields directly into the response records, skipping anything it does not know. No
+ * intermediate string or {@code JsonNode} tree is built. Missing fields decode to the
+ * same defaults as before: null strings, zero counts, false flags and empty
+ * collections.</p>
+ */
+final class ResponseDecoders {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** The HTTP client drains and closes the stream, so the parser must leave it open. */
+    private static final JsonFactory jsonFactory = objectMapper.getFactory().copy()
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    private static final ObjectReader ERRORS_READER =
+            objectMapper.readerFor(new TypeReference<List<Map<String, Object>>>() {});
+    private static final ObjectReader METADATA_READER =
+            objectMapper.readerFor(new TypeReference<Map<String, Object>>() {});
+
+    static final ResponseDecoder<SendEmailResponse> SEND_EMAIL =
+            guarded("Failed to send email: ", ResponseDecoders::readSendEmailResponse);
+
+    static final ResponseDecoder<SendBulkEmailsResponse> SEND_BULK_EMAILS =
+            guarded("Failed to send bulk emails: ", ResponseDecoders::readSendBulkEmailsResponse);
+
+    static final ResponseDecoder<HealthResponse> HEALTH =
+            guarded("Health check failed: ", ResponseDecoders::readHealthResponse);
+
+    private ResponseDecoders() {
+        // Utility class
+    }
+
+    /**
+     * Wraps a decoder so parse failures surface as a network error with the operation's
+     * message prefix.
+     */
+    private static <T> ResponseDecoder<T> guarded(String prefix, ResponseDecoder<T> decoder) {
+        return body -> {
+            try {
+                return decoder.decode(body);
+            } catch (HuefyException e) {
+                throw e;
+            } catch (Exception e) {
+                throw HuefyException.networkError(prefix + e.getMessage(), e);
+            }
+        };
+    }
+
+    static SendEmailResponse readSendEmailResponse(InputStream body) throws IOException {
+        try (JsonParser p = jsonFactory.createParser(body)) {
+            boolean success = false;
+            String correlationId = null;
+            SendEmailResponseData data = null;
+
+            if (startObject(p)) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    switch (field) {
+                        case "success" -> success = p.getValueAsBoolean();
+                        case "correlationId" -> correlationId = text(p);
+                        case "data" -> data = readSendEmailData(p);
+                        default -> p.skipChildren();
+                    }
+                }
+            }
+
+            return new SendEmailResponse(
+                    success,
+                    data != null ? data : new SendEmailResponseData(null, null, new ArrayList<>(), null, null),
+                    correlationId
+            );
+        }
+    }
+
+    static SendBulkEmailsResponse readSendBulkEmailsResponse(InputStream body) throws IOException {
+        try (JsonParser p = jsonFactory.createParser(body)) {
+            boolean success = false;
+            String correlationId = null;
+            SendBulkEmailsResponseData data = null;
+
+            if (startObject(p)) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    switch (field) {
+                        case "success" -> success = p.getValueAsBoolean();
+                        case "correlationId" -> correlationId = text(p);
+                        case "data" -> data = readSendBulkEmailsData(p);
+                        default -> p.skipChildren();
+                    }
+                }
+            }
+
+            return new SendBulkEmailsResponse(
+                    success,
+                    data != null ? data : new SendBulkEmailsResponseData(null, null, null, 0, null, false,
+                            0, 0, 0, 0, 0, null, null, new ArrayList<>(), List.of(), Map.of()),
+                    correlationId
+            );
+        }
+    }
+
+    static HealthResponse readHealthResponse(InputStream body) throws IOException {
+        try (JsonParser p = jsonFactory.createParser(body)) {
+            boolean success = false;
+            String correlationId = null;
+            HealthResponseData data = null;
+
+            if (startObject(p)) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    switch (field) {
+                        case "success" -> success = p.getValueAsBoolean();
+                        case "correlationId" -> correlationId = text(p);
+                        case "data" -> data = readHealthData(p);
+                        default -> p.skipChildren();
+                    }
+                }
+            }
+
+            return new HealthResponse(
+                    success,
+                    data != null ? data : new HealthResponseData("unknown", null, null),
+                    correlationId
+            );
+        }
+    }
+
+    private static SendEmailResponseData readSendEmailData(JsonParser p) throws IOException {
+        String emailId = null;
+        String status = null;
+        List<RecipientStatus> recipients = new ArrayList<>();
+        String scheduledAt = null;
+        String sentAt = null;
+
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "emailId" -> emailId = text(p);
+                    case "status" -> status = text(p);
+                    case "recipients" -> readRecipientStatuses(p, recipients);
+                    case "scheduledAt" -> scheduledAt = text(p);
+                    case "sentAt" -> sentAt = text(p);
+                    default -> p.skipChildren();
+                }
+            }
+        } else {
+            p.skipChildren();
+        }
+
+        return new SendEmailResponseData(emailId, status, recipients, scheduledAt, sentAt);
+    }
+
+    /**
+     * Reads the bulk {@code data} object; a parser not positioned on an object yields
+     * the all-defaults value.
+     */
+    private static SendBulkEmailsResponseData readSendBulkEmailsData(JsonParser p) throws IOException {
+        String batchId = null;
+        String status = null;
+        String templateKey = null;
+        int templateVersion = 0;
+        String senderUsed = null;
+        boolean senderVerified = false;
+        int totalRecipients = 0;
+        int processedCount = 0;
+        int successCount = 0;
+        int failureCount = 0;
+        int suppressedCount = 0;
+        String startedAt = null;
+        String completedAt = null;
+        List<RecipientStatus> recipients = new ArrayList<>();
+        List<Map<String, Object>> errors = List.of();
+        Map<String, Object> metadata = Map.of();
+
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "batchId" -> batchId = text(p);
+                    case "status" -> status = text(p);
+                    case "templateKey" -> templateKey = text(p);
+                    case "templateVersion" -> templateVersion = p.getValueAsInt();
+                    case "senderUsed" -> senderUsed = text(p);
+                    case "senderVerified" -> senderVerified = p.getValueAsBoolean();
+                    case "totalRecipients" -> totalRecipients = p.getValueAsInt();
+                    case "processedCount" -> processedCount = p.getValueAsInt();
+                    case "successCount" -> successCount = p.getValueAsInt();
+                    case "failureCount" -> failureCount = p.getValueAsInt();
+                    case "suppressedCount" -> suppressedCount = p.getValueAsInt();
+                    case "startedAt" -> startedAt = text(p);
+                    case "completedAt" -> completedAt = text(p);
+                    case "recipients" -> readRecipientStatuses(p, recipients);
+                    case "errors" -> errors = ERRORS_READER.readValue(p);
+                    case "metadata" -> metadata = METADATA_READER.readValue(p);
+                    default -> p.skipChildren();
+                }
+            }
+        } else {
+            p.skipChildren();
+        }
+
+        return new SendBulkEmailsResponseData(
+                batchId, status, templateKey, templateVersion, senderUsed, senderVerified,
+                totalRecipients, processedCount, successCount, failureCount, suppressedCount,
+                startedAt, completedAt, recipients, errors, metadata
+        );
+    }
+
+    private static HealthResponseData readHealthData(JsonParser p) throws IOException {
+        String status = "unknown";
+        String timestamp = null;
+        String version = null;
+
+        if (p.currentToken() == JsonToken.START_OBJECT) {
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "status" -> status = text(p);
+                    case "timestamp" -> timestamp = text(p);
+                    case "version" -> version = text(p);
+                    default -> p.skipChildren();
+                }
+            }
+        } else {
+            p.skipChildren();
+        }
+
+        return new HealthResponseData(status, timestamp, version);
+    }
+
+    /**
+     * Appends each element of a {@code recipients} array; any other value is skipped.
+     */
+    private static void readRecipientStatuses(JsonParser p, List<RecipientStatus> recipients) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            String email = null;
+            String status = null;
+            String messageId = null;
+            String error = null;
+            String sentAt = null;
+
+            if (p.currentToken() == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    switch (field) {
+                        case "email" -> email = text(p);
+                        case "status" -> status = text(p);
+                        case "messageId" -> messageId = text(p);
+                        case "error" -> error = text(p);
+                        case "sentAt" -> sentAt = text(p);
+                        default -> p.skipChildren();
+                    }
+                }
+            } else {
+                p.skipChildren();
+            }
+
+            recipients.add(new RecipientStatus(email, status, messageId, error, sentAt));
+        }
+    }
+
+    /**
+     * Advances to the root token.
+     *
+     * @return true if the body is a JSON object; empty and non-object bodies decode to defaults
+     */
+    private static boolean startObject(JsonParser p) throws IOException {
+        return p.nextToken() == JsonToken.START_OBJECT;
+    }
+
+    /**
+     * Returns a scalar value as text, or null for JSON null, objects and arrays, which
+     * are skipped.
+     */
+    private static String text(JsonParser p) throws IOException {
+        if (p.currentToken().isScalarValue()) {
+            return p.getValueAsString();
+        }
+        p.skipChildren();
+        return null;
+    }
+}
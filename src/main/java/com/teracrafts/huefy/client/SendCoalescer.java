@@ -0,0 +1,229 @@
+package com.teracrafts.huefy.client;
+
+import com.teracrafts.huefy.config.HuefyConfig.CoalescingConfig;
+import com.teracrafts.huefy.models.BulkRecipient;
+import com.teracrafts.huefy.models.EmailProvider;
+import com.teracrafts.huefy.models.RecipientStatus;
+import com.teracrafts.huefy.models.SendBulkEmailsResponse;
+import com.teracrafts.huefy.models.SendEmailResponse;
+import com.teracrafts.huefy.models.SendEmailResponseData;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers single sends per template key and provider and flushes them as one bulk
+ * request, completing each caller's future with its own recipient's status.
+ *
+ * <p>A batch is flushed when it reaches the configured size or when the linger time
+ * since its first send elapses, whichever comes first. A batch never holds the same
+ * address twice: a repeated address flushes the open batch and starts a new one, so
+ * every recipient status in a bulk response maps back to exactly one caller.</p>
+ */
+final class SendCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SendCoalescer.class);
+
+    private static final String UNREPORTED = "No status was reported for this recipient";
+
+    /**
+     * Sends one batch as a bulk request.
+     */
+    @FunctionalInterface
+    interface BatchSender {
+        CompletableFuture<SendBulkEmailsResponse> send(String templateKey, List<BulkRecipient> recipients,
+                                                       EmailProvider provider);
+    }
+
+    private final BatchSender sender;
+    private final int maxBatchSize;
+    private final Executor lingerTimer;
+    private final Map<BatchKey, Batch> open = new HashMap<>();
+
+    /**
+     * Creates a coalescer.
+     *
+     * @param config   the linger time and batch size
+     * @param sender   sends a flushed batch
+     * @param executor the executor flushes run on after the linger time, or null for the
+     *                 default asynchronous pool
+     */
+    SendCoalescer(CoalescingConfig config, BatchSender sender, Executor executor) {
+        this.sender = sender;
+        this.maxBatchSize = config.getMaxBatchSize();
+        this.lingerTimer = executor != null
+                ? CompletableFuture.delayedExecutor(config.getLinger(), TimeUnit.MILLISECONDS, executor)
+                : CompletableFuture.delayedExecutor(config.getLinger(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds a validated send to its batch.
+     *
+     * @param templateKey the template key
+     * @param provider    the provider, or null for the default
+     * @param recipient   the recipient with its merged template data
+     * @return a future completing with this recipient's result once its batch is sent
+     */
+    CompletableFuture<SendEmailResponse> submit(String templateKey, EmailProvider provider, BulkRecipient recipient) {
+        BatchKey key = new BatchKey(templateKey.trim(), provider);
+        CompletableFuture<SendEmailResponse> result = new CompletableFuture<>();
+        Batch displaced = null;
+        Batch full = null;
+        Batch started = null;
+
+        synchronized (this) {
+            Batch batch = open.get(key);
+            if (batch != null && batch.contains(recipient.email())) {
+                open.remove(key);
+                displaced = batch;
+                batch = null;
+            }
+            if (batch == null) {
+                batch = new Batch(key);
+                open.put(key, batch);
+                started = batch;
+            }
+            batch.add(recipient, result);
+            if (batch.size() >= maxBatchSize) {
+                open.remove(key);
+                full = batch;
+            }
+        }
+
+        if (displaced != null) {
+            flush(displaced);
+        }
+        if (full != null) {
+            flush(full);
+        } else if (started != null) {
+            Batch lingering = started;
+            lingerTimer.execute(() -> expire(lingering));
+        }
+        return result;
+    }
+
+    /**
+     * Flushes every open batch immediately, for example before the client closes.
+     */
+    void flushAll() {
+        List<Batch> batches;
+        synchronized (this) {
+            batches = new ArrayList<>(open.values());
+            open.clear();
+        }
+        batches.forEach(this::flush);
+    }
+
+    private void expire(Batch batch) {
+        synchronized (this) {
+            if (!open.remove(batch.key, batch)) {
+                // Already flushed because it filled up or was displaced
+                return;
+            }
+        }
+        flush(batch);
+    }
+
+    private void flush(Batch batch) {
+        logger.debug("Coalescing {} sends using template '{}' into one bulk request",
+                batch.size(), batch.key.templateKey());
+        CompletableFuture<SendBulkEmailsResponse> response;
+        try {
+            response = sender.send(batch.key.templateKey(), batch.recipients, batch.key.provider());
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((bulk, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                batch.callers.forEach(caller -> caller.completeExceptionally(cause));
+            } else {
+                complete(batch, bulk);
+            }
+        });
+    }
+
+    /**
+     * Hands each caller the status the bulk response reported for its address. Only when
+     * no status carries an address and there is one status per recipient are statuses
+     * matched by position instead. A caller left without a status is completed as
+     * unsuccessful, since the API never acknowledged its recipient.
+     */
+    private static void complete(Batch batch, SendBulkEmailsResponse bulk) {
+        List<RecipientStatus> statuses = bulk.data().recipients();
+        Map<String, RecipientStatus> byEmail = new HashMap<>();
+        for (RecipientStatus status : statuses) {
+            if (status.email() != null) {
+                byEmail.put(normalize(status.email()), status);
+            }
+        }
+        boolean positional = byEmail.isEmpty() && statuses.size() == batch.size();
+
+        for (int i = 0; i < batch.size(); i++) {
+            String email = batch.recipients.get(i).email();
+            RecipientStatus status = byEmail.get(normalize(email));
+            if (status == null && positional) {
+                status = statuses.get(i);
+            }
+            if (status == null) {
+                status = new RecipientStatus(email, "unknown", null, UNREPORTED, null);
+            }
+            batch.callers.get(i).complete(new SendEmailResponse(
+                    bulk.success() && status.error() == null,
+                    new SendEmailResponseData(status.messageId(), status.status(), List.of(status), null,
+                            status.sentAt()),
+                    bulk.correlationId()
+            ));
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record BatchKey(String templateKey, EmailProvider provider) {}
+
+    /**
+     * Sends waiting to be flushed together. Guarded by the coalescer's lock until
+     * removed from the open map, and only read afterwards.
+     */
+    private static final class Batch {
+
+        private final BatchKey key;
+        private final List<BulkRecipient> recipients = new ArrayList<>();
+        private final List<CompletableFuture<SendEmailResponse>> callers = new ArrayList<>();
+        private final Set<String> emails = new HashSet<>();
+
+        private Batch(BatchKey key) {
+            this.key = key;
+        }
+
+        private boolean contains(String email) {
+            return emails.contains(normalize(email));
+        }
+
+        private void add(BulkRecipient recipient, CompletableFuture<SendEmailResponse> caller) {
+            recipients.add(recipient);
+            callers.add(caller);
+            emails.add(normalize(recipient.email()));
+        }
+
+        private int size() {
+            return recipients.size();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.teracrafts.huefy.config;
+
+/**
+ * Snapshot of the adaptive concurrency limit.
+ *
+ * @param limit    the current cap on request attempts in flight
+ * @param inFlight the number of attempts in flight
+ * @param queued   the number of attempts waiting for a slot
+ */
+public record ConcurrencyLimitInfo(int limit, int inFlight, int queued) {}
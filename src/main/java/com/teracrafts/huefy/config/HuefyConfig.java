@@ -2,8 +2,10 @@ package com.teracrafts.huefy.config;
 
 import com.teracrafts.huefy.utils.Logger;
 import com.teracrafts.huefy.utils.NoopLogger;
+import com.teracrafts.huefy.validators.EmailValidators;
 
 import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 
 /**
@@ -24,6 +26,9 @@ public final class HuefyConfig {
     private static final String DEFAULT_BASE_URL = "https://api.huefy.dev/api/v1/sdk";
     private static final String LOCAL_BASE_URL = "https://api.huefy.on/api/v1/sdk";
     private static final long DEFAULT_TIMEOUT = 30000;
+    private static final int DEFAULT_BULK_PARALLELISM = 4;
+    private static final int DEFAULT_MAX_CIRCUIT_BREAKERS = 64;
+    private static final int DEFAULT_MAX_SCAN_LENGTH = 65_536;
 
     private final String apiKey;
     private final String baseUrl;
@@ -36,6 +41,17 @@ public final class HuefyConfig {
     private final Logger logger;
     private final Consumer<RateLimitInfo> onRateLimitUpdate;
     private final Consumer<RateLimitInfo> onRateLimitWarning;
+    private final ScheduledExecutorService retryScheduler;
+    private final boolean useVirtualThreads;
+    private final int bulkParallelism;
+    private final CoalescingConfig coalescingConfig;
+    private final int maxCircuitBreakers;
+    private final boolean stacklessRejections;
+    private final RateLimiterConfig rateLimiterConfig;
+    private final ConcurrencyLimitConfig concurrencyLimitConfig;
+    private final int maxPiiScanLength;
+    private final int maxSanitizedErrorLength;
+    private final PiiScanConfig piiScanConfig;
 
     private HuefyConfig(Builder builder) {
         this.apiKey = Objects.requireNonNull(builder.apiKey, "API key must not be null");
@@ -53,6 +69,17 @@ public final class HuefyConfig {
         this.logger = builder.logger != null ? builder.logger : new NoopLogger();
         this.onRateLimitUpdate = builder.onRateLimitUpdate;
         this.onRateLimitWarning = builder.onRateLimitWarning;
+        this.retryScheduler = builder.retryScheduler;
+        this.useVirtualThreads = builder.useVirtualThreads;
+        this.bulkParallelism = builder.bulkParallelism;
+        this.coalescingConfig = builder.coalescingConfig;
+        this.maxCircuitBreakers = builder.maxCircuitBreakers;
+        this.stacklessRejections = builder.stacklessRejections;
+        this.rateLimiterConfig = builder.rateLimiterConfig;
+        this.concurrencyLimitConfig = builder.concurrencyLimitConfig;
+        this.maxPiiScanLength = builder.maxPiiScanLength;
+        this.maxSanitizedErrorLength = builder.maxSanitizedErrorLength;
+        this.piiScanConfig = builder.piiScanConfig != null ? builder.piiScanConfig : new PiiScanConfig();
     }
 
     /**
@@ -108,6 +135,65 @@ public final class HuefyConfig {
         return onRateLimitWarning;
     }
 
+    public ScheduledExecutorService getRetryScheduler() {
+        return retryScheduler;
+    }
+
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+    public int getBulkParallelism() {
+        return bulkParallelism;
+    }
+
+    /**
+     * Returns the single-send coalescing settings.
+     *
+     * @return the coalescing config, or null when coalescing is disabled
+     */
+    public CoalescingConfig getCoalescingConfig() {
+        return coalescingConfig;
+    }
+
+    public int getMaxCircuitBreakers() {
+        return maxCircuitBreakers;
+    }
+
+    public boolean isStacklessRejections() {
+        return stacklessRejections;
+    }
+
+    /**
+     * Returns the client-side rate limiter settings.
+     *
+     * @return the rate limiter config, or null when the limiter is disabled
+     */
+    public RateLimiterConfig getRateLimiterConfig() {
+        return rateLimiterConfig;
+    }
+
+    /**
+     * Returns the adaptive concurrency limit settings.
+     *
+     * @return the concurrency limit config, or null when in-flight requests are not limited
+     */
+    public ConcurrencyLimitConfig getConcurrencyLimitConfig() {
+        return concurrencyLimitConfig;
+    }
+
+    public int getMaxPiiScanLength() {
+        return maxPiiScanLength;
+    }
+
+    public int getMaxSanitizedErrorLength() {
+        return maxSanitizedErrorLength;
+    }
+
+    public PiiScanConfig getPiiScanConfig() {
+        return piiScanConfig;
+    }
+
     private static String resolveBaseUrl() {
         String mode = System.getenv("HUEFY_MODE");
         if ("local".equalsIgnoreCase(mode)) {
@@ -169,12 +255,37 @@ public final class HuefyConfig {
 
     /**
      * Circuit breaker configuration for fault tolerance.
+     *
+     * <p>By default the circuit opens after {@code failureThreshold} consecutive failures.
+     * {@link #failureRate(double, int, int, long, int)} instead opens it when the share of
+     * failures among the most recent calls crosses a threshold, which also catches a
+     * backend that fails intermittently. A failure-rate config can also open on latency
+     * with {@link #withSlowCalls(long, double)}. Either kind can recover through
+     * background health checks instead of real requests with
+     * {@link #withHealthProbeRecovery()}.</p>
      */
     public static final class CircuitBreakerConfig {
 
+        /**
+         * How the circuit decides to open.
+         */
+        public enum Mode {
+            /** Opens after a run of consecutive failures; any success resets the run. */
+            CONSECUTIVE_FAILURES,
+            /** Opens when the failure rate over a sliding window of calls crosses a threshold. */
+            FAILURE_RATE
+        }
+
+        private final Mode mode;
         private final int failureThreshold;
         private final long resetTimeout;
         private final int halfOpenRequests;
+        private final double failureRateThreshold;
+        private final int windowSize;
+        private final int minimumCalls;
+        private final long slowCallDuration;
+        private final double slowCallRateThreshold;
+        private final boolean healthProbeRecovery;
 
         /**
          * Creates a circuit breaker config with default values.
@@ -201,18 +312,102 @@ public final class HuefyConfig {
          * @param halfOpenRequests  maximum requests allowed in half-open state
          */
         public CircuitBreakerConfig(int failureThreshold, long resetTimeout, int halfOpenRequests) {
+            this(Mode.CONSECUTIVE_FAILURES, failureThreshold, resetTimeout, halfOpenRequests, 0, 0, 0, 0, 0, false);
             if (failureThreshold < 1) {
                 throw new IllegalArgumentException("failureThreshold must be >= 1");
             }
+        }
+
+        private CircuitBreakerConfig(Mode mode, int failureThreshold, long resetTimeout, int halfOpenRequests,
+                                     double failureRateThreshold, int windowSize, int minimumCalls,
+                                     long slowCallDuration, double slowCallRateThreshold,
+                                     boolean healthProbeRecovery) {
             if (resetTimeout <= 0) {
                 throw new IllegalArgumentException("resetTimeout must be positive");
             }
             if (halfOpenRequests <= 0) {
                 throw new IllegalArgumentException("halfOpenRequests must be positive");
             }
+            this.mode = mode;
             this.failureThreshold = failureThreshold;
             this.resetTimeout = resetTimeout;
             this.halfOpenRequests = halfOpenRequests;
+            this.failureRateThreshold = failureRateThreshold;
+            this.windowSize = windowSize;
+            this.minimumCalls = minimumCalls;
+            this.slowCallDuration = slowCallDuration;
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            this.healthProbeRecovery = healthProbeRecovery;
+        }
+
+        /**
+         * Creates a config that opens the circuit on a failure rate over a sliding window
+         * of the most recent calls.
+         *
+         * @param failureRateThreshold failure percentage, above 0 and at most 100, at which the circuit opens
+         * @param windowSize           number of most recent calls the rate is computed over
+         * @param minimumCalls         calls the window must hold before the rate is evaluated
+         * @param resetTimeout         time in milliseconds before attempting to close the circuit
+         * @param halfOpenRequests     maximum requests allowed in half-open state
+         * @return the config
+         */
+        public static CircuitBreakerConfig failureRate(double failureRateThreshold, int windowSize, int minimumCalls,
+                                                       long resetTimeout, int halfOpenRequests) {
+            if (!(failureRateThreshold > 0 && failureRateThreshold <= 100)) {
+                throw new IllegalArgumentException("failureRateThreshold must be > 0 and <= 100");
+            }
+            if (windowSize < 1) {
+                throw new IllegalArgumentException("windowSize must be >= 1");
+            }
+            if (minimumCalls < 1 || minimumCalls > windowSize) {
+                throw new IllegalArgumentException("minimumCalls must be between 1 and windowSize");
+            }
+            return new CircuitBreakerConfig(Mode.FAILURE_RATE, 0, resetTimeout, halfOpenRequests,
+                    failureRateThreshold, windowSize, minimumCalls, 0, 0, false);
+        }
+
+        /**
+         * Returns a copy of this failure-rate config that also treats calls taking at least
+         * {@code slowCallDuration} milliseconds as slow, and opens the circuit when the share
+         * of slow calls in the window reaches {@code slowCallRateThreshold}. Slow calls count
+         * whether they succeed or fail, so sustained latency degradation fails fast.
+         *
+         * @param slowCallDuration      duration in milliseconds from which a call is slow
+         * @param slowCallRateThreshold slow-call percentage, above 0 and at most 100, at which the circuit opens
+         * @return the new config
+         * @throws IllegalStateException if this config is not in {@link Mode#FAILURE_RATE} mode
+         */
+        public CircuitBreakerConfig withSlowCalls(long slowCallDuration, double slowCallRateThreshold) {
+            if (mode != Mode.FAILURE_RATE) {
+                throw new IllegalStateException("Slow-call detection requires a failure-rate config");
+            }
+            if (slowCallDuration <= 0) {
+                throw new IllegalArgumentException("slowCallDuration must be positive");
+            }
+            if (!(slowCallRateThreshold > 0 && slowCallRateThreshold <= 100)) {
+                throw new IllegalArgumentException("slowCallRateThreshold must be > 0 and <= 100");
+            }
+            return new CircuitBreakerConfig(mode, failureThreshold, resetTimeout, halfOpenRequests,
+                    failureRateThreshold, windowSize, minimumCalls, slowCallDuration, slowCallRateThreshold,
+                    healthProbeRecovery);
+        }
+
+        /**
+         * Returns a copy of this config that recovers with background health checks. Once
+         * {@code resetTimeout} expires, {@code GET /health} is probed until
+         * {@code halfOpenRequests} probes in a row succeed; real requests keep failing fast
+         * until then, so no user-facing request is spent as a probe.
+         *
+         * @return the new config
+         */
+        public CircuitBreakerConfig withHealthProbeRecovery() {
+            return new CircuitBreakerConfig(mode, failureThreshold, resetTimeout, halfOpenRequests,
+                    failureRateThreshold, windowSize, minimumCalls, slowCallDuration, slowCallRateThreshold,
+                    true);
+        }
+
+        public Mode getMode() {
+            return mode;
         }
 
         public int getFailureThreshold() {
@@ -226,6 +421,374 @@ public final class HuefyConfig {
         public int getHalfOpenRequests() {
             return halfOpenRequests;
         }
+
+        public double getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        /**
+         * Returns the duration from which a call counts as slow.
+         *
+         * @return the duration in milliseconds, or 0 when slow-call detection is off
+         */
+        public long getSlowCallDuration() {
+            return slowCallDuration;
+        }
+
+        public double getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public boolean isHealthProbeRecovery() {
+            return healthProbeRecovery;
+        }
+    }
+
+    /**
+     * Coalescing configuration for batching single sends into bulk requests.
+     *
+     * <p>Single sends with the same template key and provider are buffered until either
+     * {@code maxBatchSize} sends are waiting or {@code linger} milliseconds have passed
+     * since the first one, then flushed together as one bulk request.</p>
+     */
+    public static final class CoalescingConfig {
+
+        private final long linger;
+        private final int maxBatchSize;
+
+        /**
+         * Creates a coalescing config with default values.
+         */
+        public CoalescingConfig() {
+            this(10, 100);
+        }
+
+        /**
+         * Creates a coalescing config with the specified values.
+         *
+         * @param linger       maximum time in milliseconds a send waits for others to join its batch
+         * @param maxBatchSize number of sends that triggers an immediate flush
+         */
+        public CoalescingConfig(long linger, int maxBatchSize) {
+            if (linger <= 0) {
+                throw new IllegalArgumentException("linger must be positive");
+            }
+            if (maxBatchSize < 1 || maxBatchSize > EmailValidators.MAX_BULK_EMAILS) {
+                throw new IllegalArgumentException(
+                        "maxBatchSize must be between 1 and " + EmailValidators.MAX_BULK_EMAILS);
+            }
+            this.linger = linger;
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public long getLinger() {
+            return linger;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+    }
+
+    /**
+     * Client-side rate limiter configuration.
+     *
+     * <p>The limiter tracks the quota the API reports in its {@code X-RateLimit-Limit},
+     * {@code X-RateLimit-Remaining} and {@code X-RateLimit-Reset} headers and spaces
+     * requests so that what is left of the current window lasts until it resets, holding
+     * them back before any network I/O. A held-back request either waits for its turn, for
+     * at most {@code maxWait} milliseconds, or fails fast with {@code RATE_LIMIT_ERROR}.</p>
+     */
+    public static final class RateLimiterConfig {
+
+        /**
+         * What a request does when it is held back.
+         */
+        public enum OnLimit {
+            /** Wait for its turn, up to {@code maxWait}. */
+            WAIT,
+            /** Fail immediately with {@code RATE_LIMIT_ERROR}. */
+            FAIL_FAST
+        }
+
+        private final OnLimit onLimit;
+        private final long maxWait;
+
+        /**
+         * Creates a rate limiter config that waits up to 30 seconds.
+         */
+        public RateLimiterConfig() {
+            this(OnLimit.WAIT, 30000);
+        }
+
+        /**
+         * Creates a rate limiter config with the specified values.
+         *
+         * @param onLimit what a request does when it is held back
+         * @param maxWait maximum time in milliseconds to wait in {@link OnLimit#WAIT} mode
+         */
+        public RateLimiterConfig(OnLimit onLimit, long maxWait) {
+            if (onLimit == null) {
+                throw new IllegalArgumentException("onLimit must not be null");
+            }
+            if (maxWait < 0) {
+                throw new IllegalArgumentException("maxWait must not be negative");
+            }
+            this.onLimit = onLimit;
+            this.maxWait = maxWait;
+        }
+
+        /**
+         * Creates a rate limiter config that fails fast.
+         *
+         * @return the new config
+         */
+        public static RateLimiterConfig failFast() {
+            return new RateLimiterConfig(OnLimit.FAIL_FAST, 0);
+        }
+
+        public OnLimit getOnLimit() {
+            return onLimit;
+        }
+
+        public long getMaxWait() {
+            return maxWait;
+        }
+    }
+
+    /**
+     * Adaptive concurrency limit configuration.
+     *
+     * <p>Caps the number of request attempts in flight at once and adjusts the cap with
+     * additive-increase/multiplicative-decrease: each successful attempt raises it by
+     * {@code 1/limit}, so it grows by one per full round of requests while latency stays
+     * flat, and a timeout, a 429 or 503 response, or an attempt slower than
+     * {@code latencyTolerance} times the baseline latency cuts it by {@code backoffRatio}.
+     * The cap stays between {@code minLimit} and {@code maxLimit}.</p>
+     *
+     * <p>Attempts over the cap queue for a free slot, up to {@code maxQueued} of them for
+     * at most {@code maxWait} milliseconds each; beyond that they are shed with a
+     * recoverable {@code CONCURRENCY_LIMIT_EXCEEDED} error.</p>
+     */
+    public static final class ConcurrencyLimitConfig {
+
+        private final int initialLimit;
+        private final int minLimit;
+        private final int maxLimit;
+        private final double backoffRatio;
+        private final double latencyTolerance;
+        private final int maxQueued;
+        private final long maxWait;
+
+        /**
+         * Creates a concurrency limit config with default values: a limit starting at 20
+         * and kept between 1 and 200.
+         */
+        public ConcurrencyLimitConfig() {
+            this(20, 1, 200);
+        }
+
+        /**
+         * Creates a concurrency limit config with the specified bounds. Latency and queue
+         * settings take their defaults: the limit backs off by 10% when an attempt takes
+         * more than twice the baseline latency, and up to 1000 attempts queue for at most
+         * 5 seconds.
+         *
+         * @param initialLimit the starting limit
+         * @param minLimit     the lowest the limit is cut to
+         * @param maxLimit     the highest the limit grows to
+         */
+        public ConcurrencyLimitConfig(int initialLimit, int minLimit, int maxLimit) {
+            this(initialLimit, minLimit, maxLimit, 0.9, 2.0, 1000, 5000);
+        }
+
+        private ConcurrencyLimitConfig(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                       double latencyTolerance, int maxQueued, long maxWait) {
+            if (minLimit < 1) {
+                throw new IllegalArgumentException("minLimit must be >= 1");
+            }
+            if (maxLimit < minLimit) {
+                throw new IllegalArgumentException("maxLimit must be >= minLimit");
+            }
+            if (initialLimit < minLimit || initialLimit > maxLimit) {
+                throw new IllegalArgumentException("initialLimit must be between minLimit and maxLimit");
+            }
+            if (!(backoffRatio > 0 && backoffRatio < 1)) {
+                throw new IllegalArgumentException("backoffRatio must be between 0 and 1 exclusive");
+            }
+            if (!(latencyTolerance > 1)) {
+                throw new IllegalArgumentException("latencyTolerance must be greater than 1");
+            }
+            if (maxQueued < 0) {
+                throw new IllegalArgumentException("maxQueued must not be negative");
+            }
+            if (maxWait < 0) {
+                throw new IllegalArgumentException("maxWait must not be negative");
+            }
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.backoffRatio = backoffRatio;
+            this.latencyTolerance = latencyTolerance;
+            this.maxQueued = maxQueued;
+            this.maxWait = maxWait;
+        }
+
+        /**
+         * Returns a copy with the given backoff settings.
+         *
+         * @param backoffRatio     the factor the limit is multiplied by on a drop, between 0 and 1
+         * @param latencyTolerance how many times the baseline latency an attempt may take
+         *                         before it counts as a drop; greater than 1
+         * @return the new config
+         */
+        public ConcurrencyLimitConfig withBackoff(double backoffRatio, double latencyTolerance) {
+            return new ConcurrencyLimitConfig(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance,
+                    maxQueued, maxWait);
+        }
+
+        /**
+         * Returns a copy with the given queue settings. With {@code maxQueued} of zero,
+         * attempts over the limit are shed immediately.
+         *
+         * @param maxQueued the most attempts that may wait for a slot at once
+         * @param maxWait   the longest an attempt waits for a slot, in milliseconds
+         * @return the new config
+         */
+        public ConcurrencyLimitConfig withQueue(int maxQueued, long maxWait) {
+            return new ConcurrencyLimitConfig(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance,
+                    maxQueued, maxWait);
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public double getLatencyTolerance() {
+            return latencyTolerance;
+        }
+
+        public int getMaxQueued() {
+            return maxQueued;
+        }
+
+        public long getMaxWait() {
+            return maxWait;
+        }
+    }
+
+    /**
+     * PII scan configuration for single sends.
+     *
+     * <p>Template and recipient data are checked for PII and findings are counted per
+     * field; see {@code HuefyEmailClient.getPiiFindingCounts()}. The first finding in a
+     * field is logged as a warning and later ones are only counted. The mode decides
+     * which sends are checked and on which thread.</p>
+     */
+    public static final class PiiScanConfig {
+
+        /**
+         * Which sends are checked, and where.
+         */
+        public enum Mode {
+            /** No send is checked. */
+            OFF,
+            /** One in every {@code sampleRate} sends is checked, on the sending thread. */
+            SAMPLED,
+            /**
+             * Every send is handed to a background check, up to {@code maxQueued} pending
+             * at once; sends beyond that are not checked. The check works on shallow copies
+             * of the data maps taken before the send, so nested maps, lists and other
+             * mutable values in them should not be changed afterwards.
+             */
+            ASYNC,
+            /** Every send is checked on the sending thread before it is sent. */
+            INLINE
+        }
+
+        private final Mode mode;
+        private final int sampleRate;
+        private final int maxQueued;
+
+        /**
+         * Creates a config that checks every send inline.
+         */
+        public PiiScanConfig() {
+            this(Mode.INLINE, 1, 0);
+        }
+
+        private PiiScanConfig(Mode mode, int sampleRate, int maxQueued) {
+            this.mode = mode;
+            this.sampleRate = sampleRate;
+            this.maxQueued = maxQueued;
+        }
+
+        /**
+         * Creates a config that checks no sends.
+         *
+         * @return the new config
+         */
+        public static PiiScanConfig off() {
+            return new PiiScanConfig(Mode.OFF, 1, 0);
+        }
+
+        /**
+         * Creates a config that checks one in every {@code sampleRate} sends inline.
+         *
+         * @param sampleRate how many sends there are per checked send
+         * @return the new config
+         */
+        public static PiiScanConfig sampled(int sampleRate) {
+            if (sampleRate < 1) {
+                throw new IllegalArgumentException("sampleRate must be >= 1");
+            }
+            return new PiiScanConfig(Mode.SAMPLED, sampleRate, 0);
+        }
+
+        /**
+         * Creates a config that checks sends in the background.
+         *
+         * @param maxQueued the maximum number of checks pending at once
+         * @return the new config
+         */
+        public static PiiScanConfig async(int maxQueued) {
+            if (maxQueued < 1) {
+                throw new IllegalArgumentException("maxQueued must be >= 1");
+            }
+            return new PiiScanConfig(Mode.ASYNC, 1, maxQueued);
+        }
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public int getSampleRate() {
+            return sampleRate;
+        }
+
+        public int getMaxQueued() {
+            return maxQueued;
+        }
     }
 
     /**
@@ -244,6 +807,17 @@ public final class HuefyConfig {
         private Logger logger;
         private Consumer<RateLimitInfo> onRateLimitUpdate;
         private Consumer<RateLimitInfo> onRateLimitWarning;
+        private ScheduledExecutorService retryScheduler;
+        private boolean useVirtualThreads = false;
+        private int bulkParallelism = DEFAULT_BULK_PARALLELISM;
+        private CoalescingConfig coalescingConfig;
+        private int maxCircuitBreakers = DEFAULT_MAX_CIRCUIT_BREAKERS;
+        private boolean stacklessRejections = false;
+        private RateLimiterConfig rateLimiterConfig;
+        private ConcurrencyLimitConfig concurrencyLimitConfig;
+        private int maxPiiScanLength = DEFAULT_MAX_SCAN_LENGTH;
+        private int maxSanitizedErrorLength = DEFAULT_MAX_SCAN_LENGTH;
+        private PiiScanConfig piiScanConfig;
 
         private Builder() {}
 
@@ -295,16 +869,180 @@ public final class HuefyConfig {
             return this;
         }
 
+        /**
+         * Sets a callback for rate limit updates. Callbacks run asynchronously on the SDK
+         * executor, one at a time; updates that arrive while a callback is running are
+         * coalesced, so only the newest is delivered next.
+         *
+         * @param onRateLimitUpdate the callback
+         * @return this builder
+         */
         public Builder onRateLimitUpdate(Consumer<RateLimitInfo> onRateLimitUpdate) {
             this.onRateLimitUpdate = onRateLimitUpdate;
             return this;
         }
 
+        /**
+         * Sets a callback for delivered rate limit updates with less than 20% of the quota
+         * left. Delivered like {@link #onRateLimitUpdate(Consumer)}.
+         *
+         * @param onRateLimitWarning the callback
+         * @return this builder
+         */
         public Builder onRateLimitWarning(Consumer<RateLimitInfo> onRateLimitWarning) {
             this.onRateLimitWarning = onRateLimitWarning;
             return this;
         }
 
+        /**
+         * Sets the scheduler on which asynchronous retries are re-armed and circuit breaker
+         * recovery checks run. When unset, a shared single-threaded daemon scheduler is
+         * used. The SDK never shuts down a scheduler supplied here.
+         *
+         * @param retryScheduler the scheduler for retry backoff timers
+         * @return this builder
+         */
+        public Builder retryScheduler(ScheduledExecutorService retryScheduler) {
+            this.retryScheduler = retryScheduler;
+            return this;
+        }
+
+        /**
+         * Runs the SDK's own work (HTTP response handling, retry continuations and bulk
+         * fan-out) on virtual threads. Requires Java 21 or newer; on older runtimes a
+         * warning is logged and platform threads are used. Synchronous sends, including
+         * their retry backoff, still run on the calling thread.
+         *
+         * @param useVirtualThreads whether to use virtual threads
+         * @return this builder
+         */
+        public Builder useVirtualThreads(boolean useVirtualThreads) {
+            this.useVirtualThreads = useVirtualThreads;
+            return this;
+        }
+
+        /**
+         * Sets how many chunks of an oversized bulk send may be in flight at once.
+         *
+         * @param bulkParallelism the maximum number of concurrent bulk chunk requests
+         * @return this builder
+         */
+        public Builder bulkParallelism(int bulkParallelism) {
+            if (bulkParallelism < 1) {
+                throw new IllegalArgumentException("bulkParallelism must be >= 1");
+            }
+            this.bulkParallelism = bulkParallelism;
+            return this;
+        }
+
+        /**
+         * Enables coalescing of single sends into bulk requests. Off by default; each
+         * coalesced send still completes with its own recipient's status.
+         *
+         * @param coalescingConfig the coalescing settings, or null to disable
+         * @return this builder
+         */
+        public Builder coalescingConfig(CoalescingConfig coalescingConfig) {
+            this.coalescingConfig = coalescingConfig;
+            return this;
+        }
+
+        /**
+         * Sets how many circuit breakers may be created. Each request path and provider
+         * combination gets its own breaker; combinations beyond this limit share one.
+         *
+         * @param maxCircuitBreakers the maximum number of keyed circuit breakers
+         * @return this builder
+         */
+        public Builder maxCircuitBreakers(int maxCircuitBreakers) {
+            if (maxCircuitBreakers < 1) {
+                throw new IllegalArgumentException("maxCircuitBreakers must be >= 1");
+            }
+            this.maxCircuitBreakers = maxCircuitBreakers;
+            return this;
+        }
+
+        /**
+         * Sets whether rejections are thrown without a stack trace. Applies to
+         * {@code CIRCUIT_OPEN}, {@code RATE_LIMIT_ERROR}, {@code CONCURRENCY_LIMIT_EXCEEDED}
+         * and {@code VALIDATION_ERROR} exceptions, which are cheap to create this way when
+         * thrown at high rates, for example while a circuit is open. Disabled by default.
+         *
+         * @param stacklessRejections whether to skip stack trace capture for rejections
+         * @return this builder
+         */
+        public Builder stacklessRejections(boolean stacklessRejections) {
+            this.stacklessRejections = stacklessRejections;
+            return this;
+        }
+
+        /**
+         * Enables the client-side rate limiter, which paces requests to stay within the
+         * quota reported by the API.
+         *
+         * @param rateLimiterConfig the rate limiter settings, or null to disable
+         * @return this builder
+         */
+        public Builder rateLimiterConfig(RateLimiterConfig rateLimiterConfig) {
+            this.rateLimiterConfig = rateLimiterConfig;
+            return this;
+        }
+
+        /**
+         * Enables the adaptive concurrency limit, which caps the number of requests in
+         * flight and tunes the cap to the latency the API is delivering.
+         *
+         * @param concurrencyLimitConfig the concurrency limit settings, or null to disable
+         * @return this builder
+         */
+        public Builder concurrencyLimitConfig(ConcurrencyLimitConfig concurrencyLimitConfig) {
+            this.concurrencyLimitConfig = concurrencyLimitConfig;
+            return this;
+        }
+
+        /**
+         * Sets how many characters of each template data value are scanned for PII.
+         * Longer values are scanned up to this length only. Defaults to 65,536.
+         *
+         * @param maxPiiScanLength the maximum number of characters scanned per value
+         * @return this builder
+         */
+        public Builder maxPiiScanLength(int maxPiiScanLength) {
+            if (maxPiiScanLength < 1) {
+                throw new IllegalArgumentException("maxPiiScanLength must be >= 1");
+            }
+            this.maxPiiScanLength = maxPiiScanLength;
+            return this;
+        }
+
+        /**
+         * Sets how many characters of an error response body are sanitized and kept in
+         * the exception. Longer bodies are truncated first, and the rest is dropped.
+         * Defaults to 65,536.
+         *
+         * @param maxSanitizedErrorLength the maximum number of error body characters kept
+         * @return this builder
+         */
+        public Builder maxSanitizedErrorLength(int maxSanitizedErrorLength) {
+            if (maxSanitizedErrorLength < 1) {
+                throw new IllegalArgumentException("maxSanitizedErrorLength must be >= 1");
+            }
+            this.maxSanitizedErrorLength = maxSanitizedErrorLength;
+            return this;
+        }
+
+        /**
+         * Sets when single sends have their template and recipient data checked for PII.
+         * Defaults to {@link PiiScanConfig.Mode#INLINE}.
+         *
+         * @param piiScanConfig the PII scan settings, or null for the default
+         * @return this builder
+         */
+        public Builder piiScanConfig(PiiScanConfig piiScanConfig) {
+            this.piiScanConfig = piiScanConfig;
+            return this;
+        }
+
         /**
          * Builds the configuration.
          *
@@ -28,6 +28,7 @@ public enum ErrorCode {
     // Rate limiting errors (4xxx)
     RATE_LIMIT_ERROR(4000, "Rate limit exceeded"),
     QUOTA_EXCEEDED(4001, "Quota exceeded"),
+    CONCURRENCY_LIMIT_EXCEEDED(4002, "Concurrency limit exceeded"),
 
     // Server errors (5xxx)
     SERVER_ERROR(5000, "Server error"),
@@ -3,7 +3,7 @@ package com.teracrafts.huefy.errors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -11,59 +11,54 @@ import java.util.regex.Pattern;
  *
  * <p>Detects and masks API keys, tokens, email addresses, and other PII
  * in error messages before they are logged or returned to callers.</p>
+ *
+ * <p>The text is redacted in one left-to-right pass into a single buffer. Only a few
+ * characters can start a match: the first letter of a key word, a character that can
+ * begin an email address, a digit, {@code +} or {@code (}. Every other position is
+ * skipped after one character test, and text with nothing to redact is returned without
+ * allocating. Where rules overlap, the leftmost match wins, and between matches at the
+ * same position the rule listed first:</p>
+ * <pre>
+ * API key               (?i)(api[_-]?key|apikey|x-api-key)["':\s=]+["']?([a-zA-Z0-9_\-]{20,})["']?
+ * Bearer token          (?i)(bearer\s+)([a-zA-Z0-9_\-\.]+)
+ * Authorization header  (?i)(authorization)["':\s=]+["']?([^"'\s,}{]+)["']?
+ * Email address         [a-zA-Z0-9._%+\-]+@[a-zA-Z0-9.\-]+\.[a-zA-Z]{2,}
+ * IP address            \b(?:\d{1,3}\.){3}\d{1,3}\b
+ * Credit card number    \b(?:\d{4}[\s\-]?){3}\d{4}\b
+ * SSN                   \b\d{3}-\d{2}-\d{4}\b
+ * Phone number          (?:\+?1[\s\-.]?)?\(?\d{3}\)?[\s\-.]?\d{3}[\s\-.]?\d{4}
+ * Secret field          (?i)(password|secret|token|credential)["':\s=]+["']?([^"'\s,}{]+)["']?
+ * </pre>
+ *
+ * <p>Rules with a key name keep it and mask only the value. They are matched with their
+ * patterns, anchored where the key word starts. The others are matched by hand with the
+ * same result as their patterns: the digit patterns never need to backtrack, and each
+ * run of email local-part characters is examined once however many positions it covers.</p>
  */
 public final class ErrorSanitizer {
 
     private static final Logger logger = LoggerFactory.getLogger(ErrorSanitizer.class);
     private static final String MASK = "***REDACTED***";
+    private static final int MAX_EMAIL_LENGTH = 254;
 
-    private static final List<SanitizationRule> RULES = List.of(
-            // API keys (various formats)
-            new SanitizationRule(
-                    Pattern.compile("(?i)(api[_-]?key|apikey|x-api-key)[\"':\\s=]+[\"']?([a-zA-Z0-9_\\-]{20,})[\"']?"),
-                    "API key"
-            ),
-            // Bearer tokens
-            new SanitizationRule(
-                    Pattern.compile("(?i)(bearer\\s+)([a-zA-Z0-9_\\-\\.]+)"),
-                    "Bearer token"
-            ),
-            // Authorization headers
-            new SanitizationRule(
-                    Pattern.compile("(?i)(authorization)[\"':\\s=]+[\"']?([^\"'\\s,}{]+)[\"']?"),
-                    "Authorization header"
-            ),
-            // Email addresses
-            new SanitizationRule(
-                    Pattern.compile("[a-zA-Z0-9._%+\\-]+@[a-zA-Z0-9.\\-]+\\.[a-zA-Z]{2,}"),
-                    "Email address"
-            ),
-            // IP addresses
-            new SanitizationRule(
-                    Pattern.compile("\\b(?:\\d{1,3}\\.){3}\\d{1,3}\\b"),
-                    "IP address"
-            ),
-            // Credit card numbers (basic pattern)
-            new SanitizationRule(
-                    Pattern.compile("\\b(?:\\d{4}[\\s\\-]?){3}\\d{4}\\b"),
-                    "Credit card number"
-            ),
-            // SSN pattern
-            new SanitizationRule(
-                    Pattern.compile("\\b\\d{3}-\\d{2}-\\d{4}\\b"),
-                    "SSN"
-            ),
-            // Phone numbers (various formats)
-            new SanitizationRule(
-                    Pattern.compile("(?:\\+?1[\\s\\-.]?)?\\(?\\d{3}\\)?[\\s\\-.]?\\d{3}[\\s\\-.]?\\d{4}"),
-                    "Phone number"
-            ),
-            // Secret/password fields in JSON
-            new SanitizationRule(
-                    Pattern.compile("(?i)(password|secret|token|credential)[\"':\\s=]+[\"']?([^\"'\\s,}{]+)[\"']?"),
-                    "Secret field"
-            )
-    );
+    private static final KeyedRule API_KEY = new KeyedRule(
+            "(?i)(?<key>api[_-]?key|apikey|x-api-key)[\"':\\s=]+[\"']?[a-zA-Z0-9_\\-]{20,}[\"']?",
+            "API key");
+    private static final KeyedRule BEARER_TOKEN = new KeyedRule(
+            "(?i)(?<key>bearer\\s+)[a-zA-Z0-9_\\-\\.]+",
+            "Bearer token");
+    private static final KeyedRule AUTHORIZATION = new KeyedRule(
+            "(?i)(?<key>authorization)[\"':\\s=]+[\"']?[^\"'\\s,}{]+[\"']?",
+            "Authorization header");
+    private static final KeyedRule SECRET_FIELD = new KeyedRule(
+            "(?i)(?<key>password|secret|token|credential)[\"':\\s=]+[\"']?[^\"'\\s,}{]+[\"']?",
+            "Secret field");
+
+    /** Character classes for ASCII; nothing else can start a match. */
+    private static final int LOCAL_PART = 1;
+    private static final int KEYWORD = 1 << 1;
+    private static final int PHONE = 1 << 2;
+    private static final byte[] CLASSES = classes();
 
     private ErrorSanitizer() {
         // Utility class
@@ -73,29 +68,144 @@ public final class ErrorSanitizer {
      * Sanitizes a string by replacing detected sensitive information with redaction markers.
      *
      * @param input the string to sanitize
-     * @return the sanitized string, or the original if null/empty
+     * @return the sanitized string, or the original instance if null/empty or nothing was redacted
      */
     public static String sanitize(String input) {
         if (input == null || input.isEmpty()) {
             return input;
         }
 
-        String result = input;
-        for (SanitizationRule rule : RULES) {
-            var matcher = rule.pattern().matcher(result);
-            if (matcher.find()) {
-                logger.debug("Sanitizing detected {}", rule.description());
-                result = matcher.replaceAll(matchResult -> {
-                    // For patterns with capture groups, preserve the key name and mask the value
-                    if (matchResult.groupCount() >= 2) {
-                        return matchResult.group(1) + " " + MASK;
+        int n = input.length();
+        StringBuilder result = null;
+        int last = 0;
+        // End of the local-part run around the current position, and of an email starting in it
+        int runEnd = 0;
+        int emailEnd = -1;
+
+        int i = 0;
+        while (i < n) {
+            char c = input.charAt(i);
+            int kind = c < CLASSES.length ? CLASSES[c] : 0;
+            // Skip positions that start nothing: inside a local-part run known not to lead
+            // to an email, only key words and digits can
+            if (kind == 0 || (kind == LOCAL_PART && i < runEnd && emailEnd < 0)) {
+                i++;
+                continue;
+            }
+            KeyedRule rule = null;
+            Matcher keyed = null;
+            int end = -1;
+            String detected = null;
+
+            switch (c | 0x20) {
+                case 'a' -> {
+                    if ((keyed = API_KEY.matchAt(input, i, "api")) != null) {
+                        rule = API_KEY;
+                    } else if ((keyed = AUTHORIZATION.matchAt(input, i, "authorization")) != null) {
+                        rule = AUTHORIZATION;
+                    }
+                }
+                case 'x' -> {
+                    if ((keyed = API_KEY.matchAt(input, i, "x-api-key")) != null) {
+                        rule = API_KEY;
                     }
-                    return MASK;
-                });
+                }
+                case 'b' -> {
+                    if ((keyed = BEARER_TOKEN.matchAt(input, i, "bearer")) != null) {
+                        rule = BEARER_TOKEN;
+                    }
+                }
+                default -> {
+                }
+            }
+
+            if (rule == null && (kind & LOCAL_PART) != 0) {
+                if (i >= runEnd) {
+                    runEnd = i + 1;
+                    while (runEnd < n && isLocalPart(input.charAt(runEnd))) {
+                        runEnd++;
+                    }
+                    emailEnd = runEnd < n && input.charAt(runEnd) == '@' ? emailDomainEnd(input, runEnd) : -1;
+                }
+                if (emailEnd >= 0) {
+                    end = emailEnd;
+                    detected = "Email address";
+                }
+            }
+            if (rule == null && end < 0 && isDigit(c) && boundaryBefore(input, i)) {
+                if ((end = ipAddressEnd(input, i)) >= 0) {
+                    detected = "IP address";
+                } else if ((end = creditCardEnd(input, i)) >= 0) {
+                    detected = "Credit card number";
+                } else if ((end = ssnEnd(input, i)) >= 0) {
+                    detected = "SSN";
+                }
+            }
+            if (rule == null && end < 0 && (kind & PHONE) != 0) {
+                if ((end = phoneEnd(input, i)) >= 0) {
+                    detected = "Phone number";
+                }
             }
+            if (rule == null && end < 0 && (kind & KEYWORD) != 0 && (keyed = secretFieldAt(input, i, c)) != null) {
+                rule = SECRET_FIELD;
+            }
+
+            if (rule != null) {
+                end = keyed.end();
+                detected = rule.description();
+            } else if (end < 0) {
+                i++;
+                continue;
+            }
+
+            logger.debug("Sanitizing detected {}", detected);
+            if (result == null) {
+                result = new StringBuilder(n);
+            }
+            result.append(input, last, i);
+            if (keyed != null) {
+                // Preserve the key name and mask the value
+                result.append(input, i, keyed.end("key")).append(' ');
+            }
+            result.append(MASK);
+            last = i = end;
         }
 
-        return result;
+        if (result == null) {
+            return input;
+        }
+        return result.append(input, last, n).toString();
+    }
+
+    /**
+     * Sanitizes at most the first {@code maxLength} characters of a string and drops the
+     * rest. Sanitizing takes time linear in the length kept, so the cap bounds it.
+     *
+     * <p>A truncated result ends with a note of how many characters were dropped. A cut
+     * inside a run of email address characters moves back to the start of the run, so
+     * half an address is not left unmasked.</p>
+     *
+     * @param input     the string to sanitize
+     * @param maxLength the maximum number of characters to keep
+     * @return the sanitized string, or the original instance if nothing was redacted or dropped
+     * @throws IllegalArgumentException if maxLength is less than 1
+     */
+    public static String sanitize(String input, int maxLength) {
+        if (maxLength < 1) {
+            throw new IllegalArgumentException("maxLength must be >= 1");
+        }
+        if (input == null || input.length() <= maxLength) {
+            return sanitize(input);
+        }
+        int cut = maxLength;
+        int limit = Math.max(0, cut - MAX_EMAIL_LENGTH);
+        while (cut > limit && isEmailPart(input.charAt(cut - 1)) && isEmailPart(input.charAt(cut))) {
+            cut--;
+        }
+        if (cut == limit && limit > 0) {
+            cut = maxLength;
+        }
+        return sanitize(input.substring(0, cut)) + "... [" + (input.length() - cut) + " characters truncated]";
     }
 
     /**
@@ -108,14 +218,224 @@ public final class ErrorSanitizer {
         if (input == null || input.isEmpty()) {
             return false;
         }
+        // sanitize returns the input itself when there is nothing to redact
+        return sanitize(input) != input;
+    }
+
+    private static byte[] classes() {
+        byte[] classes = new byte[128];
+        for (char c = 0; c < classes.length; c++) {
+            int kind = isLocalPart(c) ? LOCAL_PART : 0;
+            if ("abcpstxABCPSTX".indexOf(c) >= 0) {
+                kind |= KEYWORD;
+            }
+            if (isDigit(c) || c == '+' || c == '(') {
+                kind |= PHONE;
+            }
+            classes[c] = (byte) kind;
+        }
+        return classes;
+    }
+
+    private static Matcher secretFieldAt(String input, int i, char c) {
+        return switch (c | 0x20) {
+            case 'p' -> SECRET_FIELD.matchAt(input, i, "password");
+            case 's' -> SECRET_FIELD.matchAt(input, i, "secret");
+            case 't' -> SECRET_FIELD.matchAt(input, i, "token");
+            case 'c' -> SECRET_FIELD.matchAt(input, i, "credential");
+            default -> null;
+        };
+    }
+
+    /**
+     * End of {@code @[a-zA-Z0-9.\-]+\.[a-zA-Z]{2,}} after the {@code @} at {@code at}, or -1.
+     * As with the greedy pattern, the last dot in the domain that is followed by two letters
+     * starts the top-level domain.
+     */
+    private static int emailDomainEnd(String input, int at) {
+        int n = input.length();
+        int domainEnd = at + 1;
+        while (domainEnd < n && isDomain(input.charAt(domainEnd))) {
+            domainEnd++;
+        }
+        for (int dot = domainEnd - 3; dot > at + 1; dot--) {
+            if (input.charAt(dot) == '.' && isAsciiLetter(input.charAt(dot + 1))
+                    && isAsciiLetter(input.charAt(dot + 2))) {
+                int end = dot + 3;
+                while (end < n && isAsciiLetter(input.charAt(end))) {
+                    end++;
+                }
+                return end;
+            }
+        }
+        return -1;
+    }
+
+    /** End of {@code (?:\d{1,3}\.){3}\d{1,3}\b} at {@code start}, or -1. */
+    private static int ipAddressEnd(String input, int start) {
+        int i = start;
+        for (int octet = 0; octet < 3; octet++) {
+            i = octetEnd(input, i);
+            if (i < 0 || i >= input.length() || input.charAt(i) != '.') {
+                return -1;
+            }
+            i++;
+        }
+        i = octetEnd(input, i);
+        return i >= 0 && boundaryAfter(input, i) ? i : -1;
+    }
+
+    /** End of a whole run of one to three digits, or -1; a shorter octet would be followed by a digit. */
+    private static int octetEnd(String input, int start) {
+        int n = input.length();
+        int i = start;
+        while (i < n && i - start < 4 && isDigit(input.charAt(i))) {
+            i++;
+        }
+        int length = i - start;
+        return length >= 1 && length <= 3 ? i : -1;
+    }
+
+    /** End of {@code (?:\d{4}[\s\-]?){3}\d{4}\b} at {@code start}, or -1. */
+    private static int creditCardEnd(String input, int start) {
+        int i = start;
+        for (int group = 0; group < 3; group++) {
+            i = digitsEnd(input, i, 4);
+            if (i < 0) {
+                return -1;
+            }
+            i = optionalSeparator(input, i, false);
+        }
+        i = digitsEnd(input, i, 4);
+        return i >= 0 && boundaryAfter(input, i) ? i : -1;
+    }
+
+    /** End of {@code \d{3}-\d{2}-\d{4}\b} at {@code start}, or -1. */
+    private static int ssnEnd(String input, int start) {
+        int i = digitsEnd(input, start, 3);
+        if (i < 0 || i >= input.length() || input.charAt(i) != '-') {
+            return -1;
+        }
+        i = digitsEnd(input, i + 1, 2);
+        if (i < 0 || i >= input.length() || input.charAt(i) != '-') {
+            return -1;
+        }
+        i = digitsEnd(input, i + 1, 4);
+        return i >= 0 && boundaryAfter(input, i) ? i : -1;
+    }
+
+    /**
+     * End of a phone number with its optional {@code +1} prefix at {@code start}, or -1.
+     * The prefix is tried first, as the greedy pattern does.
+     */
+    private static int phoneEnd(String input, int start) {
+        int i = input.charAt(start) == '+' ? start + 1 : start;
+        if (i < input.length() && input.charAt(i) == '1') {
+            int end = phoneNumberEnd(input, optionalSeparator(input, i + 1, true));
+            if (end >= 0) {
+                return end;
+            }
+        }
+        return i == start ? phoneNumberEnd(input, start) : -1;
+    }
 
-        for (SanitizationRule rule : RULES) {
-            if (rule.pattern().matcher(input).find()) {
-                return true;
+    /** End of {@code \(?\d{3}\)?[\s\-.]?\d{3}[\s\-.]?\d{4}} at {@code start}, or -1. */
+    private static int phoneNumberEnd(String input, int start) {
+        int i = start < input.length() && input.charAt(start) == '(' ? start + 1 : start;
+        i = digitsEnd(input, i, 3);
+        if (i < 0) {
+            return -1;
+        }
+        if (i < input.length() && input.charAt(i) == ')') {
+            i++;
+        }
+        i = digitsEnd(input, optionalSeparator(input, i, true), 3);
+        if (i < 0) {
+            return -1;
+        }
+        return digitsEnd(input, optionalSeparator(input, i, true), 4);
+    }
+
+    /** End of exactly {@code count} digits at {@code start}, or -1. */
+    private static int digitsEnd(String input, int start, int count) {
+        if (start + count > input.length()) {
+            return -1;
+        }
+        for (int i = start; i < start + count; i++) {
+            if (!isDigit(input.charAt(i))) {
+                return -1;
             }
         }
-        return false;
+        return start + count;
+    }
+
+    /** Skips one {@code [\s\-]} character, or one {@code [\s\-.]} character when {@code dot} is set. */
+    private static int optionalSeparator(String input, int i, boolean dot) {
+        if (i >= input.length()) {
+            return i;
+        }
+        char c = input.charAt(i);
+        return isSpace(c) || c == '-' || (dot && c == '.') ? i + 1 : i;
     }
 
-    private record SanitizationRule(Pattern pattern, String description) {}
+    /** Word boundaries as {@link Pattern} defines them: a word character is a letter, digit or underscore. */
+    private static boolean boundaryBefore(String input, int i) {
+        return i == 0 || !isWord(input.codePointBefore(i));
+    }
+
+    private static boolean boundaryAfter(String input, int i) {
+        return i == input.length() || !isWord(input.codePointAt(i));
+    }
+
+    private static boolean isWord(int codePoint) {
+        return codePoint == '_' || Character.isLetterOrDigit(codePoint);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isLocalPart(char c) {
+        return isAsciiLetter(c) || isDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isEmailPart(char c) {
+        return isLocalPart(c) || c == '@';
+    }
+
+    private static boolean isDomain(char c) {
+        return isAsciiLetter(c) || isDigit(c) || c == '.' || c == '-';
+    }
+
+    /**
+     * A rule that keeps its key name, captured in the group {@code key}.
+     */
+    private record KeyedRule(Pattern pattern, String description) {
+
+        KeyedRule(String regex, String description) {
+            this(Pattern.compile(regex), description);
+        }
+
+        /**
+         * Matches the rule at {@code i} if the text there starts with {@code keyword},
+         * ignoring case. The keyword check keeps the matcher off the common path.
+         */
+        Matcher matchAt(String input, int i, String keyword) {
+            // Compare the second character first; it rules out most words cheaply
+            if (i + 1 >= input.length() || (input.charAt(i + 1) | 0x20) != (keyword.charAt(1) | 0x20)
+                    || !input.regionMatches(true, i, keyword, 0, keyword.length())) {
+                return null;
+            }
+            Matcher matcher = pattern.matcher(input).region(i, input.length());
+            return matcher.lookingAt() ? matcher : null;
+        }
+    }
 }
@@ -59,14 +59,59 @@ public class HuefyException extends RuntimeException {
     public HuefyException(String message, ErrorCode code, Integer statusCode,
                            boolean recoverable, Long retryAfter, String requestId,
                            Throwable cause) {
-        super(message, cause);
+        this(message, code, statusCode, recoverable, retryAfter, requestId, cause, true);
+    }
+
+    /**
+     * Creates a new SDK exception, optionally without a stack trace.
+     *
+     * @param message            the error message
+     * @param code               the error code
+     * @param statusCode         the HTTP status code (may be null)
+     * @param recoverable        whether the error is recoverable
+     * @param retryAfter         suggested retry delay in milliseconds (may be null)
+     * @param requestId          the request ID for tracing (may be null)
+     * @param cause              the underlying cause (may be null)
+     * @param writableStackTrace whether the stack trace is captured
+     */
+    protected HuefyException(String message, ErrorCode code, Integer statusCode,
+                             boolean recoverable, Long retryAfter, String requestId,
+                             Throwable cause, boolean writableStackTrace) {
+        super(message, cause, true, writableStackTrace);
         this.code = code;
         this.numericCode = code.getNumericCode();
         this.statusCode = statusCode;
         this.recoverable = recoverable;
         this.retryAfter = retryAfter;
         this.requestId = requestId;
-        this.timestamp = Instant.now().toEpochMilli();
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * Creates a rejection raised by the SDK itself before any request is sent, such as
+     * an open circuit or a failed validation.
+     *
+     * @param message     the error message
+     * @param code        the error code
+     * @param recoverable whether the error is recoverable
+     * @param retryAfter  suggested retry delay in milliseconds (may be null)
+     * @param stackless   whether to skip capturing the stack trace
+     * @return a new HuefyException
+     */
+    public static HuefyException rejection(String message, ErrorCode code, boolean recoverable,
+                                           Long retryAfter, boolean stackless) {
+        return new HuefyException(message, code, null, recoverable, retryAfter, null, null, !stackless);
+    }
+
+    /**
+     * Creates a validation error exception.
+     *
+     * @param message   the error message
+     * @param stackless whether to skip capturing the stack trace
+     * @return a new HuefyException
+     */
+    public static HuefyException validationError(String message, boolean stackless) {
+        return rejection(message, ErrorCode.VALIDATION_ERROR, false, null, stackless);
     }
 
     /**
@@ -129,6 +174,22 @@ public class HuefyException extends RuntimeException {
      */
     public static HuefyException fromResponse(int statusCode, String responseBody,
                                                String requestId, String retryAfterHeader) {
+        return fromResponse(statusCode, responseBody, requestId, retryAfterHeader, false);
+    }
+
+    /**
+     * Creates an exception from an HTTP response, skipping the stack trace for rate-limit
+     * rejections when requested.
+     *
+     * @param statusCode          the HTTP status code
+     * @param responseBody        the response body
+     * @param requestId           the request ID (may be null)
+     * @param retryAfterHeader    the value of the Retry-After HTTP header (may be null)
+     * @param stacklessRejections whether a 429 response is created without a stack trace
+     * @return a new HuefyException
+     */
+    public static HuefyException fromResponse(int statusCode, String responseBody, String requestId,
+                                               String retryAfterHeader, boolean stacklessRejections) {
         ErrorCode errorCode = ErrorCode.fromHttpStatus(statusCode);
         boolean recoverable = isRecoverableStatus(statusCode);
         Long retryAfter = null;
@@ -153,7 +214,8 @@ public class HuefyException extends RuntimeException {
                 recoverable,
                 retryAfter,
                 requestId,
-                null
+                null,
+                !(stacklessRejections && errorCode == ErrorCode.RATE_LIMIT_ERROR)
         );
     }
 
@@ -0,0 +1,99 @@
+package com.teracrafts.huefy.http;
+
+import com.teracrafts.huefy.errors.ErrorCode;
+import com.teracrafts.huefy.errors.HuefyException;
+
+/**
+ * The outcome of asking {@link HttpClient#admit(String, com.teracrafts.huefy.models.EmailProvider)}
+ * whether a request may be sent now. Admission is decided before any network I/O, and a
+ * rejection is reported as a value rather than thrown.
+ *
+ * <p>A granted admission may hold a half-open probe slot, so it must be passed to
+ * {@link HttpClient#request(Admission, String, byte[], ResponseDecoder)} or its async
+ * counterpart exactly once.</p>
+ */
+public final class Admission {
+
+    private final String path;
+    private final CircuitBreaker circuitBreaker;
+    private final ErrorCode code;
+    private final String message;
+    private final long retryAfter;
+
+    private Admission(String path, CircuitBreaker circuitBreaker, ErrorCode code, String message,
+                      long retryAfter) {
+        this.path = path;
+        this.circuitBreaker = circuitBreaker;
+        this.code = code;
+        this.message = message;
+        this.retryAfter = retryAfter;
+    }
+
+    static Admission granted(String path, CircuitBreaker circuitBreaker) {
+        return new Admission(path, circuitBreaker, null, null, 0);
+    }
+
+    static Admission rejected(ErrorCode code, String message, long retryAfter) {
+        return new Admission(null, null, code, message, retryAfter);
+    }
+
+    /**
+     * Returns whether the request may be sent. A granted admission may hold a half-open
+     * probe slot, so it must be used for exactly one request; dropping it leaves the slot
+     * taken.
+     *
+     * @return true if granted, false if rejected
+     */
+    public boolean isGranted() {
+        return code == null;
+    }
+
+    /**
+     * Returns why the request was rejected.
+     *
+     * @return the error code, or null if granted
+     */
+    public ErrorCode getCode() {
+        return code;
+    }
+
+    /**
+     * Returns a description of the rejection.
+     *
+     * @return the message, or null if granted
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the suggested delay before trying again.
+     *
+     * @return the delay in milliseconds, or null if granted
+     */
+    public Long getRetryAfter() {
+        return isGranted() ? null : retryAfter;
+    }
+
+    /**
+     * Converts a rejection into the exception the throwing request methods raise.
+     *
+     * @param stackless whether to skip capturing the stack trace
+     * @return the exception
+     * @throws IllegalStateException if the admission was granted
+     */
+    public HuefyException toException(boolean stackless) {
+        if (isGranted()) {
+            throw new IllegalStateException("Admission was granted");
+        }
+        return HuefyException.rejection(message, code, true, retryAfter, stackless);
+    }
+
+    String path() {
+        return path;
+    }
+
+    CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+}
@@ -8,7 +8,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -20,6 +26,25 @@ import java.util.concurrent.atomic.AtomicReference;
  *   <li><strong>OPEN</strong> - Failing, all requests are immediately rejected</li>
  *   <li><strong>HALF_OPEN</strong> - Testing recovery, one request allowed through</li>
  * </ul>
+ *
+ * <p>In {@link HuefyConfig.CircuitBreakerConfig.Mode#FAILURE_RATE FAILURE_RATE} mode the
+ * circuit opens on the failure rate over a sliding window of recent calls instead of on
+ * a run of consecutive failures. The window starts empty whenever the circuit opens or
+ * closes; half-open probes behave the same in both modes. With slow-call detection
+ * configured, calls at or above the slow-call duration also count toward a slow-call
+ * rate that opens the circuit, and a slow half-open probe reopens it.</p>
+ *
+ * <p>With {@link HuefyConfig.CircuitBreakerConfig#withHealthProbeRecovery() health-probe
+ * recovery} and a {@link HealthProbe}, real requests are never used as probes. Once the
+ * reset timeout expires the circuit goes HALF_OPEN in the background and calls the probe
+ * until {@code halfOpenRequests} probes in a row succeed, then closes; a failed probe
+ * reopens it for another reset timeout. Real requests are rejected until it closes.
+ * Recovery checks are timers on the given scheduler; {@link #close()} cancels them.</p>
+ *
+ * <p>The state, consecutive failure count, half-open probe count and time of the last
+ * failure are packed into a single {@link AtomicLong} and updated with compare-and-set,
+ * so no caller ever blocks. A success while already closed and healthy performs no
+ * write at all, which keeps the common path free of cache-line contention.</p>
  */
 public class CircuitBreaker {
 
@@ -34,13 +59,58 @@ public class CircuitBreaker {
         HALF_OPEN
     }
 
+    /**
+     * Background check used to decide whether an open circuit may close again.
+     */
+    @FunctionalInterface
+    public interface HealthProbe {
+
+        /**
+         * Starts one health check.
+         *
+         * @return a future completing with true if the service is healthy
+         */
+        CompletableFuture<Boolean> probe();
+    }
+
+    /** Returned by {@link #tryAcquire()} when the request may pass. */
+    public static final long PERMITTED = -1;
+
+    private static final State[] STATES = State.values();
+
+    // Word layout, low to high: state (2 bits), half-open probes (10), failures (14),
+    // last failure time in ms since creation (38, compared modulo 2^38, about 8.7 years)
+    private static final int ATTEMPTS_SHIFT = 2;
+    private static final int FAILURES_SHIFT = 12;
+    private static final int TIME_SHIFT = 26;
+    private static final long STATE_MASK = (1L << 2) - 1;
+    private static final long ATTEMPTS_MASK = (1L << 10) - 1;
+    private static final long FAILURES_MASK = (1L << 14) - 1;
+    private static final long TIME_MASK = (1L << 38) - 1;
+
+    /** Failure counts saturate here; larger thresholds are clamped to it. */
+    static final int MAX_FAILURES = (int) FAILURES_MASK;
+    /** Half-open probe limits above this are clamped to it. */
+    static final int MAX_HALF_OPEN_REQUESTS = (int) ATTEMPTS_MASK;
+
     private final int halfOpenMaxRequests;
     private final int failureThreshold;
     private final long resetTimeout;
-    private final AtomicReference<State> state;
-    private final AtomicInteger failureCount;
-    private final AtomicInteger halfOpenAttempts;
-    private volatile long lastFailureTime;
+    private final long epochMillis;
+    private final AtomicLong word;
+    private final boolean rateBased;
+    private final double failureRateThreshold;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final long slowCallDuration;
+    private final double slowCallRateThreshold;
+    private final AtomicReference<OutcomeWindow> window;
+    private final HealthProbe healthProbe;
+    private final AtomicInteger probeRun = new AtomicInteger();
+    private final boolean stacklessRejections;
+    private final ScheduledExecutorService scheduler;
+    private volatile ScheduledFuture<?> recovery;
+    private volatile boolean closed;
 
     /**
      * Creates a circuit breaker with the given configuration.
@@ -48,13 +118,61 @@ public class CircuitBreaker {
      * @param config the circuit breaker configuration
      */
     public CircuitBreaker(HuefyConfig.CircuitBreakerConfig config) {
-        this.failureThreshold = config.getFailureThreshold();
+        this(config, null);
+    }
+
+    /**
+     * Creates a circuit breaker that recovers through the given health probe when the
+     * configuration asks for health-probe recovery.
+     *
+     * @param config      the circuit breaker configuration
+     * @param healthProbe the probe to recover with, or null to probe with real requests
+     */
+    public CircuitBreaker(HuefyConfig.CircuitBreakerConfig config, HealthProbe healthProbe) {
+        this(config, healthProbe, false);
+    }
+
+    /**
+     * Creates a circuit breaker, optionally rejecting requests with exceptions that carry
+     * no stack trace. While the circuit is open every request is rejected, and capturing
+     * a stack for each one dominates the cost of the rejection.
+     *
+     * @param config              the circuit breaker configuration
+     * @param healthProbe         the probe to recover with, or null to probe with real requests
+     * @param stacklessRejections whether rejections skip stack trace capture
+     */
+    public CircuitBreaker(HuefyConfig.CircuitBreakerConfig config, HealthProbe healthProbe,
+                          boolean stacklessRejections) {
+        this(config, healthProbe, stacklessRejections, null);
+    }
+
+    /**
+     * Creates a circuit breaker whose health-probe recovery checks are scheduled on the
+     * given scheduler.
+     *
+     * @param config              the circuit breaker configuration
+     * @param healthProbe         the probe to recover with, or null to probe with real requests
+     * @param stacklessRejections whether rejections skip stack trace capture
+     * @param scheduler           the scheduler for recovery checks, or null to use the shared
+     *                            SDK scheduler
+     */
+    public CircuitBreaker(HuefyConfig.CircuitBreakerConfig config, HealthProbe healthProbe,
+                          boolean stacklessRejections, ScheduledExecutorService scheduler) {
+        this.failureThreshold = Math.min(config.getFailureThreshold(), MAX_FAILURES);
         this.resetTimeout = config.getResetTimeout();
-        this.halfOpenMaxRequests = config.getHalfOpenRequests();
-        this.state = new AtomicReference<>(State.CLOSED);
-        this.failureCount = new AtomicInteger(0);
-        this.halfOpenAttempts = new AtomicInteger(0);
-        this.lastFailureTime = 0;
+        this.halfOpenMaxRequests = Math.min(config.getHalfOpenRequests(), MAX_HALF_OPEN_REQUESTS);
+        this.epochMillis = System.currentTimeMillis();
+        this.word = new AtomicLong(pack(State.CLOSED, 0, 0, 0));
+        this.rateBased = config.getMode() == HuefyConfig.CircuitBreakerConfig.Mode.FAILURE_RATE;
+        this.failureRateThreshold = config.getFailureRateThreshold();
+        this.windowSize = config.getWindowSize();
+        this.minimumCalls = config.getMinimumCalls();
+        this.slowCallDuration = config.getSlowCallDuration();
+        this.slowCallRateThreshold = config.getSlowCallRateThreshold();
+        this.window = new AtomicReference<>(rateBased ? new OutcomeWindow(windowSize) : null);
+        this.healthProbe = config.isHealthProbeRecovery() ? healthProbe : null;
+        this.stacklessRejections = stacklessRejections;
+        this.scheduler = scheduler != null ? scheduler : SharedScheduler.INSTANCE;
     }
 
     /**
@@ -62,18 +180,8 @@ public class CircuitBreaker {
      *
      * @return the current state
      */
-    public synchronized State getState() {
-        State current = state.get();
-
-        // Check if we should transition from OPEN to HALF_OPEN
-        if (current == State.OPEN && isResetTimeoutExpired()) {
-            state.set(State.HALF_OPEN);
-            halfOpenAttempts.set(0);
-            logger.info("Circuit breaker transitioning from OPEN to HALF_OPEN");
-            return State.HALF_OPEN;
-        }
-
-        return current;
+    public State getState() {
+        return stateOf(currentWord());
     }
 
     /**
@@ -82,62 +190,172 @@ public class CircuitBreaker {
      *
      * @throws HuefyException if the circuit is open
      */
-    public synchronized void ensureClosed() {
-        State current = getState();
-        if (current == State.OPEN) {
-            throw new HuefyException(
-                    "Circuit breaker is open. Requests are blocked until " +
-                            Instant.ofEpochMilli(lastFailureTime + resetTimeout),
-                    ErrorCode.CIRCUIT_OPEN,
-                    null,
-                    true,
-                    resetTimeout - (System.currentTimeMillis() - lastFailureTime),
-                    null,
-                    null
-            );
-        }
-        if (current == State.HALF_OPEN) {
-            int attempts = halfOpenAttempts.incrementAndGet();
-            if (attempts > halfOpenMaxRequests) {
-                throw new HuefyException(
-                        "Circuit breaker is half-open. Only " + halfOpenMaxRequests +
-                                " probe request(s) allowed",
-                        ErrorCode.CIRCUIT_OPEN,
-                        null,
-                        true,
-                        resetTimeout / 2,
-                        null,
-                        null
-                );
+    public void ensureClosed() {
+        long retryAfter = tryAcquire();
+        if (retryAfter != PERMITTED) {
+            throw HuefyException.rejection(rejectionMessage(retryAfter), ErrorCode.CIRCUIT_OPEN, true,
+                    retryAfter, stacklessRejections);
+        }
+    }
+
+    /**
+     * Checks whether a request may pass, like {@link #ensureClosed()} but without throwing.
+     * A permitted request in HALF_OPEN takes one of the probe slots.
+     *
+     * @return {@link #PERMITTED} if the request may pass, otherwise the suggested delay in
+     *         milliseconds before trying again
+     */
+    public long tryAcquire() {
+        while (true) {
+            long current = currentWord();
+            switch (stateOf(current)) {
+                case CLOSED:
+                    return PERMITTED;
+                case OPEN:
+                    return resetTimeout - elapsedSinceFailure(current);
+                case HALF_OPEN:
+                default:
+                    int attempts = attemptsOf(current);
+                    if ((healthProbe != null && !closed) || attempts >= halfOpenMaxRequests) {
+                        return resetTimeout / 2;
+                    }
+                    if (word.compareAndSet(current, withAttempts(current, attempts + 1))) {
+                        return PERMITTED;
+                    }
             }
         }
     }
 
+    /**
+     * Describes why a request was just rejected. The state is read again, so under a
+     * concurrent transition the message may describe the newer state.
+     *
+     * @param retryAfter the delay returned by {@link #tryAcquire()}
+     * @return the rejection message
+     */
+    String rejectionMessage(long retryAfter) {
+        if (stateOf(word.get()) == State.OPEN) {
+            return "Circuit breaker is open. Requests are blocked until " +
+                    Instant.ofEpochMilli(System.currentTimeMillis() + retryAfter);
+        }
+        if (healthProbe != null && !closed) {
+            return "Circuit breaker is half-open. Requests are blocked until health probes succeed";
+        }
+        return "Circuit breaker is half-open. Only " + halfOpenMaxRequests + " probe request(s) allowed";
+    }
+
     /**
      * Records a successful request. Resets the circuit to CLOSED state.
      */
-    public synchronized void recordSuccess() {
-        State previous = state.getAndSet(State.CLOSED);
-        failureCount.set(0);
-        halfOpenAttempts.set(0);
-        if (previous != State.CLOSED) {
-            logger.info("Circuit breaker reset to CLOSED after successful request");
+    public void recordSuccess() {
+        recordSuccess(0);
+    }
+
+    /**
+     * Records a successful request and how long it took. Resets the circuit to CLOSED
+     * state, unless slow-call detection is on and the call was slow: then it counts
+     * toward the slow-call rate, and a slow half-open probe reopens the circuit.
+     *
+     * @param durationMillis the call duration in milliseconds
+     */
+    public void recordSuccess(long durationMillis) {
+        boolean slow = isSlow(durationMillis);
+        if (rateBased) {
+            OutcomeWindow current = window.get();
+            current.record(false, slow);
+            if (slow && current.calls() >= minimumCalls && current.slowCallRate() >= slowCallRateThreshold) {
+                openOnSlowCalls();
+                return;
+            }
+        }
+        while (true) {
+            long current = word.get();
+            State previous = stateOf(current);
+            if (slow && previous == State.HALF_OPEN) {
+                openOnSlowCalls();
+                return;
+            }
+            if (previous == State.CLOSED && failuresOf(current) == 0 && attemptsOf(current) == 0) {
+                return;
+            }
+            if (word.compareAndSet(current, pack(State.CLOSED, 0, 0, timeOf(current)))) {
+                if (previous != State.CLOSED) {
+                    clearWindow();
+                    logger.info("Circuit breaker reset to CLOSED after successful request");
+                }
+                return;
+            }
         }
     }
 
     /**
      * Records a failed request. May transition the circuit to OPEN state
-     * if the failure threshold is reached.
+     * if the failure threshold, or in failure-rate mode the failure rate, is reached.
      */
-    public synchronized void recordFailure() {
-        lastFailureTime = System.currentTimeMillis();
-        int failures = failureCount.incrementAndGet();
-        halfOpenAttempts.set(0);
+    public void recordFailure() {
+        recordFailure(0);
+    }
+
+    /**
+     * Records a failed request and how long it took. See {@link #recordFailure()}; with
+     * slow-call detection on, a slow failure also counts toward the slow-call rate.
+     *
+     * @param durationMillis the call duration in milliseconds
+     */
+    public void recordFailure(long durationMillis) {
+        long now = nowOffset();
+        boolean rateTripped = false;
+        if (rateBased) {
+            OutcomeWindow current = window.get();
+            current.record(true, isSlow(durationMillis));
+            rateTripped = current.calls() >= minimumCalls
+                    && (current.failureRate() >= failureRateThreshold
+                    || (slowCallDuration > 0 && current.slowCallRate() >= slowCallRateThreshold));
+        }
+        while (true) {
+            long current = word.get();
+            State previous = stateOf(current);
+            int failures = Math.min(failuresOf(current) + 1, MAX_FAILURES);
+            boolean trips = rateBased
+                    ? rateTripped || previous == State.HALF_OPEN
+                    : failures >= failureThreshold;
+            State next = trips ? State.OPEN : previous;
+            if (word.compareAndSet(current, pack(next, 0, failures, now))) {
+                if (next == State.OPEN && previous != State.OPEN) {
+                    clearWindow();
+                    if (rateBased) {
+                        logger.warn("Circuit breaker opened at a failure or slow-call rate threshold over the last {} calls",
+                                windowSize);
+                    } else {
+                        logger.warn("Circuit breaker opened after {} consecutive failures", failures);
+                    }
+                    scheduleRecovery(resetTimeout);
+                }
+                return;
+            }
+        }
+    }
 
-        if (failures >= failureThreshold) {
-            State previous = state.getAndSet(State.OPEN);
-            if (previous != State.OPEN) {
-                logger.warn("Circuit breaker opened after {} consecutive failures", failures);
+    private boolean isSlow(long durationMillis) {
+        return slowCallDuration > 0 && durationMillis >= slowCallDuration;
+    }
+
+    /**
+     * Opens the circuit because calls have become too slow, keeping the failure count.
+     */
+    private void openOnSlowCalls() {
+        long now = nowOffset();
+        while (true) {
+            long current = word.get();
+            if (stateOf(current) == State.OPEN) {
+                return;
+            }
+            if (word.compareAndSet(current, pack(State.OPEN, 0, failuresOf(current), now))) {
+                clearWindow();
+                logger.warn("Circuit breaker opened: at least {}% of the last {} calls took {} ms or longer",
+                        slowCallRateThreshold, windowSize, slowCallDuration);
+                scheduleRecovery(resetTimeout);
+                return;
             }
         }
     }
@@ -148,21 +366,189 @@ public class CircuitBreaker {
      * @return the number of consecutive failures
      */
     public int getFailureCount() {
-        return failureCount.get();
+        return failuresOf(word.get());
     }
 
     /**
      * Resets the circuit breaker to its initial CLOSED state.
      */
-    public synchronized void reset() {
-        state.set(State.CLOSED);
-        failureCount.set(0);
-        halfOpenAttempts.set(0);
-        lastFailureTime = 0;
+    public void reset() {
+        word.set(pack(State.CLOSED, 0, 0, 0));
+        clearWindow();
         logger.info("Circuit breaker manually reset");
     }
 
-    private synchronized boolean isResetTimeoutExpired() {
-        return System.currentTimeMillis() - lastFailureTime >= resetTimeout;
+    /**
+     * Stops health-probe recovery: a scheduled recovery check is cancelled and no further
+     * probes are started. Requests are still admitted and recorded as before, so an open
+     * circuit then recovers through half-open trial requests.
+     */
+    public void close() {
+        closed = true;
+        ScheduledFuture<?> pending = recovery;
+        if (pending != null) {
+            pending.cancel(false);
+        }
+    }
+
+    /**
+     * Returns the current word, first moving an OPEN circuit whose reset timeout has
+     * expired to HALF_OPEN. Only the thread that wins the transition logs it.
+     */
+    private long currentWord() {
+        while (true) {
+            long current = word.get();
+            if (stateOf(current) != State.OPEN || elapsedSinceFailure(current) < resetTimeout) {
+                return current;
+            }
+            long halfOpen = pack(State.HALF_OPEN, 0, failuresOf(current), timeOf(current));
+            if (word.compareAndSet(current, halfOpen)) {
+                logger.info("Circuit breaker transitioning from OPEN to HALF_OPEN");
+                if (healthProbe != null && !closed) {
+                    runProbe(probeRun.incrementAndGet(), 1);
+                }
+                return halfOpen;
+            }
+        }
+    }
+
+    /**
+     * In health-probe recovery, moves the circuit to HALF_OPEN after the given delay even
+     * if no request arrives. Failures recorded while open push the deadline back, in which
+     * case the check is rescheduled for the remaining time.
+     */
+    private void scheduleRecovery(long delayMillis) {
+        if (healthProbe == null || closed) {
+            return;
+        }
+        ScheduledFuture<?> scheduled;
+        try {
+            scheduled = scheduler.schedule(() -> {
+                long current = word.get();
+                if (stateOf(current) != State.OPEN) {
+                    return;
+                }
+                long remaining = resetTimeout - elapsedSinceFailure(current);
+                if (remaining > 0) {
+                    scheduleRecovery(remaining);
+                } else {
+                    currentWord();
+                }
+            }, Math.max(delayMillis, 1), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Circuit breaker recovery check rejected: {}", e.getMessage());
+            return;
+        }
+        recovery = scheduled;
+        if (closed) {
+            scheduled.cancel(false);
+        }
+    }
+
+    /**
+     * Runs one health probe of a recovery run. A new run starts on every OPEN to
+     * HALF_OPEN transition; outcomes from a superseded run, or arriving after the circuit
+     * left HALF_OPEN, are ignored.
+     *
+     * @param run       the recovery run the probe belongs to
+     * @param succeeded the number of this probe within the run, counting from 1
+     */
+    private void runProbe(int run, int succeeded) {
+        if (closed) {
+            return;
+        }
+        CompletableFuture<Boolean> result;
+        try {
+            result = healthProbe.probe();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((healthy, error) -> {
+            if (probeRun.get() != run || stateOf(word.get()) != State.HALF_OPEN) {
+                return;
+            }
+            if (error != null || !Boolean.TRUE.equals(healthy)) {
+                reopenAfterProbe();
+            } else if (succeeded >= halfOpenMaxRequests) {
+                closeAfterProbes();
+            } else {
+                runProbe(run, succeeded + 1);
+            }
+        });
+    }
+
+    private void closeAfterProbes() {
+        while (true) {
+            long current = word.get();
+            if (stateOf(current) != State.HALF_OPEN) {
+                return;
+            }
+            if (word.compareAndSet(current, pack(State.CLOSED, 0, 0, timeOf(current)))) {
+                clearWindow();
+                logger.info("Circuit breaker reset to CLOSED after {} successful health probe(s)",
+                        halfOpenMaxRequests);
+                return;
+            }
+        }
+    }
+
+    private void reopenAfterProbe() {
+        long now = nowOffset();
+        while (true) {
+            long current = word.get();
+            if (stateOf(current) != State.HALF_OPEN) {
+                return;
+            }
+            if (word.compareAndSet(current, pack(State.OPEN, 0, failuresOf(current), now))) {
+                clearWindow();
+                logger.warn("Circuit breaker health probe failed, reopening for {} ms", resetTimeout);
+                scheduleRecovery(resetTimeout);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Starts a fresh window, so outcomes from before a transition never count after it.
+     */
+    private void clearWindow() {
+        if (rateBased) {
+            window.set(new OutcomeWindow(windowSize));
+        }
+    }
+
+    private long nowOffset() {
+        return (System.currentTimeMillis() - epochMillis) & TIME_MASK;
+    }
+
+    private long elapsedSinceFailure(long current) {
+        return (nowOffset() - timeOf(current)) & TIME_MASK;
+    }
+
+    private static long pack(State state, int attempts, int failures, long time) {
+        return state.ordinal()
+                | ((long) attempts << ATTEMPTS_SHIFT)
+                | ((long) failures << FAILURES_SHIFT)
+                | (time << TIME_SHIFT);
+    }
+
+    private static long withAttempts(long current, int attempts) {
+        return (current & ~(ATTEMPTS_MASK << ATTEMPTS_SHIFT)) | ((long) attempts << ATTEMPTS_SHIFT);
+    }
+
+    private static State stateOf(long current) {
+        return STATES[(int) (current & STATE_MASK)];
+    }
+
+    private static int attemptsOf(long current) {
+        return (int) ((current >>> ATTEMPTS_SHIFT) & ATTEMPTS_MASK);
+    }
+
+    private static int failuresOf(long current) {
+        return (int) ((current >>> FAILURES_SHIFT) & FAILURES_MASK);
+    }
+
+    private static long timeOf(long current) {
+        return (current >>> TIME_SHIFT) & TIME_MASK;
     }
 }
@@ -0,0 +1,147 @@
+package com.teracrafts.huefy.http;
+
+import com.teracrafts.huefy.config.HuefyConfig;
+import com.teracrafts.huefy.models.EmailProvider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Circuit breakers keyed by request path and provider.
+ *
+ * <p>Each key gets its own breaker, created on first use with the shared configuration,
+ * so an outage on one endpoint or at one provider only sheds that traffic. The number of
+ * keyed breakers is bounded; once the limit is reached, further keys share a single
+ * overflow breaker instead of growing the registry.</p>
+ *
+ * <p>The health probe only tells whether the API is up, not whether a provider behind it
+ * has recovered. Breakers keyed by a provider, and the overflow breaker, which may stand
+ * for any provider, therefore never use it: they recover through half-open trial
+ * requests like breakers without health-probe recovery.</p>
+ */
+public final class CircuitBreakerRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreakerRegistry.class);
+
+    private final HuefyConfig.CircuitBreakerConfig config;
+    private final int maxBreakers;
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private final CircuitBreaker.HealthProbe healthProbe;
+    private final boolean stacklessRejections;
+    private final ScheduledExecutorService scheduler;
+    private final CircuitBreaker overflow;
+    private volatile boolean closed;
+
+    /**
+     * Creates a registry.
+     *
+     * @param config      the configuration every breaker is created with
+     * @param maxBreakers the maximum number of keyed breakers
+     */
+    public CircuitBreakerRegistry(HuefyConfig.CircuitBreakerConfig config, int maxBreakers) {
+        this(config, maxBreakers, null, false);
+    }
+
+    /**
+     * Creates a registry whose breakers recover through a health probe when the
+     * configuration asks for health-probe recovery.
+     *
+     * @param config              the configuration every breaker is created with
+     * @param maxBreakers         the maximum number of keyed breakers
+     * @param healthProbe         the probe shared by the breakers without a provider, or null
+     *                            for none
+     * @param stacklessRejections whether breakers reject without capturing a stack trace
+     */
+    public CircuitBreakerRegistry(HuefyConfig.CircuitBreakerConfig config, int maxBreakers,
+                                  CircuitBreaker.HealthProbe healthProbe, boolean stacklessRejections) {
+        this(config, maxBreakers, healthProbe, stacklessRejections, null);
+    }
+
+    /**
+     * Creates a registry whose breakers schedule their recovery checks on the given
+     * scheduler.
+     *
+     * @param config              the configuration every breaker is created with
+     * @param maxBreakers         the maximum number of keyed breakers
+     * @param healthProbe         the probe shared by the breakers without a provider, or null
+     *                            for none
+     * @param stacklessRejections whether breakers reject without capturing a stack trace
+     * @param scheduler           the scheduler for recovery checks, or null to use the shared
+     *                            SDK scheduler
+     */
+    public CircuitBreakerRegistry(HuefyConfig.CircuitBreakerConfig config, int maxBreakers,
+                                  CircuitBreaker.HealthProbe healthProbe, boolean stacklessRejections,
+                                  ScheduledExecutorService scheduler) {
+        if (maxBreakers < 1) {
+            throw new IllegalArgumentException("maxBreakers must be >= 1");
+        }
+        this.config = config;
+        this.maxBreakers = maxBreakers;
+        this.healthProbe = healthProbe;
+        this.stacklessRejections = stacklessRejections;
+        this.scheduler = scheduler;
+        this.overflow = new CircuitBreaker(config, null, stacklessRejections, scheduler);
+    }
+
+    /**
+     * Returns the breaker for a request path and provider, creating it on first use.
+     *
+     * @param path     the request path; any query string is ignored
+     * @param provider the provider the request is routed to, or null for none
+     * @return the breaker for the key, or the overflow breaker once the limit is reached
+     */
+    public CircuitBreaker get(String path, EmailProvider provider) {
+        String key = key(path, provider);
+        CircuitBreaker breaker = breakers.get(key);
+        if (breaker != null) {
+            return breaker;
+        }
+        breaker = breakers.computeIfAbsent(key, k -> {
+            if (created.incrementAndGet() > maxBreakers) {
+                created.decrementAndGet();
+                return null;
+            }
+            return new CircuitBreaker(config, provider == null ? healthProbe : null, stacklessRejections,
+                    scheduler);
+        });
+        if (breaker == null) {
+            logger.debug("Circuit breaker limit of {} reached, sharing the overflow breaker for {}", maxBreakers, key);
+            return overflow;
+        }
+        if (closed) {
+            breaker.close();
+        }
+        return breaker;
+    }
+
+    /**
+     * Stops background recovery on every breaker, including ones created later; see
+     * {@link CircuitBreaker#close()}.
+     */
+    public void close() {
+        closed = true;
+        breakers.values().forEach(CircuitBreaker::close);
+        overflow.close();
+    }
+
+    /**
+     * Returns the number of keyed breakers created so far, excluding the overflow breaker.
+     *
+     * @return the breaker count
+     */
+    public int size() {
+        return breakers.size();
+    }
+
+    private static String key(String path, EmailProvider provider) {
+        int query = path.indexOf('?');
+        String route = query >= 0 ? path.substring(0, query) : path;
+        return provider != null ? route + "#" + provider.getValue() : route;
+    }
+}
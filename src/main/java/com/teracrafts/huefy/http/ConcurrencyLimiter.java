@@ -0,0 +1,260 @@
+package com.teracrafts.huefy.http;
+
+import com.teracrafts.huefy.config.ConcurrencyLimitInfo;
+import com.teracrafts.huefy.config.HuefyConfig;
+import com.teracrafts.huefy.errors.ErrorCode;
+import com.teracrafts.huefy.errors.HuefyException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Adaptive cap on the number of request attempts in flight.
+ *
+ * <p>The cap follows additive-increase/multiplicative-decrease. Each successful attempt
+ * raises it by {@code 1/limit}, about one per full round of requests, but only while at
+ * least half the current cap is in use, so an idle client does not inflate it. A timeout,
+ * a 429 or 503 response, or a success slower than the latency tolerance times the
+ * baseline is a drop and multiplies the cap by the backoff ratio. Attempts that started
+ * before the last cut cannot cut again, so one burst of timeouts costs one backoff step
+ * rather than one per attempt. Other failures release their slot without moving the cap.</p>
+ *
+ * <p>The baseline is the lowest latency seen, drifting slowly upwards towards slower
+ * samples so that a lasting change in the API's latency becomes the new normal.</p>
+ *
+ * <p>Attempts over the cap wait in FIFO order. Slots are handed to waiters outside the
+ * lock, so their continuations never run while it is held.</p>
+ */
+final class ConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimiter.class);
+
+    /** Weight of each sample slower than the baseline when the baseline drifts towards it. */
+    private static final double BASELINE_DRIFT = 0.05;
+
+    /** Lowest baseline used for the latency check, so sub-millisecond noise is not a drop. */
+    private static final double MIN_BASELINE_MILLIS = 1.0;
+
+    private static final CompletableFuture<Void> GRANTED = CompletableFuture.completedFuture(null);
+
+    private final HuefyConfig.ConcurrencyLimitConfig config;
+    private final boolean stacklessRejections;
+    private final Executor executor;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private double baselineMillis;
+    private long lastDropNanos;
+    private boolean dropped;
+
+    /**
+     * Creates a limiter.
+     *
+     * @param config              the concurrency limit settings
+     * @param stacklessRejections whether rejections skip stack trace capture
+     * @param executor            the executor async wait timeouts fire on, or null for the default
+     */
+    ConcurrencyLimiter(HuefyConfig.ConcurrencyLimitConfig config, boolean stacklessRejections, Executor executor) {
+        this.config = config;
+        this.stacklessRejections = stacklessRejections;
+        this.executor = executor;
+        this.limit = config.getInitialLimit();
+    }
+
+    /**
+     * Blocks until the calling attempt holds a slot.
+     *
+     * @throws HuefyException if the queue is full, or no slot frees up within the maximum wait
+     */
+    void acquire() {
+        CompletableFuture<Void> slot = enqueue();
+        try {
+            slot.get(config.getMaxWait(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw (HuefyException) e.getCause();
+        } catch (TimeoutException e) {
+            settle(slot);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            settle(slot);
+        }
+    }
+
+    /**
+     * Completes when the calling attempt holds a slot, without blocking a thread.
+     *
+     * @return a future that completes normally once a slot is held, or exceptionally with a
+     *         {@link HuefyException} if the queue is full or the maximum wait passes
+     */
+    CompletableFuture<Void> acquireAsync() {
+        CompletableFuture<Void> slot = enqueue();
+        if (!slot.isDone()) {
+            Executor delayed = executor != null
+                    ? CompletableFuture.delayedExecutor(config.getMaxWait(), TimeUnit.MILLISECONDS, executor)
+                    : CompletableFuture.delayedExecutor(config.getMaxWait(), TimeUnit.MILLISECONDS);
+            delayed.execute(() -> abandon(slot));
+        }
+        return slot;
+    }
+
+    /**
+     * Releases a slot, feeding the attempt's outcome into the limit.
+     *
+     * @param startNanos the {@link System#nanoTime()} at which the attempt started
+     * @param failure    the attempt's failure, or null if it succeeded
+     */
+    void release(long startNanos, Throwable failure) {
+        release(startNanos, System.nanoTime(), failure);
+    }
+
+    void release(long startNanos, long endNanos, Throwable failure) {
+        synchronized (lock) {
+            sample(startNanos, endNanos, failure);
+            inFlight--;
+        }
+        grantWaiters();
+    }
+
+    /**
+     * Returns a snapshot of the limit for monitoring.
+     *
+     * @return the current limit, in-flight count and queue length
+     */
+    ConcurrencyLimitInfo info() {
+        synchronized (lock) {
+            return new ConcurrencyLimitInfo((int) limit, inFlight, waiters.size());
+        }
+    }
+
+    /**
+     * Takes a free slot, or joins the queue. Returns a completed future when a slot was
+     * taken, a failed one when the queue is full, and a pending one otherwise.
+     */
+    private CompletableFuture<Void> enqueue() {
+        synchronized (lock) {
+            if (waiters.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                return GRANTED;
+            }
+            if (waiters.size() < config.getMaxQueued()) {
+                CompletableFuture<Void> slot = new CompletableFuture<>();
+                waiters.add(slot);
+                return slot;
+            }
+            return CompletableFuture.failedFuture(rejection((int) limit));
+        }
+    }
+
+    /**
+     * Gives up waiting for a slot. Has no effect if a slot was handed over first.
+     */
+    private void abandon(CompletableFuture<Void> slot) {
+        int current;
+        synchronized (lock) {
+            waiters.remove(slot);
+            current = (int) limit;
+        }
+        slot.completeExceptionally(rejection(current));
+    }
+
+    /**
+     * Gives up on a slot the caller stopped waiting for, unless it was handed over in the
+     * meantime, in which case the caller keeps it.
+     */
+    private void settle(CompletableFuture<Void> slot) {
+        abandon(slot);
+        try {
+            slot.join();
+        } catch (CompletionException e) {
+            throw (HuefyException) e.getCause();
+        }
+    }
+
+    private void grantWaiters() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (lock) {
+                if (inFlight >= (int) limit || (next = waiters.poll()) == null) {
+                    return;
+                }
+                inFlight++;
+            }
+            if (!next.complete(null)) {
+                // The waiter gave up concurrently; the slot goes to the next one
+                synchronized (lock) {
+                    inFlight--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adjusts the limit for one finished attempt. Called with the lock held, before the
+     * attempt's slot is released.
+     */
+    private void sample(long startNanos, long endNanos, Throwable failure) {
+        boolean drop;
+        if (failure == null) {
+            double latencyMillis = (endNanos - startNanos) / 1_000_000.0;
+            drop = baselineMillis > 0
+                    && latencyMillis > Math.max(baselineMillis, MIN_BASELINE_MILLIS) * config.getLatencyTolerance();
+            if (baselineMillis == 0 || latencyMillis < baselineMillis) {
+                baselineMillis = latencyMillis;
+            } else {
+                baselineMillis += (latencyMillis - baselineMillis) * BASELINE_DRIFT;
+            }
+        } else if (isDrop(failure)) {
+            drop = true;
+        } else {
+            return;
+        }
+
+        if (drop) {
+            if (dropped && startNanos - lastDropNanos < 0) {
+                return;
+            }
+            double previous = limit;
+            limit = Math.max(config.getMinLimit(), limit * config.getBackoffRatio());
+            lastDropNanos = endNanos;
+            dropped = true;
+            logger.debug("Concurrency limit cut from {} to {}", (int) previous, (int) limit);
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(config.getMaxLimit(), limit + 1 / limit);
+        }
+    }
+
+    /**
+     * Whether a failure signals overload: a timeout, or a 429 or 503 response.
+     */
+    private static boolean isDrop(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        if (!(cause instanceof HuefyException e)) {
+            return false;
+        }
+        Integer status = e.getStatusCode();
+        return e.getCode() == ErrorCode.TIMEOUT_ERROR
+                || (status != null && (status == 429 || status == 503));
+    }
+
+    private HuefyException rejection(int current) {
+        return HuefyException.rejection(
+                "Concurrency limit of " + current + " in-flight requests reached",
+                ErrorCode.CONCURRENCY_LIMIT_EXCEEDED,
+                true,
+                null,
+                stacklessRejections
+        );
+    }
+}
@@ -4,37 +4,60 @@ import com.teracrafts.huefy.config.HuefyConfig;
 import com.teracrafts.huefy.errors.ErrorCode;
 import com.teracrafts.huefy.errors.ErrorSanitizer;
 import com.teracrafts.huefy.errors.HuefyException;
+import com.teracrafts.huefy.models.EmailProvider;
 import com.teracrafts.huefy.security.Security;
 import com.teracrafts.huefy.utils.Version;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.teracrafts.huefy.config.ConcurrencyLimitInfo;
 import com.teracrafts.huefy.config.RateLimitInfo;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 /**
  * HTTP client for the Huefy SDK.
  *
- * <p>Handles request execution with retry logic, circuit breaking,
- * key rotation on 401 responses, and optional HMAC request signing.</p>
+ * <p>Handles request execution with retry logic, circuit breaking per request path and
+ * provider, key rotation on 401 responses, optional HMAC request signing, and an optional
+ * adaptive limit on the number of attempts in flight.</p>
  */
 public class HttpClient {
 
     private static final Logger logger = LoggerFactory.getLogger(HttpClient.class);
     private static final String USER_AGENT = "huefy-java/" + Version.SDK_VERSION;
+    private static final String HEALTH_PATH = "/health";
 
     private final HuefyConfig config;
     private final java.net.http.HttpClient httpClient;
+    private final ExecutorService executor;
     private final RetryHandler retryHandler;
-    private final CircuitBreaker circuitBreaker;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final RateLimiter rateLimiter;
+    private final PauseGate pauseGate;
+    private final AtomicReference<RateLimitInfo> rateLimitInfo = new AtomicReference<>();
+    private final RateLimitNotifier rateLimitNotifier;
+    private final ConcurrencyLimiter concurrencyLimiter;
     private volatile String currentApiKey;
     private final AtomicBoolean rotatedToSecondary = new AtomicBoolean(false);
     private final Object rotationLock = new Object();
@@ -47,12 +70,27 @@ public class HttpClient {
     public HttpClient(HuefyConfig config) {
         this.config = Objects.requireNonNull(config, "Config must not be null");
         this.currentApiKey = config.getApiKey();
-        this.httpClient = java.net.http.HttpClient.newBuilder()
+        this.executor = config.isUseVirtualThreads() ? VirtualThreads.newExecutor() : null;
+
+        java.net.http.HttpClient.Builder builder = java.net.http.HttpClient.newBuilder()
                 .connectTimeout(Duration.ofMillis(config.getTimeout()))
-                .followRedirects(java.net.http.HttpClient.Redirect.NORMAL)
-                .build();
-        this.retryHandler = new RetryHandler(config.getRetryConfig());
-        this.circuitBreaker = new CircuitBreaker(config.getCircuitBreakerConfig());
+                .followRedirects(java.net.http.HttpClient.Redirect.NORMAL);
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        this.httpClient = builder.build();
+        this.retryHandler = new RetryHandler(config.getRetryConfig(), config.getRetryScheduler(), executor);
+        this.circuitBreakers = new CircuitBreakerRegistry(
+                config.getCircuitBreakerConfig(), config.getMaxCircuitBreakers(), this::probeHealth,
+                config.isStacklessRejections(), config.getRetryScheduler());
+        this.rateLimiter = config.getRateLimiterConfig() != null ? new RateLimiter() : null;
+        this.pauseGate = new PauseGate(config.getTimeout(), config.isStacklessRejections(), executor);
+        this.rateLimitNotifier = config.getOnRateLimitUpdate() != null || config.getOnRateLimitWarning() != null
+                ? new RateLimitNotifier(config.getOnRateLimitUpdate(), config.getOnRateLimitWarning(), executor)
+                : null;
+        this.concurrencyLimiter = config.getConcurrencyLimitConfig() != null
+                ? new ConcurrencyLimiter(config.getConcurrencyLimitConfig(), config.isStacklessRejections(), executor)
+                : null;
     }
 
     /**
@@ -65,103 +103,411 @@ public class HttpClient {
      * @throws HuefyException if the request fails after all retries
      */
     public String request(String method, String path, String body) {
-        circuitBreaker.ensureClosed();
+        return request(method, path, encode(body));
+    }
 
-        return retryHandler.execute(() -> {
+    /**
+     * Sends an HTTP request with a pre-encoded UTF-8 body, with retry and circuit breaker
+     * support. The same bytes are signed and sent on every attempt without re-encoding.
+     *
+     * @param method the HTTP method (GET, POST, PUT, DELETE)
+     * @param path   the request path (appended to base URL)
+     * @param body   the UTF-8 request body (may be null for GET/DELETE)
+     * @return the response body as a string
+     * @throws HuefyException if the request fails after all retries
+     */
+    public String request(String method, String path, byte[] body) {
+        return request(method, path, body, ResponseDecoder.ofString());
+    }
+
+    /**
+     * Sends an HTTP request with a pre-encoded UTF-8 body and decodes a successful
+     * response straight from the body stream, so the response is never buffered as a
+     * string. Decoding happens once, after the retry loop, and is never retried.
+     *
+     * @param method  the HTTP method (GET, POST, PUT, DELETE)
+     * @param path    the request path (appended to base URL)
+     * @param body    the UTF-8 request body (may be null for GET/DELETE)
+     * @param decoder the decoder for a 2xx response body
+     * @param <T>     the decoded type
+     * @return the decoded response
+     * @throws HuefyException if the request fails after all retries or cannot be decoded
+     */
+    public <T> T request(String method, String path, byte[] body, ResponseDecoder<T> decoder) {
+        return request(method, path, body, decoder, null);
+    }
+
+    /**
+     * Sends an HTTP request routed to a provider. See
+     * {@link #request(String, String, byte[], ResponseDecoder)}; the request is guarded by
+     * the circuit breaker for its path and provider, so failures at one provider do not
+     * block traffic to another.
+     *
+     * @param method   the HTTP method (GET, POST, PUT, DELETE)
+     * @param path     the request path (appended to base URL)
+     * @param body     the UTF-8 request body (may be null for GET/DELETE)
+     * @param decoder  the decoder for a 2xx response body
+     * @param provider the provider the request is routed to, or null for the default
+     * @param <T>      the decoded type
+     * @return the decoded response
+     * @throws HuefyException if the request fails after all retries or cannot be decoded
+     */
+    public <T> T request(String method, String path, byte[] body, ResponseDecoder<T> decoder,
+                         EmailProvider provider) {
+        return request(admit(path, provider), method, body, decoder);
+    }
+
+    /**
+     * Checks, before any network I/O, whether a request to a path and provider may be sent
+     * now. Rejections are returned rather than thrown, so callers that treat them as an
+     * expected outcome pay no exception cost.
+     *
+     * <p>When the client-side rate limiter is set to wait, this blocks until the quota
+     * window resets, for at most the configured maximum wait.</p>
+     *
+     * @param path     the request path
+     * @param provider the provider the request is routed to, or null for the default
+     * @return the admission, to be passed to one {@code request} or {@code requestAsync} call
+     */
+    public Admission admit(String path, EmailProvider provider) {
+        Admission admission = tryAdmit(path, provider);
+        if (!waitsFor(admission)) {
+            return admission;
+        }
+        long deadline = System.currentTimeMillis() + config.getRateLimiterConfig().getMaxWait();
+        while (waitsFor(admission) && System.currentTimeMillis() + admission.getRetryAfter() <= deadline) {
             try {
-                HttpResponse<String> response = executeRequest(method, path, body);
-                int statusCode = response.statusCode();
-
-                if (statusCode >= 200 && statusCode < 300) {
-                    circuitBreaker.recordSuccess();
-                    parseRateLimitHeaders(response);
-                    return response.body();
-                }
-
-                // Handle 401 with key rotation — only one thread performs the rotation
-                if (statusCode == 401 && !rotatedToSecondary.get() && config.getSecondaryApiKey() != null) {
-                    synchronized (rotationLock) {
-                        if (!rotatedToSecondary.get()) {
-                            logger.warn("Primary API key rejected, rotating to secondary key");
-                            currentApiKey = config.getSecondaryApiKey();
-                            rotatedToSecondary.set(true);
-                        }
-                    }
-
-                    // Retry with secondary key
-                    HttpResponse<String> retryResponse = executeRequest(method, path, body);
-                    if (retryResponse.statusCode() >= 200 && retryResponse.statusCode() < 300) {
-                        circuitBreaker.recordSuccess();
-                        parseRateLimitHeaders(retryResponse);
-                        return retryResponse.body();
-                    }
-                    statusCode = retryResponse.statusCode();
-                    response = retryResponse;
-                }
-
-                circuitBreaker.recordFailure();
-
-                String responseBody = response.body();
-                String requestId = response.headers()
-                        .firstValue("X-Request-Id")
-                        .orElse(null);
-                String retryAfterHeader = response.headers()
-                        .firstValue("Retry-After")
-                        .orElse(null);
-
-                if (config.isEnableErrorSanitization() && responseBody != null) {
-                    responseBody = ErrorSanitizer.sanitize(responseBody);
-                }
-
-                throw HuefyException.fromResponse(statusCode, responseBody, requestId, retryAfterHeader);
-
-            } catch (HuefyException e) {
+                Thread.sleep(admission.getRetryAfter());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return admission;
+            }
+            admission = tryAdmit(path, provider);
+        }
+        return admission;
+    }
+
+    /**
+     * Checks whether a request may be sent like {@link #admit(String, EmailProvider)}, but
+     * waits for the rate limiter without blocking a thread.
+     *
+     * @param path     the request path
+     * @param provider the provider the request is routed to, or null for the default
+     * @return a future completing with the admission; it never completes exceptionally
+     */
+    public CompletableFuture<Admission> admitAsync(String path, EmailProvider provider) {
+        Admission admission = tryAdmit(path, provider);
+        if (!waitsFor(admission)) {
+            return CompletableFuture.completedFuture(admission);
+        }
+        return awaitAdmission(admission, path, provider,
+                System.currentTimeMillis() + config.getRateLimiterConfig().getMaxWait());
+    }
+
+    private CompletableFuture<Admission> awaitAdmission(Admission admission, String path, EmailProvider provider,
+                                                        long deadline) {
+        if (!waitsFor(admission) || System.currentTimeMillis() + admission.getRetryAfter() > deadline) {
+            return CompletableFuture.completedFuture(admission);
+        }
+        Executor delayed = executor != null
+                ? CompletableFuture.delayedExecutor(admission.getRetryAfter(), TimeUnit.MILLISECONDS, executor)
+                : CompletableFuture.delayedExecutor(admission.getRetryAfter(), TimeUnit.MILLISECONDS);
+        return CompletableFuture.supplyAsync(() -> tryAdmit(path, provider), delayed)
+                .thenCompose(next -> awaitAdmission(next, path, provider, deadline));
+    }
+
+    /**
+     * Admits a request without waiting. The rate limiter is asked first, so a request it
+     * holds back never takes a half-open probe slot; a token taken for a request the
+     * circuit breaker then rejects is handed back.
+     */
+    private Admission tryAdmit(String path, EmailProvider provider) {
+        if (rateLimiter != null) {
+            long wait = rateLimiter.tryAcquire();
+            if (wait != RateLimiter.PERMITTED) {
+                return Admission.rejected(ErrorCode.RATE_LIMIT_ERROR,
+                        "Client-side rate limit of " + rateLimiter.limit() + " requests per window; the next request "
+                                + "is allowed in " + wait + "ms", wait);
+            }
+        }
+        CircuitBreaker circuitBreaker = circuitBreakers.get(path, provider);
+        long retryAfter = circuitBreaker.tryAcquire();
+        if (retryAfter != CircuitBreaker.PERMITTED) {
+            if (rateLimiter != null) {
+                rateLimiter.release();
+            }
+            return Admission.rejected(ErrorCode.CIRCUIT_OPEN, circuitBreaker.rejectionMessage(retryAfter), retryAfter);
+        }
+        return Admission.granted(path, circuitBreaker);
+    }
+
+    private boolean waitsFor(Admission admission) {
+        return !admission.isGranted()
+                && admission.getCode() == ErrorCode.RATE_LIMIT_ERROR
+                && config.getRateLimiterConfig().getOnLimit() == HuefyConfig.RateLimiterConfig.OnLimit.WAIT;
+    }
+
+    /**
+     * Sends an admitted HTTP request. See {@link #request(String, String, byte[], ResponseDecoder)}.
+     *
+     * @param admission the admission from {@link #admit(String, EmailProvider)}
+     * @param method    the HTTP method (GET, POST, PUT, DELETE)
+     * @param body      the UTF-8 request body (may be null for GET/DELETE)
+     * @param decoder   the decoder for a 2xx response body
+     * @param <T>       the decoded type
+     * @return the decoded response
+     * @throws HuefyException if the admission was rejected, or the request fails after all
+     *                        retries or cannot be decoded
+     */
+    public <T> T request(Admission admission, String method, byte[] body, ResponseDecoder<T> decoder) {
+        if (!admission.isGranted()) {
+            throw admission.toException(config.isStacklessRejections());
+        }
+        String path = admission.path();
+        CircuitBreaker circuitBreaker = admission.circuitBreaker();
+
+        HttpResponse<InputStream> response = retryHandler.execute(() -> {
+            PauseGate.Pause probed = pauseGate.await();
+            try {
+                return withSlot(() -> attempt(method, path, body, circuitBreaker));
+            } catch (RuntimeException e) {
+                pauseGate.abandon(probed);
                 throw e;
-            } catch (java.net.http.HttpTimeoutException e) {
-                circuitBreaker.recordFailure();
-                throw new HuefyException(
-                        "Request timed out after " + config.getTimeout() + "ms",
-                        ErrorCode.TIMEOUT_ERROR,
-                        null,
-                        true,
-                        null,
-                        null,
-                        e
-                );
-            } catch (java.net.ConnectException e) {
-                circuitBreaker.recordFailure();
-                throw new HuefyException(
-                        "Connection refused: " + config.getBaseUrl(),
-                        ErrorCode.CONNECTION_REFUSED,
-                        null,
-                        true,
-                        null,
-                        null,
-                        e
-                );
-            } catch (Exception e) {
-                circuitBreaker.recordFailure();
-                throw HuefyException.networkError(
-                        "Request failed: " + e.getMessage(), e
-                );
             }
         });
+
+        return decode(decoder, response.body());
+    }
+
+    /**
+     * Makes one synchronous attempt, retrying once with the secondary key on a 401.
+     */
+    private HttpResponse<InputStream> attempt(String method, String path, byte[] body,
+                                              CircuitBreaker circuitBreaker) {
+        long startNanos = System.nanoTime();
+        try {
+            HttpResponse<InputStream> attempt = executeRequest(method, path, body);
+
+            // Handle 401 with key rotation — retry once with the secondary key
+            if (attempt.statusCode() == 401 && rotateToSecondaryKey()) {
+                attempt.body().close();
+                attempt = executeRequest(method, path, body);
+            }
+
+            return handleResponse(attempt, HttpClient::readErrorBody, circuitBreaker, startNanos);
+        } catch (HuefyException e) {
+            throw e;
+        } catch (Exception e) {
+            throw translateFailure(e, circuitBreaker, startNanos);
+        }
+    }
+
+    /**
+     * Sends an HTTP request asynchronously with retry and circuit breaker support.
+     *
+     * <p>The request is dispatched with {@link java.net.http.HttpClient#sendAsync}, and
+     * retries are scheduled rather than slept, so no thread is held while a request is
+     * in flight or waiting for its next attempt. The returned future completes
+     * exceptionally with a {@link HuefyException} on failure.</p>
+     *
+     * @param method the HTTP method (GET, POST, PUT, DELETE)
+     * @param path   the request path (appended to base URL)
+     * @param body   the request body (may be null for GET/DELETE)
+     * @return a future completing with the response body as a string
+     */
+    public CompletableFuture<String> requestAsync(String method, String path, String body) {
+        return requestAsync(method, path, encode(body));
+    }
+
+    /**
+     * Sends an HTTP request with a pre-encoded UTF-8 body asynchronously. See
+     * {@link #requestAsync(String, String, String)}.
+     *
+     * @param method the HTTP method (GET, POST, PUT, DELETE)
+     * @param path   the request path (appended to base URL)
+     * @param body   the UTF-8 request body (may be null for GET/DELETE)
+     * @return a future completing with the response body as a string
+     */
+    public CompletableFuture<String> requestAsync(String method, String path, byte[] body) {
+        return requestAsync(method, path, body, ResponseDecoder.ofString());
+    }
+
+    /**
+     * Sends an HTTP request with a pre-encoded UTF-8 body asynchronously and decodes a
+     * successful response. See {@link #requestAsync(String, String, String)}.
+     *
+     * <p>The body is received as raw bytes so that no thread blocks reading a stream
+     * while the exchange is still in flight; it is decoded from those bytes without
+     * an intermediate string.</p>
+     *
+     * @param method  the HTTP method (GET, POST, PUT, DELETE)
+     * @param path    the request path (appended to base URL)
+     * @param body    the UTF-8 request body (may be null for GET/DELETE)
+     * @param decoder the decoder for a 2xx response body
+     * @param <T>     the decoded type
+     * @return a future completing with the decoded response
+     */
+    public <T> CompletableFuture<T> requestAsync(String method, String path, byte[] body,
+                                                 ResponseDecoder<T> decoder) {
+        return requestAsync(method, path, body, decoder, null);
+    }
+
+    /**
+     * Sends an HTTP request routed to a provider asynchronously. See
+     * {@link #requestAsync(String, String, byte[], ResponseDecoder)} and
+     * {@link #request(String, String, byte[], ResponseDecoder, EmailProvider)}.
+     *
+     * @param method   the HTTP method (GET, POST, PUT, DELETE)
+     * @param path     the request path (appended to base URL)
+     * @param body     the UTF-8 request body (may be null for GET/DELETE)
+     * @param decoder  the decoder for a 2xx response body
+     * @param provider the provider the request is routed to, or null for the default
+     * @param <T>      the decoded type
+     * @return a future completing with the decoded response
+     */
+    public <T> CompletableFuture<T> requestAsync(String method, String path, byte[] body,
+                                                 ResponseDecoder<T> decoder, EmailProvider provider) {
+        return admitAsync(path, provider).thenCompose(admission -> requestAsync(admission, method, body, decoder));
+    }
+
+    /**
+     * Sends an admitted HTTP request asynchronously. See
+     * {@link #requestAsync(String, String, byte[], ResponseDecoder)}.
+     *
+     * @param admission the admission from {@link #admit(String, EmailProvider)}
+     * @param method    the HTTP method (GET, POST, PUT, DELETE)
+     * @param body      the UTF-8 request body (may be null for GET/DELETE)
+     * @param decoder   the decoder for a 2xx response body
+     * @param <T>       the decoded type
+     * @return a future completing with the decoded response, or exceptionally if the
+     *         admission was rejected or the request fails
+     */
+    public <T> CompletableFuture<T> requestAsync(Admission admission, String method, byte[] body,
+                                                 ResponseDecoder<T> decoder) {
+        if (!admission.isGranted()) {
+            return CompletableFuture.failedFuture(admission.toException(config.isStacklessRejections()));
+        }
+        String path = admission.path();
+        CircuitBreaker circuitBreaker = admission.circuitBreaker();
+
+        return retryHandler.executeAsync(() -> pauseGate.awaitAsync().thenCompose(probed -> withSlotAsync(() -> {
+            long startNanos = System.nanoTime();
+            return executeRequestAsync(method, path, body)
+                    .thenCompose(response -> {
+                        if (response.statusCode() == 401 && rotateToSecondaryKey()) {
+                            return executeRequestAsync(method, path, body);
+                        }
+                        return CompletableFuture.completedFuture(response);
+                    })
+                    .handle((response, error) -> {
+                        if (error != null) {
+                            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                    ? error.getCause()
+                                    : error;
+                            if (cause instanceof HuefyException e) {
+                                throw e;
+                            }
+                            throw translateFailure(cause, circuitBreaker, startNanos);
+                        }
+                        return handleResponse(response, bytes -> new String(bytes, StandardCharsets.UTF_8),
+                                circuitBreaker, startNanos);
+                    });
+        }).whenComplete((response, error) -> {
+            if (error != null) {
+                pauseGate.abandon(probed);
+            }
+        }))).thenApply(response -> decode(decoder, new ByteArrayInputStream(response.body())));
+    }
+
+    /**
+     * Runs one attempt in a concurrency limiter slot, if the limiter is enabled, and feeds
+     * the attempt's outcome back into the limit.
+     */
+    private <T> T withSlot(RetryHandler.RetryableOperation<T> attempt) {
+        if (concurrencyLimiter == null) {
+            return attempt.execute();
+        }
+        concurrencyLimiter.acquire();
+        long startNanos = System.nanoTime();
+        try {
+            T result = attempt.execute();
+            concurrencyLimiter.release(startNanos, null);
+            return result;
+        } catch (RuntimeException e) {
+            concurrencyLimiter.release(startNanos, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs one asynchronous attempt in a concurrency limiter slot. See {@link #withSlot}.
+     */
+    private <T> CompletableFuture<T> withSlotAsync(RetryHandler.AsyncRetryableOperation<T> attempt) {
+        if (concurrencyLimiter == null) {
+            return attempt.execute();
+        }
+        return concurrencyLimiter.acquireAsync().thenCompose(ignored -> {
+            long startNanos = System.nanoTime();
+            CompletableFuture<T> stage;
+            try {
+                stage = attempt.execute();
+            } catch (RuntimeException e) {
+                stage = CompletableFuture.failedFuture(e);
+            }
+            return stage.whenComplete((value, error) -> concurrencyLimiter.release(startNanos, error));
+        });
+    }
+
+    /**
+     * Returns the rate limit state from the most recent response that reported one.
+     *
+     * @return the latest snapshot, or null if no response has carried rate limit headers
+     */
+    public RateLimitInfo getRateLimitInfo() {
+        return rateLimitInfo.get();
+    }
+
+    /**
+     * Returns the state of the adaptive concurrency limit.
+     *
+     * @return a snapshot of the limit, or null if the concurrency limit is not enabled
+     */
+    public ConcurrencyLimitInfo getConcurrencyLimitInfo() {
+        return concurrencyLimiter != null ? concurrencyLimiter.info() : null;
+    }
+
+    /**
+     * Returns the executor the SDK runs its own work on, such as response handling,
+     * retry continuations and bulk fan-out.
+     *
+     * @return the virtual-thread executor when virtual threads are enabled and supported,
+     *         otherwise null to indicate the default executors are in use
+     */
+    public Executor getExecutor() {
+        return executor;
     }
 
     /**
      * Closes the underlying HTTP client resources.
+     *
+     * <p>Pending circuit breaker recovery checks are cancelled, so no health probes are
+     * sent afterwards. On Java 21 and newer this closes the JDK HTTP client, waiting for
+     * in-flight exchanges, and shuts down the virtual-thread executor if one was created.</p>
      */
     public void close() {
-        // java.net.http.HttpClient does not require explicit closing,
-        // but this method exists for future resource cleanup
+        circuitBreakers.close();
+        VirtualThreads.close(httpClient);
+        if (executor != null) {
+            executor.shutdown();
+        }
         logger.debug("HTTP client closed");
     }
 
+    /**
+     * Records the rate limit headers of a response, if it has them, as the latest
+     * snapshot, and passes newer snapshots on to the rate limiter and the callbacks.
+     */
     private void parseRateLimitHeaders(HttpResponse<?> response) {
-        if (config.getOnRateLimitUpdate() == null && config.getOnRateLimitWarning() == null) {
-            return;
-        }
-
         String limitHeader = response.headers().firstValue("X-RateLimit-Limit").orElse(null);
         String remainingHeader = response.headers().firstValue("X-RateLimit-Remaining").orElse(null);
         String resetHeader = response.headers().firstValue("X-RateLimit-Reset").orElse(null);
@@ -170,26 +516,188 @@ public class HttpClient {
             return;
         }
 
+        RateLimitInfo info;
         try {
             int limit = Integer.parseInt(limitHeader);
             int remaining = Integer.parseInt(remainingHeader);
             Instant resetAt = Instant.ofEpochSecond(Long.parseLong(resetHeader));
-            RateLimitInfo info = new RateLimitInfo(limit, remaining, resetAt);
+            info = new RateLimitInfo(limit, remaining, resetAt);
+        } catch (NumberFormatException e) {
+            logger.debug("Failed to parse rate limit headers: {}", e.getMessage());
+            return;
+        }
 
-            if (config.getOnRateLimitUpdate() != null) {
-                config.getOnRateLimitUpdate().accept(info);
+        if (rateLimiter != null) {
+            rateLimiter.update(info);
+        }
+        while (true) {
+            RateLimitInfo current = rateLimitInfo.get();
+            if (current != null && !supersedes(info, current)) {
+                return;
+            }
+            if (rateLimitInfo.compareAndSet(current, info)) {
+                break;
             }
+        }
+        if (rateLimitNotifier != null) {
+            rateLimitNotifier.publish(info);
+        }
+    }
 
-            if (config.getOnRateLimitWarning() != null && limit > 0 && remaining < limit * 0.2) {
-                config.getOnRateLimitWarning().accept(info);
+    /**
+     * Whether {@code info} is newer than {@code current}. Responses can complete out of
+     * order, so within one window the lower remaining count is taken as the newer one.
+     */
+    private static boolean supersedes(RateLimitInfo info, RateLimitInfo current) {
+        int byReset = info.resetAt().compareTo(current.resetAt());
+        return byReset > 0 || (byReset == 0 && info.remaining() < current.remaining());
+    }
+
+    /**
+     * Switches to the secondary API key after a 401. Only one thread performs the rotation.
+     *
+     * @return true if the request should be retried with the secondary key
+     */
+    private boolean rotateToSecondaryKey() {
+        if (rotatedToSecondary.get() || config.getSecondaryApiKey() == null) {
+            return false;
+        }
+        synchronized (rotationLock) {
+            if (!rotatedToSecondary.get()) {
+                logger.warn("Primary API key rejected, rotating to secondary key");
+                currentApiKey = config.getSecondaryApiKey();
+                rotatedToSecondary.set(true);
             }
-        } catch (NumberFormatException e) {
-            logger.debug("Failed to parse rate limit headers: {}", e.getMessage());
         }
+        return true;
     }
 
-    private HttpResponse<String> executeRequest(String method, String path, String body)
+    /**
+     * Passes a 2xx response through, or reads its body with {@code errorBody} and throws
+     * the matching {@link HuefyException}. The attempt's latency is recorded with its outcome.
+     */
+    private <B> HttpResponse<B> handleResponse(HttpResponse<B> response, Function<B, String> errorBody,
+                                               CircuitBreaker circuitBreaker, long startNanos) {
+        int statusCode = response.statusCode();
+
+        if (statusCode >= 200 && statusCode < 300) {
+            circuitBreaker.recordSuccess(elapsedMillis(startNanos));
+            pauseGate.lift();
+            parseRateLimitHeaders(response);
+            return response;
+        }
+        parseRateLimitHeaders(response);
+
+        String responseBody = errorBody.apply(response.body());
+
+        circuitBreaker.recordFailure(elapsedMillis(startNanos));
+
+        String requestId = response.headers()
+                .firstValue("X-Request-Id")
+                .orElse(null);
+        String retryAfterHeader = response.headers()
+                .firstValue("Retry-After")
+                .orElse(null);
+
+        if (config.isEnableErrorSanitization() && responseBody != null) {
+            responseBody = ErrorSanitizer.sanitize(responseBody, config.getMaxSanitizedErrorLength());
+        }
+
+        HuefyException failure = HuefyException.fromResponse(statusCode, responseBody, requestId, retryAfterHeader,
+                config.isStacklessRejections());
+        if (statusCode == 429) {
+            pauseGate.pause(failure.getRetryAfter());
+        } else {
+            pauseGate.lift();
+        }
+        throw failure;
+    }
+
+    private static String readErrorBody(InputStream body) {
+        try (InputStream in = body) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decodes a successful body, then drains what the decoder left unread so the
+     * connection can be reused.
+     */
+    private static <T> T decode(ResponseDecoder<T> decoder, InputStream body) {
+        try (InputStream in = body) {
+            T value = decoder.decode(in);
+            in.transferTo(OutputStream.nullOutputStream());
+            return value;
+        } catch (IOException e) {
+            throw HuefyException.networkError("Failed to decode response: " + e.getMessage(), e);
+        }
+    }
+
+    private HuefyException translateFailure(Throwable e, CircuitBreaker circuitBreaker, long startNanos) {
+        circuitBreaker.recordFailure(elapsedMillis(startNanos));
+        if (e instanceof java.net.http.HttpTimeoutException) {
+            return new HuefyException(
+                    "Request timed out after " + config.getTimeout() + "ms",
+                    ErrorCode.TIMEOUT_ERROR,
+                    null,
+                    true,
+                    null,
+                    null,
+                    e
+            );
+        }
+        if (e instanceof java.net.ConnectException) {
+            return new HuefyException(
+                    "Connection refused: " + config.getBaseUrl(),
+                    ErrorCode.CONNECTION_REFUSED,
+                    null,
+                    true,
+                    null,
+                    null,
+                    e
+            );
+        }
+        return HuefyException.networkError(
+                "Request failed: " + e.getMessage(), e
+        );
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static byte[] encode(String body) {
+        return body != null ? body.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private HttpResponse<InputStream> executeRequest(String method, String path, byte[] body)
             throws Exception {
+        return httpClient.send(buildRequest(method, path, body), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> executeRequestAsync(String method, String path, byte[] body) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = buildRequest(method, path, body);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Sends one {@code GET /health} for circuit breaker recovery, bypassing retries and
+     * the breakers themselves. Any 2xx response counts as healthy.
+     */
+    private CompletableFuture<Boolean> probeHealth() {
+        return executeRequestAsync("GET", HEALTH_PATH, null)
+                .handle((response, error) -> error == null
+                        && response.statusCode() >= 200 && response.statusCode() < 300);
+    }
+
+    private HttpRequest buildRequest(String method, String path, byte[] body) {
 
         String url = config.getBaseUrl() + path;
         String timestamp = String.valueOf(System.currentTimeMillis());
@@ -204,27 +712,22 @@ public class HttpClient {
                 .header("X-SDK-Version", Version.SDK_VERSION)
                 .header("X-Timestamp", timestamp);
 
-        // Serialize body once for both signing and sending
-        String bodyString = body != null ? body : "";
-
-        // Add HMAC signature if request signing is enabled
+        // Add HMAC signature if request signing is enabled, over the exact bytes sent
         if (config.isEnableRequestSigning()) {
-            String message = timestamp + "." + bodyString;
-            String signature = Security.generateHmacSignature(message, currentApiKey);
+            String signature = Security.generateHmacSignature(timestamp, body, currentApiKey);
             requestBuilder.header("X-Signature", signature);
             requestBuilder.header("X-Signature-Algorithm", "HMAC-SHA256");
         }
 
-        // Set method and body using the same string used for signing
+        // The body is encoded once by the caller and reused across attempts
         HttpRequest.BodyPublisher bodyPublisher = body != null
-                ? HttpRequest.BodyPublishers.ofString(bodyString)
+                ? HttpRequest.BodyPublishers.ofByteArray(body)
                 : HttpRequest.BodyPublishers.noBody();
 
         requestBuilder.method(method.toUpperCase(), bodyPublisher);
 
         HttpRequest httpRequest = requestBuilder.build();
         logger.debug("{} {}", method.toUpperCase(), url);
-
-        return httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+        return httpRequest;
     }
 }
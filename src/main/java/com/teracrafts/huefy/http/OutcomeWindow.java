@@ -0,0 +1,84 @@
+package com.teracrafts.huefy.http;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-size ring buffer of the most recent call outcomes, used by the failure-rate
+ * circuit breaker.
+ *
+ * <p>Each call claims the next slot with an atomic cursor and swaps its outcome in; the
+ * aggregate counters are adjusted by the difference between the evicted and the new
+ * outcome, so they stay exact without a lock. Readers may see the counters mid-update,
+ * which only shifts a decision by one call.</p>
+ */
+final class OutcomeWindow {
+
+    private static final int RECORDED = 1;
+    private static final int FAILED = 1 << 1;
+    private static final int SLOW = 1 << 2;
+
+    private final AtomicIntegerArray slots;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger slowCalls = new AtomicInteger();
+
+    OutcomeWindow(int size) {
+        this.slots = new AtomicIntegerArray(size);
+    }
+
+    /**
+     * Records one call, evicting the oldest once the window is full.
+     *
+     * @param failed whether the call failed
+     * @param slow   whether the call exceeded the slow-call duration
+     */
+    void record(boolean failed, boolean slow) {
+        int outcome = RECORDED | (failed ? FAILED : 0) | (slow ? SLOW : 0);
+        int index = (int) (cursor.getAndIncrement() % slots.length());
+        int evicted = slots.getAndSet(index, outcome);
+
+        if (evicted == 0) {
+            calls.incrementAndGet();
+        }
+        int failureDelta = (failed ? 1 : 0) - ((evicted & FAILED) != 0 ? 1 : 0);
+        if (failureDelta != 0) {
+            failures.addAndGet(failureDelta);
+        }
+        int slowDelta = (slow ? 1 : 0) - ((evicted & SLOW) != 0 ? 1 : 0);
+        if (slowDelta != 0) {
+            slowCalls.addAndGet(slowDelta);
+        }
+    }
+
+    /**
+     * Returns the number of calls currently held, up to the window size.
+     *
+     * @return the call count
+     */
+    int calls() {
+        return calls.get();
+    }
+
+    /**
+     * Returns the failure percentage over the calls held.
+     *
+     * @return the failure rate from 0 to 100, or 0 when empty
+     */
+    double failureRate() {
+        int total = calls.get();
+        return total == 0 ? 0 : failures.get() * 100.0 / total;
+    }
+
+    /**
+     * Returns the slow-call percentage over the calls held.
+     *
+     * @return the slow-call rate from 0 to 100, or 0 when empty
+     */
+    double slowCallRate() {
+        int total = calls.get();
+        return total == 0 ? 0 : slowCalls.get() * 100.0 / total;
+    }
+}
@@ -0,0 +1,213 @@
+package com.teracrafts.huefy.http;
+
+import com.teracrafts.huefy.errors.ErrorCode;
+import com.teracrafts.huefy.errors.HuefyException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Client-wide pause after a 429 response.
+ *
+ * <p>One 429 pauses every request attempt, including retries, until the instant the server
+ * advertised. Paused attempts park without holding a retry slot. Once that instant has
+ * passed, a single attempt is let through as a probe while the rest keep waiting; when it
+ * comes back with anything other than a 429 the pause is lifted and every parked attempt
+ * proceeds, and when it is rate limited again a new pause begins. A probe that fails without
+ * a response, for example because the concurrency limiter sheds it, is
+ * {@linkplain #abandon(Pause) abandoned} so the next attempt becomes the probe. Attempts that would have
+ * to wait longer than the maximum park time fail with a recoverable
+ * {@code RATE_LIMIT_ERROR} instead.</p>
+ *
+ * <p>When no pause is active, passing the gate is a single volatile read.</p>
+ */
+final class PauseGate {
+
+    private static final Logger logger = LoggerFactory.getLogger(PauseGate.class);
+
+    /** Pause applied when a 429 carries no hint of how long to wait. */
+    static final long DEFAULT_PAUSE = 1000;
+
+    /** How often attempts parked behind an outstanding probe check whether it was rate limited again. */
+    private static final long PROBE_POLL = 100;
+
+    /**
+     * One pause. Successive 429s replace it with a later one but keep the same
+     * {@code lifted} future, so parked attempts are released together.
+     */
+    static final class Pause {
+        final long until;
+        final AtomicBoolean probing = new AtomicBoolean();
+        final CompletableFuture<Void> lifted;
+
+        Pause(long until, CompletableFuture<Void> lifted) {
+            this.until = until;
+            this.lifted = lifted;
+        }
+    }
+
+    private final AtomicReference<Pause> pause = new AtomicReference<>();
+    private final long maxPark;
+    private final boolean stacklessRejections;
+    private final Executor executor;
+
+    /**
+     * Creates a gate.
+     *
+     * @param maxPark             the longest an attempt may park, in milliseconds
+     * @param stacklessRejections whether rejections skip stack trace capture
+     * @param executor            the executor async waits resume on, or null for the default
+     */
+    PauseGate(long maxPark, boolean stacklessRejections, Executor executor) {
+        this.maxPark = maxPark;
+        this.stacklessRejections = stacklessRejections;
+        this.executor = executor;
+    }
+
+    /**
+     * Pauses all attempts after a 429 response.
+     *
+     * @param retryAfter the advertised wait in milliseconds, or null if none was given
+     */
+    void pause(Long retryAfter) {
+        long until = System.currentTimeMillis() + (retryAfter != null && retryAfter > 0 ? retryAfter : DEFAULT_PAUSE);
+        while (true) {
+            Pause current = pause.get();
+            if (current != null && current.until >= until && !current.probing.get()) {
+                return;
+            }
+            Pause next = new Pause(until, current != null ? current.lifted : new CompletableFuture<>());
+            if (pause.compareAndSet(current, next)) {
+                if (current == null) {
+                    logger.warn("Rate limited, pausing all requests until {}", Instant.ofEpochMilli(until));
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Lifts the pause after a response that was not rate limited, if the probe is out.
+     */
+    void lift() {
+        Pause current = pause.get();
+        if (current != null && current.probing.get() && pause.compareAndSet(current, null)) {
+            logger.info("Rate limit pause lifted");
+            current.lifted.complete(null);
+        }
+    }
+
+    /**
+     * Gives up the probe of a pause when the probing attempt failed before getting a
+     * response, so the next attempt to arrive probes instead. Does nothing if the pause
+     * already ended or was replaced by a response to the probe.
+     *
+     * @param probed the pause returned by {@link #await()} or {@link #awaitAsync()}, or null
+     */
+    void abandon(Pause probed) {
+        if (probed != null && pause.compareAndSet(probed, new Pause(probed.until, probed.lifted))) {
+            logger.debug("Rate limit probe failed without a response; the next attempt probes");
+        }
+    }
+
+    /**
+     * Blocks until the calling attempt may proceed.
+     *
+     * @return the pause the attempt is the probe of, to be passed to {@link #abandon(Pause)}
+     *         if it fails without a response, or null if no pause is active
+     * @throws HuefyException if the attempt would park longer than the maximum, or is interrupted
+     */
+    Pause await() {
+        long deadline = System.currentTimeMillis() + maxPark;
+        while (true) {
+            Pause current = pause.get();
+            if (current == null) {
+                return null;
+            }
+            if (claim(current)) {
+                return current;
+            }
+            long wait = parkTime(current, deadline);
+            try {
+                current.lifted.get(wait, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException ignored) {
+                // Re-check: the pause may have ended, or this attempt may now be the probe
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw rejection(current.until - System.currentTimeMillis());
+            }
+        }
+    }
+
+    /**
+     * Completes when the calling attempt may proceed, without blocking a thread.
+     *
+     * @return a future that completes normally to proceed, with the pause the attempt is
+     *         the probe of as for {@link #await()}, or exceptionally with a
+     *         {@link HuefyException} if the attempt would park longer than the maximum
+     */
+    CompletableFuture<Pause> awaitAsync() {
+        return awaitAsync(System.currentTimeMillis() + maxPark);
+    }
+
+    private CompletableFuture<Pause> awaitAsync(long deadline) {
+        Pause current = pause.get();
+        if (current == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (claim(current)) {
+            return CompletableFuture.completedFuture(current);
+        }
+        long wait;
+        try {
+            wait = parkTime(current, deadline);
+        } catch (HuefyException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Executor delayed = executor != null
+                ? CompletableFuture.delayedExecutor(wait, TimeUnit.MILLISECONDS, executor)
+                : CompletableFuture.delayedExecutor(wait, TimeUnit.MILLISECONDS);
+        return CompletableFuture.anyOf(current.lifted, CompletableFuture.runAsync(() -> { }, delayed))
+                .thenCompose(ignored -> awaitAsync(deadline));
+    }
+
+    /**
+     * Whether the caller becomes the probe of the pause. Once a pause has run out, the
+     * first caller to get here does.
+     */
+    private static boolean claim(Pause current) {
+        return System.currentTimeMillis() >= current.until && current.probing.compareAndSet(false, true);
+    }
+
+    /**
+     * Returns how long to park on a pause: until it runs out, or while the probe is out,
+     * for one poll interval. Fails if the pause outlasts the deadline.
+     */
+    private long parkTime(Pause current, long deadline) {
+        long now = System.currentTimeMillis();
+        if (current.until > deadline || now >= deadline) {
+            throw rejection(Math.max(current.until - now, 1));
+        }
+        return Math.max(current.until > now ? current.until - now : Math.min(PROBE_POLL, deadline - now), 1);
+    }
+
+    private HuefyException rejection(long retryAfter) {
+        return HuefyException.rejection(
+                "Requests are paused after a 429 response until " +
+                        Instant.ofEpochMilli(System.currentTimeMillis() + retryAfter),
+                ErrorCode.RATE_LIMIT_ERROR,
+                true,
+                retryAfter,
+                stacklessRejections
+        );
+    }
+}
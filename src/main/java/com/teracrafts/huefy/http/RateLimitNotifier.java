@@ -0,0 +1,92 @@
+package com.teracrafts.huefy.http;
+
+import com.teracrafts.huefy.config.RateLimitInfo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Delivers rate limit updates to the user's callbacks off the request thread.
+ *
+ * <p>Only the latest update is kept. At most one delivery task runs at a time; updates
+ * published while it is busy replace each other, so a slow callback sees fewer, newer
+ * snapshots instead of a growing backlog, and never delays a request.</p>
+ */
+final class RateLimitNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitNotifier.class);
+
+    /** The warning callback fires once less than this share of the quota is left. */
+    private static final double WARNING_THRESHOLD = 0.2;
+
+    private final Consumer<RateLimitInfo> onUpdate;
+    private final Consumer<RateLimitInfo> onWarning;
+    private final Executor executor;
+    private final AtomicReference<RateLimitInfo> pending = new AtomicReference<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    /**
+     * Creates a notifier.
+     *
+     * @param onUpdate  called with every delivered update (may be null)
+     * @param onWarning called with delivered updates that are low on quota (may be null)
+     * @param executor  the executor callbacks run on, or null for the common pool
+     */
+    RateLimitNotifier(Consumer<RateLimitInfo> onUpdate, Consumer<RateLimitInfo> onWarning, Executor executor) {
+        this.onUpdate = onUpdate;
+        this.onWarning = onWarning;
+        this.executor = executor != null ? executor : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Queues an update for delivery, replacing any update not yet delivered.
+     *
+     * @param info the update
+     */
+    void publish(RateLimitInfo info) {
+        pending.set(info);
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                logger.debug("Rate limit callback executor rejected delivery: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            RateLimitInfo info = pending.getAndSet(null);
+            if (info == null) {
+                draining.set(false);
+                // An update published between the read and the reset would otherwise wait for the next one
+                if (pending.get() == null || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            deliver(info);
+        }
+    }
+
+    private void deliver(RateLimitInfo info) {
+        try {
+            if (onUpdate != null) {
+                onUpdate.accept(info);
+            }
+            if (onWarning != null && info.limit() > 0 && info.remaining() < info.limit() * WARNING_THRESHOLD) {
+                onWarning.accept(info);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Rate limit callback failed: {}", e.getMessage(), e);
+        }
+    }
+}
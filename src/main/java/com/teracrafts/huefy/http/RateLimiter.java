@@ -0,0 +1,150 @@
+package com.teracrafts.huefy.http;
+
+import com.teracrafts.huefy.config.RateLimitInfo;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sized by the quota the API reports in its rate limit headers.
+ *
+ * <p>The window's reset time and the tokens left in it are packed into one
+ * {@link AtomicLong} and updated with compare-and-set. Each request takes a token; each
+ * response carrying rate limit headers corrects the count. Within a window the count only
+ * goes down, because responses can arrive out of order and the lowest figure is the most
+ * recent one.</p>
+ *
+ * <p>Tokens are paced rather than handed out in a burst: after a token is taken, the next
+ * one is held back for the time left in the window divided by the tokens left in it, so the
+ * quota is spread evenly up to the reset. Once the window has reset, the bucket refills to
+ * the limit for a window as long as the longest one reported so far, which the next response
+ * then corrects. Only before any response has reported a window are requests never held
+ * back.</p>
+ */
+final class RateLimiter {
+
+    /** Returned by {@link #tryAcquire()} when the request may be sent. */
+    static final long PERMITTED = -1;
+
+    // Word layout: tokens in the low 30 bits, reset time in epoch seconds above them
+    private static final int TOKEN_BITS = 30;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+    private final AtomicLong state = new AtomicLong();
+    /** Epoch millis before which no token is handed out. */
+    private final AtomicLong nextToken = new AtomicLong();
+    private volatile int limit;
+    /** Longest window seen, in seconds, or 0 before any response reported one. */
+    private volatile long window;
+
+    /**
+     * Applies the quota from a response.
+     *
+     * @param info the parsed rate limit headers
+     */
+    void update(RateLimitInfo info) {
+        long reset = info.resetAt().getEpochSecond();
+        long now = System.currentTimeMillis();
+        if (reset * 1000 <= now) {
+            return;
+        }
+        window = Math.max(window, reset - now / 1000);
+        long remaining = Math.max(0, Math.min(info.remaining(), TOKEN_MASK));
+        limit = (int) Math.max(0, Math.min(info.limit(), TOKEN_MASK));
+        while (true) {
+            long current = state.get();
+            long currentReset = resetOf(current);
+            if (reset < currentReset || (reset == currentReset && remaining >= tokensOf(current))) {
+                return;
+            }
+            if (state.compareAndSet(current, pack(reset, remaining))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Takes a token if one is left in the current window and its turn has come.
+     *
+     * @return {@link #PERMITTED}, or the milliseconds until the next token or the window reset
+     */
+    long tryAcquire() {
+        boolean paced = false;
+        while (true) {
+            long current = state.get();
+            long reset = resetOf(current);
+            long tokens = tokensOf(current);
+            long now = System.currentTimeMillis();
+            if (reset != 0 && now >= reset * 1000) {
+                reset = nextReset(reset, now);
+                tokens = limit;
+            }
+            if (tokens == 0) {
+                return reset == 0 ? PERMITTED : reset * 1000 - now;
+            }
+            if (reset != 0 && !paced) {
+                // Claim this token's turn first, so concurrent callers cannot share one
+                long turn = nextToken.get();
+                if (turn > now) {
+                    return turn - now;
+                }
+                if (!nextToken.compareAndSet(turn, now + (reset * 1000 - now) / tokens)) {
+                    continue;
+                }
+                paced = true;
+            }
+            if (state.compareAndSet(current, pack(reset, tokens - 1))) {
+                return PERMITTED;
+            }
+        }
+    }
+
+    /**
+     * Returns a token taken by a request that was not sent after all, along with its turn.
+     */
+    void release() {
+        nextToken.set(0);
+        while (true) {
+            long current = state.get();
+            long tokens = tokensOf(current);
+            if (tokens >= limit || tokens == TOKEN_MASK) {
+                return;
+            }
+            if (state.compareAndSet(current, pack(resetOf(current), tokens + 1))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the configured limit of the last reported window.
+     *
+     * @return the limit, or 0 before any response reported one
+     */
+    int limit() {
+        return limit;
+    }
+
+    /**
+     * Returns the reset time of the window that follows one reset at {@code reset}, assuming
+     * it is as long as the longest window seen, or 0 when none was.
+     */
+    private long nextReset(long reset, long now) {
+        long length = window;
+        if (length == 0) {
+            return 0;
+        }
+        return reset + (now / 1000 - reset) / length * length + length;
+    }
+
+    private static long pack(long reset, long tokens) {
+        return (reset << TOKEN_BITS) | tokens;
+    }
+
+    private static long resetOf(long current) {
+        return current >>> TOKEN_BITS;
+    }
+
+    private static long tokensOf(long current) {
+        return current & TOKEN_MASK;
+    }
+}
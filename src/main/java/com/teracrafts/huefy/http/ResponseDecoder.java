@@ -0,0 +1,36 @@
+package com.teracrafts.huefy.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes a successful response body straight from its stream.
+ *
+ * <p>Decoders are only invoked for 2xx responses; error bodies are read by the
+ * {@link HttpClient} itself. The stream is owned by the caller, which drains and closes
+ * it after decoding, so decoders need not consume it to the end.</p>
+ *
+ * @param <T> the decoded type
+ */
+@FunctionalInterface
+public interface ResponseDecoder<T> {
+
+    /**
+     * Decodes the response body.
+     *
+     * @param body the response body stream
+     * @return the decoded value
+     * @throws IOException if the body cannot be read or parsed
+     */
+    T decode(InputStream body) throws IOException;
+
+    /**
+     * Returns a decoder that reads the whole body as a UTF-8 string.
+     *
+     * @return the string decoder
+     */
+    static ResponseDecoder<String> ofString() {
+        return body -> new String(body.readAllBytes(), StandardCharsets.UTF_8);
+    }
+}
@@ -6,7 +6,14 @@ import com.teracrafts.huefy.errors.HuefyException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Retry handler implementing exponential backoff with jitter.
@@ -21,16 +28,48 @@ public class RetryHandler {
     private final int maxRetries;
     private final long baseDelay;
     private final long maxDelay;
+    private final ScheduledExecutorService scheduler;
+    private final Executor retryExecutor;
 
     /**
      * Creates a retry handler with the given configuration.
      *
+     * <p>Asynchronous retries are scheduled on a shared SDK daemon scheduler.</p>
+     *
      * @param config the retry configuration
      */
     public RetryHandler(HuefyConfig.RetryConfig config) {
+        this(config, null);
+    }
+
+    /**
+     * Creates a retry handler that schedules asynchronous retries on the given scheduler.
+     *
+     * @param config    the retry configuration
+     * @param scheduler the scheduler used to re-arm asynchronous attempts, or null to use
+     *                  the shared SDK scheduler
+     */
+    public RetryHandler(HuefyConfig.RetryConfig config, ScheduledExecutorService scheduler) {
+        this(config, scheduler, null);
+    }
+
+    /**
+     * Creates a retry handler that schedules asynchronous retries on the given scheduler
+     * and runs each re-armed attempt on the given executor.
+     *
+     * @param config        the retry configuration
+     * @param scheduler     the scheduler used to re-arm asynchronous attempts, or null to use
+     *                      the shared SDK scheduler
+     * @param retryExecutor the executor that runs re-armed attempts, or null to run them on
+     *                      the scheduler thread
+     */
+    public RetryHandler(HuefyConfig.RetryConfig config, ScheduledExecutorService scheduler,
+                        Executor retryExecutor) {
         this.maxRetries = config.getMaxRetries();
         this.baseDelay = config.getBaseDelay();
         this.maxDelay = config.getMaxDelay();
+        this.scheduler = scheduler != null ? scheduler : SharedScheduler.INSTANCE;
+        this.retryExecutor = retryExecutor;
     }
 
     /**
@@ -88,6 +127,80 @@ public class RetryHandler {
         throw lastException;
     }
 
+    /**
+     * Executes an asynchronous operation with retry logic.
+     *
+     * <p>Behaves like {@link #execute(RetryableOperation)}, but the backoff between
+     * attempts is a timer on the retry scheduler rather than a sleeping thread. A
+     * pending retry holds no thread, so thousands of backoffs can be outstanding at
+     * once. Cancelling the returned future cancels any pending retry.</p>
+     *
+     * @param operation the operation to execute
+     * @param <T>       the return type
+     * @return a future completing with the result, or exceptionally with the last
+     *         {@link HuefyException} if all retries are exhausted or a non-recoverable error occurs
+     */
+    public <T> CompletableFuture<T> executeAsync(AsyncRetryableOperation<T> operation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attemptAsync(operation, 0, result);
+        return result;
+    }
+
+    private <T> void attemptAsync(AsyncRetryableOperation<T> operation, int attempt, CompletableFuture<T> result) {
+        if (result.isDone()) {
+            return;
+        }
+
+        CompletableFuture<T> stage;
+        try {
+            stage = operation.execute();
+        } catch (RuntimeException e) {
+            // Also on a retry, where an escaping exception would be lost in the scheduler
+            stage = CompletableFuture.failedFuture(e);
+        }
+
+        stage.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            if (!(cause instanceof HuefyException e) || !e.isRecoverable()) {
+                logger.debug("Non-recoverable error, not retrying: {}", cause.getMessage());
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            if (attempt >= maxRetries) {
+                logger.warn("All {} retries exhausted", maxRetries);
+                result.completeExceptionally(e);
+                return;
+            }
+
+            long delay = calculateDelay(attempt, e.getRetryAfter());
+            logger.info("Attempt {}/{} failed ({}), retrying in {}ms",
+                    attempt + 1, maxRetries + 1, e.getCode(), delay);
+
+            try {
+                Runnable nextAttempt = () -> attemptAsync(operation, attempt + 1, result);
+                ScheduledFuture<?> pending = retryExecutor != null
+                        ? scheduler.schedule(() -> retryExecutor.execute(nextAttempt), delay, TimeUnit.MILLISECONDS)
+                        : scheduler.schedule(nextAttempt, delay, TimeUnit.MILLISECONDS);
+                result.whenComplete((ignored, failure) -> {
+                    if (result.isCancelled()) {
+                        pending.cancel(false);
+                    }
+                });
+            } catch (RejectedExecutionException rejected) {
+                logger.warn("Retry scheduler rejected attempt {}, giving up", attempt + 2);
+                result.completeExceptionally(e);
+            }
+        });
+    }
+
     /**
      * Calculates the delay for the next retry attempt using exponential backoff with jitter.
      *
@@ -126,4 +239,20 @@ public class RetryHandler {
          */
         T execute() throws HuefyException;
     }
+
+    /**
+     * Functional interface for asynchronous retryable operations.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface AsyncRetryableOperation<T> {
+
+        /**
+         * Starts one attempt of the operation.
+         *
+         * @return a future completing with the result, or exceptionally on failure
+         */
+        CompletableFuture<T> execute();
+    }
 }
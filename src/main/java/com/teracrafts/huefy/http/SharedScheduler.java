@@ -0,0 +1,27 @@
+package com.teracrafts.huefy.http;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Lazily created daemon scheduler for SDK timers, such as asynchronous retries and
+ * circuit breaker recovery, when no scheduler was configured.
+ */
+final class SharedScheduler {
+
+    static final ScheduledExecutorService INSTANCE = create();
+
+    private SharedScheduler() {
+        // Utility class
+    }
+
+    private static ScheduledExecutorService create() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "huefy-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+}
@@ -0,0 +1,43 @@
+package com.teracrafts.huefy.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Platform bridge for virtual threads.
+ *
+ * <p>This is the Java 17 baseline. The SDK ships as a multi-release JAR and a Java 21
+ * variant of this class under {@code META-INF/versions/21} replaces it on newer
+ * runtimes. On Java 17 virtual threads are unavailable, so the SDK keeps its default
+ * platform-thread executors.</p>
+ */
+final class VirtualThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private VirtualThreads() {
+        // Utility class
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread per task.
+     *
+     * @return the executor, or null if virtual threads are not supported on this runtime
+     */
+    static ExecutorService newExecutor() {
+        logger.warn("Virtual threads require Java 21 or newer; using platform threads");
+        return null;
+    }
+
+    /**
+     * Releases the resources held by a JDK HTTP client. {@link java.net.http.HttpClient}
+     * is not closeable before Java 21, so this is a no-op.
+     *
+     * @param httpClient the client to close
+     */
+    static void close(java.net.http.HttpClient httpClient) {
+        // Not closeable on this runtime
+    }
+}
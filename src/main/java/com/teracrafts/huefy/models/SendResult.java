@@ -0,0 +1,177 @@
+package com.teracrafts.huefy.models;
+
+import com.teracrafts.huefy.errors.ErrorCode;
+import com.teracrafts.huefy.errors.HuefyException;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * Outcome of a {@code trySend*} call: the response on success, otherwise a
+ * {@link Failure} describing why the send did not happen.
+ *
+ * <p>Expected failures, such as invalid input or an open circuit, are reported without
+ * creating an exception. Failures that surface as exceptions inside the SDK, such as an
+ * error response or a network error, are converted.</p>
+ *
+ * <pre>{@code
+ * SendResult<SendEmailResponse> result = client.trySendEmail(request);
+ * if (result instanceof SendResult.Success<SendEmailResponse> success) {
+ *     log(success.response().data().emailId());
+ * } else if (result instanceof SendResult.Rejected<SendEmailResponse> rejected) {
+ *     requeue(request, rejected.retryAfter());
+ * }
+ * }</pre>
+ *
+ * @param <T> the response type
+ */
+public sealed interface SendResult<T> {
+
+    /**
+     * Returns whether the send succeeded.
+     *
+     * @return true for {@link Success}
+     */
+    default boolean isSuccess() {
+        return this instanceof Success;
+    }
+
+    /**
+     * A failed send.
+     *
+     * @param <T> the response type
+     */
+    sealed interface Failure<T> extends SendResult<T> permits ValidationFailure, Rejected, TransportFailure {
+
+        ErrorCode code();
+
+        String message();
+
+        /**
+         * Returns the suggested delay before trying again.
+         *
+         * @return the delay in milliseconds, or null if none was given
+         */
+        Long retryAfter();
+
+        /**
+         * Returns the server request ID for tracing.
+         *
+         * @return the request ID, or null if the request never reached the server
+         */
+        String requestId();
+
+        /**
+         * Converts this failure into the exception the throwing send methods raise.
+         *
+         * @return the exception
+         */
+        HuefyException toException();
+    }
+
+    /**
+     * The send succeeded.
+     *
+     * @param response the response
+     * @param <T>      the response type
+     */
+    record Success<T>(T response) implements SendResult<T> {}
+
+    /**
+     * The request was invalid and was not sent.
+     *
+     * @param message the validation errors
+     * @param <T>     the response type
+     */
+    record ValidationFailure<T>(String message) implements Failure<T> {
+
+        @Override
+        public ErrorCode code() {
+            return ErrorCode.VALIDATION_ERROR;
+        }
+
+        @Override
+        public Long retryAfter() {
+            return null;
+        }
+
+        @Override
+        public String requestId() {
+            return null;
+        }
+
+        @Override
+        public HuefyException toException() {
+            return new HuefyException(message, ErrorCode.VALIDATION_ERROR, null, false);
+        }
+    }
+
+    /**
+     * The send was refused because the circuit is open, the rate limit was reached, or
+     * too many requests were already in flight, either by the SDK before sending or by
+     * the server.
+     *
+     * @param code       {@link ErrorCode#CIRCUIT_OPEN}, {@link ErrorCode#RATE_LIMIT_ERROR} or
+     *                   {@link ErrorCode#CONCURRENCY_LIMIT_EXCEEDED}
+     * @param message    the reason
+     * @param retryAfter the suggested delay in milliseconds (may be null)
+     * @param requestId  the server request ID (may be null)
+     * @param <T>        the response type
+     */
+    record Rejected<T>(ErrorCode code, String message, Long retryAfter, String requestId) implements Failure<T> {
+
+        @Override
+        public HuefyException toException() {
+            return new HuefyException(message, code, null, true, retryAfter, requestId, null);
+        }
+    }
+
+    /**
+     * The request was sent but failed: an error response, a timeout, a network error, or
+     * a response that could not be decoded.
+     *
+     * @param code        the error code
+     * @param message     the error message
+     * @param statusCode  the HTTP status code (may be null)
+     * @param recoverable whether retrying may succeed
+     * @param retryAfter  the suggested delay in milliseconds (may be null)
+     * @param requestId   the server request ID (may be null)
+     * @param cause       the underlying cause (may be null)
+     * @param <T>         the response type
+     */
+    record TransportFailure<T>(ErrorCode code, String message, Integer statusCode, boolean recoverable,
+                               Long retryAfter, String requestId, Throwable cause) implements Failure<T> {
+
+        @Override
+        public HuefyException toException() {
+            return new HuefyException(message, code, statusCode, recoverable, retryAfter, requestId, cause);
+        }
+    }
+
+    /**
+     * Converts a failure raised inside the SDK into a result. {@link CompletionException}
+     * wrappers are unwrapped; anything other than a {@link HuefyException} becomes a
+     * network error.
+     *
+     * @param error the failure
+     * @param <T>   the response type
+     * @return the failure result
+     */
+    static <T> Failure<T> failure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!(cause instanceof HuefyException e)) {
+            return new TransportFailure<>(ErrorCode.NETWORK_ERROR, String.valueOf(cause.getMessage()), null, true,
+                    null, null, cause);
+        }
+        switch (e.getCode()) {
+            case VALIDATION_ERROR:
+                return new ValidationFailure<>(e.getMessage());
+            case CIRCUIT_OPEN:
+            case RATE_LIMIT_ERROR:
+            case CONCURRENCY_LIMIT_EXCEEDED:
+                return new Rejected<>(e.getCode(), e.getMessage(), e.getRetryAfter(), e.getRequestId());
+            default:
+                return new TransportFailure<>(e.getCode(), e.getMessage(), e.getStatusCode(), e.isRecoverable(),
+                        e.getRetryAfter(), e.getRequestId(), e.getCause());
+        }
+    }
+}
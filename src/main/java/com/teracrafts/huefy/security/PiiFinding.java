@@ -0,0 +1,12 @@
+package com.teracrafts.huefy.security;
+
+import java.util.List;
+
+/**
+ * PII found in one string inside a structured value.
+ *
+ * @param path  where the string sits, as a JSON path relative to the scanned value, for
+ *              example {@code customer.phones[1]}; empty for the value itself
+ * @param types the detected PII types, as returned by {@link Security#detectPii(String)}
+ */
+public record PiiFinding(String path, List<String> types) {}
@@ -0,0 +1,265 @@
+package com.teracrafts.huefy.security;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass PII classifier.
+ *
+ * <p>Finds the same PII types as these patterns, searched anywhere in the text:</p>
+ * <pre>
+ * email        [a-zA-Z0-9._%+\-]+@[a-zA-Z0-9.\-]+\.[a-zA-Z]{2,}
+ * credit_card  \b(?:\d{4}[\s\-]?){3}\d{4}\b
+ * ssn          \b\d{3}-\d{2}-\d{4}\b
+ * phone        (?:\+?1[\s\-.]?)?\(?\d{3}\)?[\s\-.]?\d{3}[\s\-.]?\d{4}
+ * ip_address   \b(?:\d{1,3}\.){3}\d{1,3}\b
+ * </pre>
+ *
+ * <p>The text is swept once. Only an {@code @} or a digit starts a check. Every
+ * optional element in the digit patterns is followed by something it cannot be
+ * confused with, so each check is a fixed-length lookahead that never backtracks.
+ * Email domains are read to the end of their run, and runs after different {@code @}
+ * signs never overlap, so the total work stays linear in the length of the text. The
+ * phone pattern's optional {@code +1} prefix and opening parenthesis never decide
+ * whether it matches, so only the digits are checked. Word boundaries follow
+ * {@link java.util.regex.Pattern}: a word character is a letter, a digit or an
+ * underscore.</p>
+ *
+ * <p>Results are reported as a bit mask, and the list for each mask is built once, so a
+ * scan allocates nothing.</p>
+ */
+final class PiiScanner {
+
+    static final int EMAIL = 1;
+    static final int CREDIT_CARD = 1 << 1;
+    static final int SSN = 1 << 2;
+    static final int PHONE = 1 << 3;
+    static final int IP_ADDRESS = 1 << 4;
+
+    static final int ALL = (1 << 5) - 1;
+
+    private static final String[] TYPE_NAMES = {"email", "credit_card", "ssn", "phone", "ip_address"};
+
+    private static final List<List<String>> TYPES_BY_MASK = typesByMask();
+
+    private PiiScanner() {
+        // Utility class
+    }
+
+    /**
+     * Returns the PII types found in the text, in the order the types are listed above.
+     *
+     * @param text the text to scan
+     * @return the detected types, empty if none were found
+     */
+    static List<String> detect(CharSequence text) {
+        return types(scan(text, ALL));
+    }
+
+    /**
+     * Returns the type names for a mask returned by {@link #scan}.
+     *
+     * @param mask the PII type bits
+     * @return the type names, in the order the types are listed above
+     */
+    static List<String> types(int mask) {
+        return TYPES_BY_MASK.get(mask);
+    }
+
+    /**
+     * Scans the text until every type in {@code wanted} has been found.
+     *
+     * @param text   the text to scan
+     * @param wanted the PII type bits to stop after
+     * @return the PII type bits found
+     */
+    static int scan(CharSequence text, int wanted) {
+        int found = 0;
+        int n = text.length();
+        for (int i = 0; i < n && (found & wanted) != wanted; i++) {
+            char c = text.charAt(i);
+            if (c == '@') {
+                if ((found & EMAIL) == 0 && emailAt(text, i)) {
+                    found |= EMAIL;
+                }
+            } else if (isDigit(c)) {
+                if ((found & PHONE) == 0 && phoneAt(text, i)) {
+                    found |= PHONE;
+                }
+                if ((found & (CREDIT_CARD | SSN | IP_ADDRESS)) != (CREDIT_CARD | SSN | IP_ADDRESS)
+                        && boundaryBefore(text, i)) {
+                    if ((found & CREDIT_CARD) == 0 && creditCardAt(text, i)) {
+                        found |= CREDIT_CARD;
+                    }
+                    if ((found & SSN) == 0 && ssnAt(text, i)) {
+                        found |= SSN;
+                    }
+                    if ((found & IP_ADDRESS) == 0 && ipAddressAt(text, i)) {
+                        found |= IP_ADDRESS;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /** An email around the {@code @} at {@code at}: a local-part character before, a dotted domain after. */
+    private static boolean emailAt(CharSequence text, int at) {
+        if (at == 0 || !isLocalPart(text.charAt(at - 1))) {
+            return false;
+        }
+        int n = text.length();
+        for (int i = at + 1; i < n && isDomain(text.charAt(i)); i++) {
+            if (text.charAt(i) == '.' && i > at + 1 && i + 2 < n
+                    && isAsciiLetter(text.charAt(i + 1)) && isAsciiLetter(text.charAt(i + 2))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** {@code \d{3}\)?[\s\-.]?\d{3}[\s\-.]?\d{4}} starting at {@code start}. */
+    private static boolean phoneAt(CharSequence text, int start) {
+        int i = digits(text, start, 3);
+        if (i < 0) {
+            return false;
+        }
+        i = optional(text, i, ')');
+        i = optionalSeparator(text, i, true);
+        i = digits(text, i, 3);
+        if (i < 0) {
+            return false;
+        }
+        i = optionalSeparator(text, i, true);
+        return digits(text, i, 4) >= 0;
+    }
+
+    /** {@code (?:\d{4}[\s\-]?){3}\d{4}\b} starting at {@code start}. */
+    private static boolean creditCardAt(CharSequence text, int start) {
+        int i = start;
+        for (int group = 0; group < 3; group++) {
+            i = digits(text, i, 4);
+            if (i < 0) {
+                return false;
+            }
+            i = optionalSeparator(text, i, false);
+        }
+        i = digits(text, i, 4);
+        return i >= 0 && boundaryAfter(text, i);
+    }
+
+    /** {@code \d{3}-\d{2}-\d{4}\b} starting at {@code start}. */
+    private static boolean ssnAt(CharSequence text, int start) {
+        int i = digits(text, start, 3);
+        if (i < 0 || i >= text.length() || text.charAt(i) != '-') {
+            return false;
+        }
+        i = digits(text, i + 1, 2);
+        if (i < 0 || i >= text.length() || text.charAt(i) != '-') {
+            return false;
+        }
+        i = digits(text, i + 1, 4);
+        return i >= 0 && boundaryAfter(text, i);
+    }
+
+    /**
+     * {@code (?:\d{1,3}\.){3}\d{1,3}\b} starting at {@code start}. Each octet must be
+     * the whole digit run, since a shorter one would be followed by a digit.
+     */
+    private static boolean ipAddressAt(CharSequence text, int start) {
+        int i = start;
+        for (int octet = 0; octet < 3; octet++) {
+            i = octet(text, i);
+            if (i < 0 || i >= text.length() || text.charAt(i) != '.') {
+                return false;
+            }
+            i++;
+        }
+        i = octet(text, i);
+        return i >= 0 && boundaryAfter(text, i);
+    }
+
+    /** Index after a run of one to three digits at {@code start}, or -1. */
+    private static int octet(CharSequence text, int start) {
+        int n = text.length();
+        int i = start;
+        while (i < n && i - start < 4 && isDigit(text.charAt(i))) {
+            i++;
+        }
+        int length = i - start;
+        return length >= 1 && length <= 3 ? i : -1;
+    }
+
+    /** Index after exactly {@code count} digits at {@code start}, or -1. */
+    private static int digits(CharSequence text, int start, int count) {
+        if (start < 0 || start + count > text.length()) {
+            return -1;
+        }
+        for (int i = start; i < start + count; i++) {
+            if (!isDigit(text.charAt(i))) {
+                return -1;
+            }
+        }
+        return start + count;
+    }
+
+    private static int optional(CharSequence text, int i, char c) {
+        return i < text.length() && text.charAt(i) == c ? i + 1 : i;
+    }
+
+    /** Skips one {@code [\s\-]} character, or one {@code [\s\-.]} character when {@code dot} is set. */
+    private static int optionalSeparator(CharSequence text, int i, boolean dot) {
+        if (i >= text.length()) {
+            return i;
+        }
+        char c = text.charAt(i);
+        return isSpace(c) || c == '-' || (dot && c == '.') ? i + 1 : i;
+    }
+
+    private static boolean boundaryBefore(CharSequence text, int i) {
+        return i == 0 || !isWord(Character.codePointBefore(text, i));
+    }
+
+    private static boolean boundaryAfter(CharSequence text, int i) {
+        return i == text.length() || !isWord(Character.codePointAt(text, i));
+    }
+
+    private static boolean isWord(int codePoint) {
+        return codePoint == '_' || Character.isLetterOrDigit(codePoint);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /** {@code \s}: space, tab, newline, vertical tab, form feed or carriage return. */
+    private static boolean isSpace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isLocalPart(char c) {
+        return isAsciiLetter(c) || isDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isDomain(char c) {
+        return isAsciiLetter(c) || isDigit(c) || c == '.' || c == '-';
+    }
+
+    private static List<List<String>> typesByMask() {
+        List<List<String>> byMask = new ArrayList<>(ALL + 1);
+        for (int mask = 0; mask <= ALL; mask++) {
+            List<String> types = new ArrayList<>(TYPE_NAMES.length);
+            for (int bit = 0; bit < TYPE_NAMES.length; bit++) {
+                if ((mask & (1 << bit)) != 0) {
+                    types.add(TYPE_NAMES[bit]);
+                }
+            }
+            byMask.add(List.copyOf(types));
+        }
+        return List.copyOf(byMask);
+    }
+}
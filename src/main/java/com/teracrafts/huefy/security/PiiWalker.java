@@ -0,0 +1,184 @@
+package com.teracrafts.huefy.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.POJONode;
+
+import java.lang.reflect.Array;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds PII in the strings inside a structured value without serializing it.
+ *
+ * <p>Maps, collections, arrays and {@link JsonNode} trees are walked in place, and only
+ * their leaves are scanned: character sequences, {@code char[]} and numbers, the last in
+ * the decimal form they take in JSON. Booleans, enums and {@code byte[]} cannot hold
+ * the detected patterns and are skipped. Any other object is converted to a
+ * {@code JsonNode} with Jackson first, the only case that serializes, so it is checked
+ * with the properties it would be sent with. Map keys and object field names end up in
+ * the JSON as well, so string and number keys are scanned like leaves and reported under
+ * the path of their entry.</p>
+ *
+ * <p>The path to the current value is kept as a stack of keys and indices and rendered
+ * only for a hit. Walking stops descending at {@link #MAX_DEPTH}, which also ends a
+ * value that contains itself.</p>
+ */
+final class PiiWalker {
+
+    static final int MAX_DEPTH = 64;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final int maxLength;
+    private final List<Object> path = new ArrayList<>();
+    private List<PiiFinding> findings = List.of();
+
+    private PiiWalker(int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Returns the PII found in the value, in the order its strings are visited.
+     *
+     * @param value     the value to scan
+     * @param maxLength the maximum number of characters scanned per string
+     * @return the findings, empty if none
+     */
+    static List<PiiFinding> walk(Object value, int maxLength) {
+        PiiWalker walker = new PiiWalker(maxLength);
+        walker.visit(value);
+        return List.copyOf(walker.findings);
+    }
+
+    private void visit(Object value) {
+        if (value == null || value instanceof Boolean || value instanceof Enum<?> || value instanceof byte[]) {
+            return;
+        }
+        if (value instanceof CharSequence text) {
+            scan(text);
+        } else if (value instanceof Number number) {
+            if (!isShortIntegral(number)) {
+                scan(number.toString());
+            }
+        } else if (value instanceof char[] chars) {
+            scan(CharBuffer.wrap(chars));
+        } else if (path.size() >= MAX_DEPTH) {
+            return;
+        } else if (value instanceof JsonNode node) {
+            visitNode(node);
+        } else if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                visitEntry(entry.getKey(), entry.getValue());
+            }
+        } else if (value instanceof Collection<?> collection) {
+            int index = 0;
+            for (Object element : collection) {
+                visitChild(index++, element);
+            }
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                visitChild(i, Array.get(value, i));
+            }
+        } else {
+            JsonNode node;
+            try {
+                node = objectMapper.valueToTree(value);
+            } catch (IllegalArgumentException e) {
+                scan(String.valueOf(value));
+                return;
+            }
+            visitNode(node);
+        }
+    }
+
+    private void visitNode(JsonNode node) {
+        if (node.isTextual()) {
+            scan(node.textValue());
+        } else if (node.isNumber()) {
+            scan(node.asText());
+        } else if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                visitEntry(field.getKey(), field.getValue());
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                visitChild(i, node.get(i));
+            }
+        } else if (node instanceof POJONode pojo) {
+            visit(pojo.getPojo());
+        }
+    }
+
+    /**
+     * Whether the number is an integer of at most nine digits. Without separators, the
+     * shortest pattern to match needs ten digits, so such numbers are not rendered.
+     */
+    private static boolean isShortIntegral(Number number) {
+        if (number instanceof Integer || number instanceof Long || number instanceof Short
+                || number instanceof Byte) {
+            long value = number.longValue();
+            return value > -1_000_000_000L && value < 1_000_000_000L;
+        }
+        return false;
+    }
+
+    /** Scans a map key or field name that can hold PII, then visits its value, both under the key. */
+    private void visitEntry(Object key, Object value) {
+        path.add(String.valueOf(key));
+        try {
+            if (key instanceof CharSequence || key instanceof Number) {
+                visit(key);
+            }
+            visit(value);
+        } finally {
+            path.remove(path.size() - 1);
+        }
+    }
+
+    /** Visits a child under an element index. */
+    private void visitChild(int index, Object child) {
+        path.add(index);
+        try {
+            visit(child);
+        } finally {
+            path.remove(path.size() - 1);
+        }
+    }
+
+    private void scan(CharSequence text) {
+        if (text.length() > maxLength) {
+            text = CharBuffer.wrap(text, 0, maxLength);
+        }
+        int mask = PiiScanner.scan(text, PiiScanner.ALL);
+        if (mask == 0) {
+            return;
+        }
+        if (findings.isEmpty()) {
+            findings = new ArrayList<>();
+        }
+        findings.add(new PiiFinding(renderPath(), PiiScanner.types(mask)));
+    }
+
+    private String renderPath() {
+        StringBuilder rendered = new StringBuilder();
+        for (Object segment : path) {
+            if (segment instanceof Integer index) {
+                rendered.append('[').append(index).append(']');
+            } else {
+                if (!rendered.isEmpty()) {
+                    rendered.append('.');
+                }
+                rendered.append(segment);
+            }
+        }
+        return rendered.toString();
+    }
+}
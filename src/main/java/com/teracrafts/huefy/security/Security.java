@@ -5,12 +5,12 @@ import org.slf4j.LoggerFactory;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
 import java.util.List;
-import java.util.regex.Pattern;
 
 /**
  * Security utilities for the Huefy SDK.
@@ -23,29 +23,6 @@ public final class Security {
     private static final Logger logger = LoggerFactory.getLogger(Security.class);
     private static final String HMAC_ALGORITHM = "HmacSHA256";
 
-    private static final List<PiiPattern> PII_PATTERNS = List.of(
-            new PiiPattern(
-                    "email",
-                    Pattern.compile("[a-zA-Z0-9._%+\\-]+@[a-zA-Z0-9.\\-]+\\.[a-zA-Z]{2,}")
-            ),
-            new PiiPattern(
-                    "credit_card",
-                    Pattern.compile("\\b(?:\\d{4}[\\s\\-]?){3}\\d{4}\\b")
-            ),
-            new PiiPattern(
-                    "ssn",
-                    Pattern.compile("\\b\\d{3}-\\d{2}-\\d{4}\\b")
-            ),
-            new PiiPattern(
-                    "phone",
-                    Pattern.compile("(?:\\+?1[\\s\\-.]?)?\\(?\\d{3}\\)?[\\s\\-.]?\\d{3}[\\s\\-.]?\\d{4}")
-            ),
-            new PiiPattern(
-                    "ip_address",
-                    Pattern.compile("\\b(?:\\d{1,3}\\.){3}\\d{1,3}\\b")
-            )
-    );
-
     private Security() {
         // Utility class
     }
@@ -53,18 +30,57 @@ public final class Security {
     /**
      * Detects PII in the given text.
      *
+     * <p>The text is classified for all PII types in one linear pass; nothing is
+     * allocated when no PII is found.</p>
+     *
      * @param text the text to scan
-     * @return a list of detected PII types, empty if none found
+     * @return a list of detected PII types, in the order email, credit_card, ssn, phone,
+     *         ip_address; empty if none found
      */
     public static List<String> detectPii(String text) {
         if (text == null || text.isEmpty()) {
             return List.of();
         }
+        return PiiScanner.detect(text);
+    }
+
+    /**
+     * Detects PII in at most the first {@code maxLength} characters of the given text.
+     * The scan takes time linear in the length scanned, so the cap bounds it.
+     *
+     * @param text      the text to scan
+     * @param maxLength the maximum number of characters to scan
+     * @return a list of detected PII types, as for {@link #detectPii(String)}
+     * @throws IllegalArgumentException if maxLength is less than 1
+     */
+    public static List<String> detectPii(String text, int maxLength) {
+        if (maxLength < 1) {
+            throw new IllegalArgumentException("maxLength must be >= 1");
+        }
+        if (text != null && text.length() > maxLength) {
+            logger.debug("Scanning the first {} of {} characters for PII", maxLength, text.length());
+            // A view of the prefix, so capping a large string does not copy it
+            return PiiScanner.detect(CharBuffer.wrap(text, 0, maxLength));
+        }
+        return detectPii(text);
+    }
 
-        return PII_PATTERNS.stream()
-                .filter(p -> p.pattern().matcher(text).find())
-                .map(PiiPattern::type)
-                .toList();
+    /**
+     * Detects PII in the strings inside a structured value, such as a template data map,
+     * without serializing it. Maps, collections, arrays and Jackson trees are walked and
+     * each string leaf and number is scanned on its own, up to {@code maxLength}
+     * characters. Other objects are converted to a Jackson tree first.
+     *
+     * @param value     the value to scan
+     * @param maxLength the maximum number of characters to scan per string
+     * @return one finding per string with PII, with its path inside the value; empty if none found
+     * @throws IllegalArgumentException if maxLength is less than 1
+     */
+    public static List<PiiFinding> findPii(Object value, int maxLength) {
+        if (maxLength < 1) {
+            throw new IllegalArgumentException("maxLength must be >= 1");
+        }
+        return PiiWalker.walk(value, maxLength);
     }
 
     /**
@@ -110,6 +126,44 @@ public final class Security {
         }
     }
 
+    /**
+     * Generates the HMAC-SHA256 request signature over {@code timestamp + "." + body}.
+     *
+     * <p>The timestamp and body bytes are fed to the {@link Mac} directly, so the body is
+     * never copied into a concatenated string. The result equals
+     * {@code generateHmacSignature(timestamp + "." + new String(body, UTF_8), secret)}.</p>
+     *
+     * @param timestamp the request timestamp
+     * @param body      the UTF-8 request body (null is treated as empty)
+     * @param secret    the secret key
+     * @return the hex-encoded HMAC-SHA256 signature
+     * @throws IllegalArgumentException if timestamp or secret is null
+     * @throws RuntimeException         if HMAC computation fails
+     */
+    public static String generateHmacSignature(String timestamp, byte[] body, String secret) {
+        if (timestamp == null) {
+            throw new IllegalArgumentException("Timestamp must not be null");
+        }
+        if (secret == null) {
+            throw new IllegalArgumentException("Secret must not be null");
+        }
+
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            mac.update(timestamp.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) '.');
+            if (body != null) {
+                mac.update(body);
+            }
+            return HexFormat.of().formatHex(mac.doFinal());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("HMAC-SHA256 algorithm not available", e);
+        } catch (InvalidKeyException e) {
+            throw new RuntimeException("Invalid HMAC key", e);
+        }
+    }
+
     /**
      * Verifies an HMAC-SHA256 signature against a payload.
      *
@@ -168,6 +222,4 @@ public final class Security {
         }
         return result == 0;
     }
-
-    private record PiiPattern(String type, Pattern pattern) {}
 }
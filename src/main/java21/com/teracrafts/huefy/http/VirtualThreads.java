@@ -0,0 +1,36 @@
+package com.teracrafts.huefy.http;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Platform bridge for virtual threads.
+ *
+ * <p>Java 21 variant, packaged under {@code META-INF/versions/21} of the multi-release
+ * JAR.</p>
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+        // Utility class
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread per task.
+     *
+     * @return the executor
+     */
+    static ExecutorService newExecutor() {
+        return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("huefy-virtual-", 0).factory());
+    }
+
+    /**
+     * Closes a JDK HTTP client, waiting for in-flight exchanges to complete.
+     *
+     * @param httpClient the client to close
+     */
+    static void close(java.net.http.HttpClient httpClient) {
+        httpClient.close();
+    }
+}
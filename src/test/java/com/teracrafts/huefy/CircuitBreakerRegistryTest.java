@@ -0,0 +1,121 @@
+package com.teracrafts.huefy;
+
+import com.teracrafts.huefy.config.HuefyConfig;
+import com.teracrafts.huefy.errors.HuefyException;
+import com.teracrafts.huefy.http.CircuitBreaker;
+import com.teracrafts.huefy.http.CircuitBreakerRegistry;
+import com.teracrafts.huefy.models.EmailProvider;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link CircuitBreakerRegistry} class.
+ */
+class CircuitBreakerRegistryTest {
+
+    private final CircuitBreakerRegistry registry =
+            new CircuitBreakerRegistry(new HuefyConfig.CircuitBreakerConfig(2, 60000), 4);
+
+    @Test
+    @DisplayName("should return the same breaker for the same path and provider")
+    void shouldReuseBreakerPerKey() {
+        CircuitBreaker breaker = registry.get("/emails/send", EmailProvider.SES);
+
+        assertSame(breaker, registry.get("/emails/send", EmailProvider.SES));
+        assertSame(breaker, registry.get("/emails/send?dryRun=true", EmailProvider.SES));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    @DisplayName("should isolate failures by path and by provider")
+    void shouldIsolateFailures() {
+        CircuitBreaker mailgun = registry.get("/emails/send", EmailProvider.MAILGUN);
+        mailgun.recordFailure();
+        mailgun.recordFailure();
+
+        assertThrows(HuefyException.class, mailgun::ensureClosed);
+        assertDoesNotThrow(() -> registry.get("/emails/send", EmailProvider.SES).ensureClosed());
+        assertDoesNotThrow(() -> registry.get("/emails/send-bulk", EmailProvider.MAILGUN).ensureClosed());
+        assertDoesNotThrow(() -> registry.get("/health", null).ensureClosed());
+    }
+
+    @Test
+    @DisplayName("should share one overflow breaker beyond the limit")
+    void shouldShareOverflowBreaker() {
+        for (EmailProvider provider : EmailProvider.values()) {
+            registry.get("/emails/send", provider);
+        }
+        CircuitBreaker overflowA = registry.get("/emails/send", null);
+        CircuitBreaker overflowB = registry.get("/health", null);
+
+        assertEquals(4, registry.size());
+        assertSame(overflowA, overflowB);
+        assertNotSame(overflowA, registry.get("/emails/send", EmailProvider.SES));
+    }
+
+    @Test
+    @DisplayName("should recover provider breakers with trial requests instead of the health probe")
+    void shouldNotHealthProbeProviderBreakers() throws InterruptedException {
+        AtomicInteger probes = new AtomicInteger();
+        CircuitBreakerRegistry probing = new CircuitBreakerRegistry(
+                new HuefyConfig.CircuitBreakerConfig(1, 100, 1).withHealthProbeRecovery(), 4,
+                () -> {
+                    probes.incrementAndGet();
+                    return CompletableFuture.completedFuture(true);
+                }, false);
+        CircuitBreaker provider = probing.get("/emails/send", EmailProvider.SES);
+        CircuitBreaker route = probing.get("/emails/send", null);
+        provider.recordFailure();
+        route.recordFailure();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (route.getState() != CircuitBreaker.State.CLOSED && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, route.getState());
+        assertEquals(1, probes.get());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, provider.getState());
+        assertDoesNotThrow(provider::ensureClosed);
+        assertThrows(HuefyException.class, provider::ensureClosed);
+    }
+
+    @Test
+    @DisplayName("should stop health probes on the given scheduler once closed")
+    void shouldStopProbesOnClose() throws InterruptedException {
+        AtomicInteger probes = new AtomicInteger();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            CircuitBreakerRegistry probing = new CircuitBreakerRegistry(
+                    new HuefyConfig.CircuitBreakerConfig(1, 50, 1).withHealthProbeRecovery(), 4,
+                    () -> {
+                        probes.incrementAndGet();
+                        return CompletableFuture.completedFuture(false);
+                    }, false, scheduler);
+            probing.get("/emails/send", null).recordFailure();
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (probes.get() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            probing.close();
+            // a probe that had already started when close was called may still count
+            Thread.sleep(50);
+            int probed = probes.get();
+            Thread.sleep(300);
+
+            assertTrue(probed > 0);
+            assertEquals(probed, probes.get());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -10,6 +10,16 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -89,6 +99,24 @@ class CircuitBreakerTest {
             assertTrue(exception.isRecoverable());
         }
 
+        @Test
+        @DisplayName("should reject without a stack trace when configured")
+        void shouldRejectStacklessWhenConfigured() {
+            var stackless = new CircuitBreaker(new HuefyConfig.CircuitBreakerConfig(1, 60_000), null, true);
+            stackless.recordFailure();
+
+            HuefyException exception = assertThrows(HuefyException.class, stackless::ensureClosed);
+
+            assertEquals(ErrorCode.CIRCUIT_OPEN, exception.getCode());
+            assertEquals(0, exception.getStackTrace().length);
+            assertNotNull(exception.getRetryAfter());
+
+            for (int i = 0; i < 3; i++) {
+                circuitBreaker.recordFailure();
+            }
+            assertTrue(assertThrows(HuefyException.class, circuitBreaker::ensureClosed).getStackTrace().length > 0);
+        }
+
         @Test
         @DisplayName("should transition to HALF_OPEN after reset timeout")
         void shouldTransitionToHalfOpen() throws InterruptedException {
@@ -176,4 +204,313 @@ class CircuitBreakerTest {
             assertDoesNotThrow(() -> circuitBreaker.ensureClosed());
         }
     }
+
+    @Nested
+    @DisplayName("Failure Rate Mode")
+    class FailureRateMode {
+
+        private CircuitBreaker rateBreaker;
+
+        @BeforeEach
+        void setUp() {
+            // open at >= 30% failures over the last 10 calls, once 10 calls are recorded
+            rateBreaker = new CircuitBreaker(HuefyConfig.CircuitBreakerConfig.failureRate(30, 10, 10, 1000, 1));
+        }
+
+        private void record(int successes, int failures) {
+            for (int i = 0; i < successes; i++) {
+                rateBreaker.recordSuccess();
+            }
+            for (int i = 0; i < failures; i++) {
+                rateBreaker.recordFailure();
+            }
+        }
+
+        @Test
+        @DisplayName("should open on an interleaved 40% failure rate")
+        void shouldOpenOnInterleavedFailures() {
+            for (int i = 0; i < 2; i++) {
+                record(3, 2);
+            }
+
+            assertEquals(CircuitBreaker.State.OPEN, rateBreaker.getState());
+            assertThrows(HuefyException.class, () -> rateBreaker.ensureClosed());
+        }
+
+        @Test
+        @DisplayName("should not evaluate the rate before the minimum number of calls")
+        void shouldWaitForMinimumCalls() {
+            record(0, 5);
+
+            assertEquals(CircuitBreaker.State.CLOSED, rateBreaker.getState());
+        }
+
+        @Test
+        @DisplayName("should stay CLOSED below the failure rate threshold")
+        void shouldStayClosedBelowThreshold() {
+            for (int i = 0; i < 10; i++) {
+                record(8, 2);
+            }
+
+            assertEquals(CircuitBreaker.State.CLOSED, rateBreaker.getState());
+        }
+
+        @Test
+        @DisplayName("should slide old failures out of the window")
+        void shouldSlideOldFailuresOut() {
+            record(7, 2);
+            record(10, 0);
+            record(0, 2);
+
+            // Only the last 10 calls count: 8 successes, 2 failures
+            assertEquals(CircuitBreaker.State.CLOSED, rateBreaker.getState());
+        }
+
+        @Test
+        @DisplayName("should close after a half-open success and start a fresh window")
+        void shouldCloseAfterProbeWithFreshWindow() throws InterruptedException {
+            record(5, 5);
+            assertEquals(CircuitBreaker.State.OPEN, rateBreaker.getState());
+
+            Thread.sleep(1100);
+            assertDoesNotThrow(() -> rateBreaker.ensureClosed());
+            rateBreaker.recordSuccess();
+            assertEquals(CircuitBreaker.State.CLOSED, rateBreaker.getState());
+
+            record(0, 3);
+            assertEquals(CircuitBreaker.State.CLOSED, rateBreaker.getState());
+        }
+
+        @Test
+        @DisplayName("should reopen on a half-open failure")
+        void shouldReopenOnProbeFailure() throws InterruptedException {
+            record(5, 5);
+            Thread.sleep(1100);
+            assertEquals(CircuitBreaker.State.HALF_OPEN, rateBreaker.getState());
+
+            rateBreaker.recordFailure();
+
+            assertEquals(CircuitBreaker.State.OPEN, rateBreaker.getState());
+        }
+
+        @Test
+        @DisplayName("should reject invalid failure-rate settings")
+        void shouldRejectInvalidSettings() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> HuefyConfig.CircuitBreakerConfig.failureRate(0, 10, 5, 1000, 1));
+            assertThrows(IllegalArgumentException.class,
+                    () -> HuefyConfig.CircuitBreakerConfig.failureRate(50, 10, 11, 1000, 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Slow Calls")
+    class SlowCalls {
+
+        private CircuitBreaker slowBreaker;
+
+        @BeforeEach
+        void setUp() {
+            // calls of 500 ms or more are slow; open at >= 50% slow calls over the last 10
+            slowBreaker = new CircuitBreaker(HuefyConfig.CircuitBreakerConfig.failureRate(50, 10, 10, 1000, 1)
+                    .withSlowCalls(500, 50));
+        }
+
+        @Test
+        @DisplayName("should open on sustained slow successes")
+        void shouldOpenOnSlowSuccesses() {
+            for (int i = 0; i < 5; i++) {
+                slowBreaker.recordSuccess(20);
+                slowBreaker.recordSuccess(25_000);
+            }
+
+            assertEquals(CircuitBreaker.State.OPEN, slowBreaker.getState());
+        }
+
+        @Test
+        @DisplayName("should stay CLOSED below the slow-call rate")
+        void shouldStayClosedBelowSlowRate() {
+            for (int i = 0; i < 10; i++) {
+                slowBreaker.recordSuccess(i % 3 == 0 ? 600 : 20);
+            }
+
+            assertEquals(CircuitBreaker.State.CLOSED, slowBreaker.getState());
+        }
+
+        @Test
+        @DisplayName("should reopen on a slow half-open probe")
+        void shouldReopenOnSlowProbe() throws InterruptedException {
+            for (int i = 0; i < 10; i++) {
+                slowBreaker.recordSuccess(1000);
+            }
+            Thread.sleep(1100);
+            assertDoesNotThrow(() -> slowBreaker.ensureClosed());
+
+            slowBreaker.recordSuccess(1000);
+
+            assertEquals(CircuitBreaker.State.OPEN, slowBreaker.getState());
+        }
+
+        @Test
+        @DisplayName("should ignore durations when slow-call detection is off")
+        void shouldIgnoreDurationsWhenOff() {
+            for (int i = 0; i < 10; i++) {
+                circuitBreaker.recordSuccess(60_000);
+            }
+
+            assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+            assertThrows(IllegalStateException.class,
+                    () -> new HuefyConfig.CircuitBreakerConfig().withSlowCalls(500, 50));
+        }
+    }
+
+    @Nested
+    @DisplayName("Health Probe Recovery")
+    class HealthProbeRecovery {
+
+        private final AtomicInteger probes = new AtomicInteger();
+
+        private CircuitBreaker probingBreaker(CircuitBreaker.HealthProbe probe) {
+            // one failure opens, 100 ms reset timeout, two healthy probes in a row to close
+            var config = new HuefyConfig.CircuitBreakerConfig(1, 100, 2).withHealthProbeRecovery();
+            return new CircuitBreaker(config, () -> {
+                probes.incrementAndGet();
+                return probe.probe();
+            });
+        }
+
+        private void awaitState(CircuitBreaker breaker, CircuitBreaker.State state) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (breaker.getState() != state && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(state, breaker.getState());
+        }
+
+        @Test
+        @DisplayName("should close in the background after healthy probes")
+        void shouldCloseAfterHealthyProbes() throws InterruptedException {
+            CircuitBreaker breaker = probingBreaker(() -> CompletableFuture.completedFuture(true));
+            breaker.recordFailure();
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (probes.get() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(2, probes.get());
+            assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+            assertDoesNotThrow(breaker::ensureClosed);
+        }
+
+        @Test
+        @DisplayName("should reject real requests while probing")
+        void shouldRejectRequestsWhileProbing() throws InterruptedException {
+            CompletableFuture<Boolean> pending = new CompletableFuture<>();
+            CircuitBreaker breaker = probingBreaker(() -> pending);
+            breaker.recordFailure();
+
+            awaitState(breaker, CircuitBreaker.State.HALF_OPEN);
+            HuefyException ex = assertThrows(HuefyException.class, breaker::ensureClosed);
+            assertEquals(ErrorCode.CIRCUIT_OPEN, ex.getCode());
+            assertEquals(1, probes.get());
+        }
+
+        @Test
+        @DisplayName("should reopen on a failed probe and probe again later")
+        void shouldReopenOnFailedProbe() throws InterruptedException {
+            AtomicInteger calls = new AtomicInteger();
+            CircuitBreaker breaker = probingBreaker(() -> calls.incrementAndGet() == 1
+                    ? CompletableFuture.failedFuture(new IllegalStateException("down"))
+                    : CompletableFuture.completedFuture(true));
+            breaker.recordFailure();
+
+            awaitState(breaker, CircuitBreaker.State.CLOSED);
+            assertEquals(3, probes.get());
+        }
+
+        @Test
+        @DisplayName("should not probe after close")
+        void shouldNotProbeAfterClose() throws InterruptedException {
+            CircuitBreaker breaker = probingBreaker(() -> CompletableFuture.completedFuture(false));
+            breaker.recordFailure();
+            breaker.close();
+            Thread.sleep(300);
+
+            assertEquals(0, probes.get());
+            assertDoesNotThrow(breaker::ensureClosed);
+        }
+
+        @Test
+        @DisplayName("should probe with real requests without a health probe")
+        void shouldFallBackWithoutProbe() throws InterruptedException {
+            var config = new HuefyConfig.CircuitBreakerConfig(1, 100, 1).withHealthProbeRecovery();
+            CircuitBreaker breaker = new CircuitBreaker(config);
+            breaker.recordFailure();
+            Thread.sleep(150);
+
+            assertDoesNotThrow(breaker::ensureClosed);
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrency")
+    class Concurrency {
+
+        @Test
+        @DisplayName("should open exactly once and count every concurrent failure")
+        void shouldCountConcurrentFailures() throws Exception {
+            var breaker = new CircuitBreaker(new HuefyConfig.CircuitBreakerConfig(800, 60000));
+            runConcurrently(8, () -> {
+                for (int i = 0; i < 100; i++) {
+                    breaker.recordFailure();
+                }
+            });
+
+            assertEquals(800, breaker.getFailureCount());
+            assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        }
+
+        @Test
+        @DisplayName("should admit exactly the configured number of half-open probes")
+        void shouldAdmitConfiguredProbes() throws Exception {
+            var breaker = new CircuitBreaker(new HuefyConfig.CircuitBreakerConfig(1, 50, 3));
+            breaker.recordFailure();
+            Thread.sleep(100);
+
+            AtomicInteger admitted = new AtomicInteger();
+            runConcurrently(16, () -> {
+                try {
+                    breaker.ensureClosed();
+                    admitted.incrementAndGet();
+                } catch (HuefyException e) {
+                    assertEquals(ErrorCode.CIRCUIT_OPEN, e.getCode());
+                }
+            });
+
+            assertEquals(3, admitted.get());
+            assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        }
+
+        private void runConcurrently(int threads, Runnable task) throws Exception {
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    futures.add(pool.submit(() -> {
+                        start.await();
+                        task.run();
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
 }
@@ -0,0 +1,136 @@
+package com.teracrafts.huefy;
+
+import com.teracrafts.huefy.config.HuefyConfig;
+import com.teracrafts.huefy.errors.ErrorCode;
+import com.teracrafts.huefy.errors.HuefyException;
+import com.teracrafts.huefy.http.RetryHandler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link RetryHandler} class.
+ */
+class RetryHandlerTest {
+
+    private ScheduledExecutorService scheduler;
+    private RetryHandler retryHandler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        retryHandler = new RetryHandler(new HuefyConfig.RetryConfig(3, 10, 20), scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private static HuefyException recoverable() {
+        return new HuefyException("unavailable", ErrorCode.SERVICE_UNAVAILABLE, 503, true);
+    }
+
+    @Nested
+    @DisplayName("Asynchronous Retries")
+    class AsyncRetries {
+
+        @Test
+        @DisplayName("should retry recoverable failures until success")
+        void shouldRetryUntilSuccess() {
+            AtomicInteger attempts = new AtomicInteger();
+
+            String result = retryHandler.executeAsync(() -> attempts.incrementAndGet() < 3
+                    ? CompletableFuture.<String>failedFuture(recoverable())
+                    : CompletableFuture.completedFuture("ok")).join();
+
+            assertEquals("ok", result);
+            assertEquals(3, attempts.get());
+        }
+
+        @Test
+        @DisplayName("should not retry non-recoverable failures")
+        void shouldNotRetryNonRecoverable() {
+            AtomicInteger attempts = new AtomicInteger();
+
+            CompletableFuture<String> future = retryHandler.executeAsync(() -> {
+                attempts.incrementAndGet();
+                return CompletableFuture.failedFuture(
+                        new HuefyException("bad", ErrorCode.VALIDATION_ERROR, 400, false));
+            });
+
+            CompletionException error = assertThrows(CompletionException.class, future::join);
+            assertEquals(ErrorCode.VALIDATION_ERROR, ((HuefyException) error.getCause()).getCode());
+            assertEquals(1, attempts.get());
+        }
+
+        @Test
+        @DisplayName("should fail with the last error once retries are exhausted")
+        void shouldExhaustRetries() {
+            AtomicInteger attempts = new AtomicInteger();
+
+            CompletableFuture<String> future = retryHandler.executeAsync(() -> {
+                attempts.incrementAndGet();
+                return CompletableFuture.failedFuture(recoverable());
+            });
+
+            assertThrows(CompletionException.class, future::join);
+            assertEquals(4, attempts.get());
+        }
+
+        @Test
+        @DisplayName("should fail when a retried attempt throws instead of returning a future")
+        void shouldFailWhenRetryThrows() {
+            AtomicInteger attempts = new AtomicInteger();
+
+            CompletableFuture<String> future = retryHandler.executeAsync(() -> {
+                if (attempts.incrementAndGet() == 1) {
+                    return CompletableFuture.failedFuture(recoverable());
+                }
+                throw new IllegalStateException("boom");
+            });
+
+            CompletionException error = assertThrows(CompletionException.class,
+                    () -> future.orTimeout(5, TimeUnit.SECONDS).join());
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+            assertEquals(2, attempts.get());
+        }
+
+        @Test
+        @DisplayName("should cancel the pending retry timer when the future is cancelled")
+        void shouldCancelPendingRetry() {
+            ScheduledThreadPoolExecutor slowScheduler = new ScheduledThreadPoolExecutor(1);
+            slowScheduler.setRemoveOnCancelPolicy(true);
+            RetryHandler handler = new RetryHandler(new HuefyConfig.RetryConfig(3, 60000, 60000), slowScheduler);
+            AtomicInteger attempts = new AtomicInteger();
+
+            try {
+                CompletableFuture<String> future = handler.executeAsync(() -> {
+                    attempts.incrementAndGet();
+                    return CompletableFuture.failedFuture(recoverable());
+                });
+                assertEquals(1, slowScheduler.getQueue().size());
+
+                future.cancel(false);
+
+                assertEquals(0, slowScheduler.getQueue().size());
+                assertEquals(1, attempts.get());
+            } finally {
+                slowScheduler.shutdownNow();
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -183,6 +184,18 @@ class SecurityTest {
             String signature = Security.generateHmacSignature("original", "secret");
             assertFalse(Security.verifyHmacSignature("tampered", "secret", signature));
         }
+
+        @Test
+        @DisplayName("should sign timestamp and body bytes like the concatenated string")
+        void shouldSignBytesLikeConcatenatedString() {
+            String body = "{\"templateKey\":\"welcome\",\"name\":\"Zoë\"}";
+            String expected = Security.generateHmacSignature("1700000000000." + body, "secret");
+
+            assertEquals(expected, Security.generateHmacSignature(
+                    "1700000000000", body.getBytes(StandardCharsets.UTF_8), "secret"));
+            assertEquals(Security.generateHmacSignature("1700000000000.", "secret"),
+                    Security.generateHmacSignature("1700000000000", null, "secret"));
+        }
     }
 
     @Nested
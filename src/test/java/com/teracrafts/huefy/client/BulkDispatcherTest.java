@@ -0,0 +1,266 @@
+package com.teracrafts.huefy.client;
+
+import com.teracrafts.huefy.errors.ErrorCode;
+import com.teracrafts.huefy.errors.HuefyException;
+import com.teracrafts.huefy.models.BulkRecipient;
+import com.teracrafts.huefy.models.RecipientStatus;
+import com.teracrafts.huefy.models.SendBulkEmailsResponse;
+import com.teracrafts.huefy.models.SendBulkEmailsResponseData;
+import com.teracrafts.huefy.validators.EmailValidators;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkDispatcherTest {
+
+    private static List<BulkRecipient> recipients(int count) {
+        List<BulkRecipient> recipients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            recipients.add(new BulkRecipient("user" + i + "@example.com", null, null));
+        }
+        return recipients;
+    }
+
+    private static SendBulkEmailsResponse accepted(List<BulkRecipient> chunk, String batchId) {
+        List<RecipientStatus> statuses = chunk.stream()
+                .map(r -> new RecipientStatus(r.email(), "sent", "msg_" + r.email(), null, null))
+                .toList();
+        return new SendBulkEmailsResponse(true, new SendBulkEmailsResponseData(
+                batchId, "completed", "promo", 1, "noreply@example.com", true,
+                chunk.size(), chunk.size(), chunk.size(), 0, 0, null, null,
+                statuses, List.of(), Map.of()), "corr");
+    }
+
+    @Test
+    @DisplayName("chunk splits lists into compliant consecutive chunks")
+    void chunkSplitsLists() {
+        List<List<BulkRecipient>> chunks = BulkDispatcher.chunk(recipients(2501), 1000);
+
+        assertEquals(3, chunks.size());
+        assertEquals(1000, chunks.get(0).size());
+        assertEquals(501, chunks.get(2).size());
+        assertEquals("user2000@example.com", chunks.get(2).get(0).email());
+    }
+
+    @Test
+    @DisplayName("dispatch bounds in-flight chunks and merges counts and statuses in order")
+    void dispatchBoundsParallelismAndMerges() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger batch = new AtomicInteger();
+
+        BulkDispatcher dispatcher = new BulkDispatcher(chunk -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                inFlight.decrementAndGet();
+                return accepted(chunk, "batch_" + batch.incrementAndGet());
+            });
+        }, 2);
+
+        SendBulkEmailsResponse response = dispatcher.dispatch(BulkDispatcher.chunk(recipients(25), 10)).join();
+
+        assertTrue(maxInFlight.get() <= 2);
+        assertTrue(response.success());
+        assertEquals(25, response.data().totalRecipients());
+        assertEquals(25, response.data().successCount());
+        assertEquals(25, response.data().recipients().size());
+        assertEquals("user24@example.com", response.data().recipients().get(24).email());
+        assertEquals("completed", response.data().status());
+        assertEquals(3, response.data().metadata().get("chunkCount"));
+    }
+
+    @Test
+    @DisplayName("a failed chunk is reported as failed recipients without aborting the others")
+    void failedChunkIsReported() {
+        AtomicInteger calls = new AtomicInteger();
+        BulkDispatcher dispatcher = new BulkDispatcher(chunk -> calls.incrementAndGet() == 2
+                ? CompletableFuture.failedFuture(new HuefyException("boom", ErrorCode.SERVER_ERROR, 500, true))
+                : CompletableFuture.completedFuture(accepted(chunk, "batch")), 1);
+
+        SendBulkEmailsResponse response = dispatcher.dispatch(BulkDispatcher.chunk(recipients(30), 10)).join();
+
+        assertFalse(response.success());
+        assertEquals("partial", response.data().status());
+        assertEquals(20, response.data().successCount());
+        assertEquals(10, response.data().failureCount());
+        assertEquals("failed", response.data().recipients().get(10).status());
+        assertEquals(1, response.data().errors().size());
+    }
+
+    @Test
+    @DisplayName("dispatch fails when every chunk fails")
+    void dispatchFailsWhenAllChunksFail() {
+        BulkDispatcher dispatcher = new BulkDispatcher(chunk -> CompletableFuture.failedFuture(
+                new HuefyException("denied", ErrorCode.AUTHENTICATION_ERROR, 401, false)), 4);
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> dispatcher.dispatch(BulkDispatcher.chunk(recipients(20), 10)).join());
+        assertEquals(ErrorCode.AUTHENTICATION_ERROR, ((HuefyException) error.getCause()).getCode());
+    }
+
+    @Test
+    @DisplayName("dispatch loops over chunks that fail immediately without growing the stack")
+    void dispatchSurvivesManyImmediateFailures() {
+        BulkDispatcher dispatcher = new BulkDispatcher(chunk -> CompletableFuture.failedFuture(
+                new HuefyException("open", ErrorCode.CIRCUIT_OPEN, null, false)), 1);
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> dispatcher.dispatch(BulkDispatcher.chunk(recipients(100_000), 1)).join());
+        assertEquals(ErrorCode.CIRCUIT_OPEN, ((HuefyException) error.getCause()).getCode());
+    }
+
+    @Test
+    @DisplayName("streaming dispatch pulls lazily, rejects invalid recipients and keeps only counts")
+    void streamingDispatchFromIterator() {
+        AtomicInteger pulled = new AtomicInteger();
+        AtomicInteger maxAhead = new AtomicInteger();
+        AtomicInteger sent = new AtomicInteger();
+        List<SendBulkEmailsResponse> chunkResponses = new ArrayList<>();
+        List<BulkRecipient> source = new ArrayList<>(recipients(95));
+        source.set(42, new BulkRecipient("not-an-email", null, null));
+
+        Iterator<BulkRecipient> iterator = new Iterator<>() {
+            private final Iterator<BulkRecipient> delegate = source.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public BulkRecipient next() {
+                maxAhead.accumulateAndGet(pulled.incrementAndGet() - sent.get(), Math::max);
+                return delegate.next();
+            }
+        };
+
+        BulkDispatcher dispatcher = new BulkDispatcher(chunk -> CompletableFuture.supplyAsync(() -> {
+            sent.addAndGet(chunk.size());
+            return accepted(chunk, "batch");
+        }), 2);
+
+        SendBulkEmailsResponse summary = dispatcher.dispatch(
+                BulkChunkSource.fromIterator(iterator, 10),
+                EmailValidators::validateBulkRecipient,
+                response -> {
+                    synchronized (chunkResponses) {
+                        chunkResponses.add(response);
+                    }
+                }).join();
+
+        assertTrue(maxAhead.get() <= 30, "pulled too far ahead: " + maxAhead.get());
+        assertEquals(95, summary.data().totalRecipients());
+        assertEquals(94, summary.data().successCount());
+        assertEquals(1, summary.data().failureCount());
+        assertTrue(summary.data().recipients().isEmpty());
+        assertEquals(10, chunkResponses.size());
+        assertEquals(95, chunkResponses.stream().mapToInt(r -> r.data().recipients().size()).sum());
+    }
+
+    @Test
+    @DisplayName("streaming dispatch requests publisher items one chunk at a time")
+    void streamingDispatchFromPublisher() {
+        AtomicLong maxOutstanding = new AtomicLong();
+        AtomicLong requested = new AtomicLong();
+        AtomicInteger delivered = new AtomicInteger();
+        List<BulkRecipient> source = recipients(35);
+
+        Flow.Publisher<BulkRecipient> publisher = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            private int index;
+
+            @Override
+            public synchronized void request(long n) {
+                maxOutstanding.accumulateAndGet(requested.addAndGet(n) - delivered.get(), Math::max);
+                for (long i = 0; i < n && index < source.size(); i++) {
+                    delivered.incrementAndGet();
+                    subscriber.onNext(source.get(index++));
+                }
+                if (index == source.size()) {
+                    subscriber.onComplete();
+                }
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+
+        BulkDispatcher dispatcher = new BulkDispatcher(
+                chunk -> CompletableFuture.supplyAsync(() -> accepted(chunk, "batch")), 3);
+
+        SendBulkEmailsResponse summary = dispatcher.dispatch(
+                BulkChunkSource.fromPublisher(publisher, 10),
+                EmailValidators::validateBulkRecipient,
+                null).join();
+
+        assertEquals(10, maxOutstanding.get());
+        assertEquals(35, summary.data().totalRecipients());
+        assertEquals(35, summary.data().successCount());
+        assertEquals(4, summary.data().metadata().get("chunkCount"));
+    }
+
+    @Test
+    @DisplayName("streaming dispatch loops over chunks that fail immediately without growing the stack")
+    void streamingDispatchSurvivesManyImmediateFailures() {
+        AtomicInteger chunks = new AtomicInteger();
+        BulkDispatcher dispatcher = new BulkDispatcher(chunk -> CompletableFuture.failedFuture(
+                new HuefyException("open", ErrorCode.CIRCUIT_OPEN, null, false)), 2);
+
+        CompletionException error = assertThrows(CompletionException.class, () -> dispatcher.dispatch(
+                BulkChunkSource.fromIterator(recipients(100_000).iterator(), 1),
+                EmailValidators::validateBulkRecipient,
+                response -> chunks.incrementAndGet()).join());
+        assertEquals(ErrorCode.CIRCUIT_OPEN, ((HuefyException) error.getCause()).getCode());
+        assertEquals(100_000, chunks.get());
+    }
+
+    @Test
+    @DisplayName("streaming dispatch keeps a bounded prefix of errors and batch ids")
+    void streamingSummaryStaysBounded() {
+        AtomicInteger batches = new AtomicInteger();
+        AtomicInteger listenedErrors = new AtomicInteger();
+        BulkDispatcher dispatcher = new BulkDispatcher(chunk -> {
+            String batchId = "batch_" + batches.incrementAndGet();
+            return CompletableFuture.completedFuture(new SendBulkEmailsResponse(true, new SendBulkEmailsResponseData(
+                    batchId, "completed", "promo", 1, "noreply@example.com", true,
+                    chunk.size(), chunk.size(), chunk.size(), 0, 0, null, null,
+                    List.of(), List.of(Map.of("message", "bounced later")), Map.of()), "corr"));
+        }, 2);
+
+        int chunks = BulkDispatcher.SUMMARY_LIMIT + 150;
+        SendBulkEmailsResponse summary = dispatcher.dispatch(
+                BulkChunkSource.fromIterator(recipients(chunks).iterator(), 1),
+                EmailValidators::validateBulkRecipient,
+                response -> listenedErrors.addAndGet(response.data().errors().size())).join();
+
+        assertEquals(chunks, listenedErrors.get());
+        assertEquals(BulkDispatcher.SUMMARY_LIMIT, summary.data().errors().size());
+        assertEquals(150, summary.data().metadata().get("droppedErrors"));
+        assertEquals(BulkDispatcher.SUMMARY_LIMIT, ((List<?>) summary.data().metadata().get("batchIds")).size());
+        assertEquals(150, summary.data().metadata().get("droppedBatchIds"));
+    }
+
+    @Test
+    @DisplayName("streaming dispatch rejects an empty source")
+    void streamingDispatchRejectsEmptySource() {
+        BulkDispatcher dispatcher = new BulkDispatcher(
+                chunk -> CompletableFuture.completedFuture(accepted(chunk, "batch")), 2);
+
+        CompletionException error = assertThrows(CompletionException.class, () -> dispatcher.dispatch(
+                BulkChunkSource.fromIterator(List.<BulkRecipient>of().iterator(), 10),
+                EmailValidators::validateBulkRecipient,
+                null).join());
+        assertEquals(ErrorCode.VALIDATION_ERROR, ((HuefyException) error.getCause()).getCode());
+    }
+}
@@ -0,0 +1,83 @@
+package com.teracrafts.huefy.client;
+
+import com.teracrafts.huefy.config.HuefyConfig;
+import com.teracrafts.huefy.errors.ErrorCode;
+import com.teracrafts.huefy.errors.HuefyException;
+import com.teracrafts.huefy.models.SendEmailRequest;
+import com.teracrafts.huefy.models.SendEmailResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HuefyEmailClientAsyncTest {
+
+    private SendServer server;
+    private HuefyEmailClient client;
+    private final AtomicInteger failuresBeforeSuccess = new AtomicInteger();
+    private final AtomicInteger sendCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new SendServer(exchange -> {
+            sendCalls.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            boolean fail = failuresBeforeSuccess.getAndDecrement() > 0;
+            SendServer.respond(exchange, fail ? 503 : 200,
+                    fail ? "{\"error\":\"unavailable\"}" : SendServer.SEND_RESPONSE);
+        });
+
+        client = new HuefyEmailClient(server.config()
+                .retryConfig(new HuefyConfig.RetryConfig(2, 10, 20))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+        server.close();
+    }
+
+    @Test
+    @DisplayName("sendEmailAsync completes with the decoded response")
+    void sendEmailAsyncCompletes() {
+        SendEmailResponse response = client.sendEmailAsync(
+                new SendEmailRequest("welcome", Map.of("name", "John"), "john@example.com")).join();
+
+        assertTrue(response.success());
+        assertEquals("email_1", response.data().emailId());
+        assertEquals("corr_1", response.correlationId());
+    }
+
+    @Test
+    @DisplayName("sendEmailAsync retries recoverable failures")
+    void sendEmailAsyncRetries() {
+        failuresBeforeSuccess.set(2);
+
+        SendEmailResponse response = client.sendEmailAsync(
+                new SendEmailRequest("welcome", Map.of(), "john@example.com")).join();
+
+        assertEquals("email_1", response.data().emailId());
+        assertEquals(3, sendCalls.get());
+    }
+
+    @Test
+    @DisplayName("sendEmailAsync fails the future on validation errors without sending")
+    void sendEmailAsyncRejectsInvalidInput() {
+        var future = client.sendEmailAsync(new SendEmailRequest("welcome", Map.of(), "not-an-email"));
+
+        CompletionException error = assertThrows(CompletionException.class, future::join);
+        HuefyException cause = assertInstanceOf(HuefyException.class, error.getCause());
+        assertEquals(ErrorCode.VALIDATION_ERROR, cause.getCode());
+        assertEquals(0, sendCalls.get());
+    }
+}
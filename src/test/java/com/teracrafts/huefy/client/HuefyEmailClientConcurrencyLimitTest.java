@@ -0,0 +1,132 @@
+package com.teracrafts.huefy.client;
+
+import com.teracrafts.huefy.config.HuefyConfig;
+import com.teracrafts.huefy.errors.ErrorCode;
+import com.teracrafts.huefy.models.SendEmailResponse;
+import com.teracrafts.huefy.models.SendResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.teracrafts.huefy.client.SendServer.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HuefyEmailClientConcurrencyLimitTest {
+
+    private SendServer server;
+    private HuefyEmailClient client;
+    private final CountDownLatch arrived = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile int rateLimitedCall;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new SendServer(exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            if (calls.incrementAndGet() == rateLimitedCall) {
+                exchange.sendResponseHeaders(429, -1);
+                exchange.close();
+                return;
+            }
+            arrived.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            SendServer.respond(exchange, 200, SendServer.SEND_RESPONSE);
+        }, Executors.newCachedThreadPool());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (client != null) {
+            client.close();
+        }
+        server.close();
+    }
+
+    private HuefyEmailClient client(HuefyConfig.ConcurrencyLimitConfig concurrencyLimitConfig) {
+        client = new HuefyEmailClient(server.config()
+                .timeout(5000)
+                .concurrencyLimitConfig(concurrencyLimitConfig)
+                .build());
+        return client;
+    }
+
+    @Test
+    @DisplayName("reports no limit when none is configured")
+    void noLimitByDefault() {
+        assertNull(client(null).getConcurrencyLimitInfo());
+    }
+
+    @Test
+    @DisplayName("sheds sends over the limit once the queue is full")
+    void shedsOverLimit() throws InterruptedException {
+        HuefyEmailClient client = client(new HuefyConfig.ConcurrencyLimitConfig(1, 1, 1).withQueue(0, 0));
+        CompletableFuture<SendEmailResponse> first = client.sendEmailAsync(request());
+        assertTrue(arrived.await(5, TimeUnit.SECONDS));
+
+        SendResult<SendEmailResponse> second = client.trySendEmail(request());
+
+        assertEquals(ErrorCode.CONCURRENCY_LIMIT_EXCEEDED,
+                assertInstanceOf(SendResult.Rejected.class, second).code());
+        assertEquals(1, client.getConcurrencyLimitInfo().inFlight());
+
+        release.countDown();
+        assertTrue(first.join().success());
+        assertEquals(0, client.getConcurrencyLimitInfo().inFlight());
+    }
+
+    @Test
+    @DisplayName("queues sends over the limit until a slot frees up")
+    void queuesOverLimit() throws InterruptedException {
+        HuefyEmailClient client = client(new HuefyConfig.ConcurrencyLimitConfig(1, 1, 1));
+        CompletableFuture<SendEmailResponse> first = client.sendEmailAsync(request());
+        assertTrue(arrived.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<SendEmailResponse> second = client.sendEmailAsync(request());
+        assertEquals(1, client.getConcurrencyLimitInfo().queued());
+
+        release.countDown();
+        assertTrue(first.join().success());
+        assertTrue(second.join().success());
+        assertEquals(0, client.getConcurrencyLimitInfo().queued());
+    }
+
+    @Test
+    @DisplayName("a rate limit probe shed by the limiter hands the probe to the next send")
+    void shedProbeDoesNotWedgeThePause() throws InterruptedException {
+        // The 429 cuts the limit from 2 to 1, which the blocked first send keeps in use
+        HuefyEmailClient client = client(new HuefyConfig.ConcurrencyLimitConfig(2, 1, 2).withQueue(0, 0));
+        rateLimitedCall = 2;
+        CompletableFuture<SendEmailResponse> first = client.sendEmailAsync(request());
+        assertTrue(arrived.await(5, TimeUnit.SECONDS));
+        assertEquals(ErrorCode.RATE_LIMIT_ERROR,
+                assertInstanceOf(SendResult.Failure.class, client.trySendEmail(request())).toException().getCode());
+
+        SendResult<SendEmailResponse> probe = client.trySendEmail(request());
+        long start = System.nanoTime();
+        SendResult<SendEmailResponse> next = client.trySendEmail(request());
+
+        assertEquals(ErrorCode.CONCURRENCY_LIMIT_EXCEEDED,
+                assertInstanceOf(SendResult.Rejected.class, probe).code());
+        assertEquals(ErrorCode.CONCURRENCY_LIMIT_EXCEEDED,
+                assertInstanceOf(SendResult.Rejected.class, next).code());
+        assertTrue(System.nanoTime() - start < 1_000_000_000L, "the next send should not park");
+
+        release.countDown();
+        assertTrue(first.join().success());
+        assertTrue(client.sendEmail(request()).success());
+    }
+}
@@ -1,12 +1,14 @@
 package com.teracrafts.huefy.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.teracrafts.huefy.models.EmailProvider;
 import com.teracrafts.huefy.models.BulkRecipient;
 import com.teracrafts.huefy.models.SendEmailRecipient;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -14,10 +16,12 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class HuefyEmailClientContractTest {
 
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
     @Test
     @DisplayName("single-send body uses camelCase transport keys and preserves JSON values")
-    void singleSendBodyUsesCamelCaseKeys() {
-        JsonNode body = HuefyEmailClient.buildSendEmailBody(
+    void singleSendBodyUsesCamelCaseKeys() throws IOException {
+        JsonNode body = objectMapper.readTree(RequestBodyWriter.writeSendEmail(
                 "welcome",
                 Map.of(
                         "name", "John",
@@ -27,7 +31,7 @@ class HuefyEmailClientContractTest {
                 ),
                 "john@example.com",
                 EmailProvider.SENDGRID
-        );
+        ));
 
         assertEquals("welcome", body.get("templateKey").asText());
         assertEquals("john@example.com", body.get("recipient").asText());
@@ -44,13 +48,13 @@ class HuefyEmailClientContractTest {
 
     @Test
     @DisplayName("single-send body encodes recipient objects without losing data")
-    void singleSendBodyEncodesRecipientObject() {
-        JsonNode body = HuefyEmailClient.buildSendEmailBody(
+    void singleSendBodyEncodesRecipientObject() throws IOException {
+        JsonNode body = objectMapper.readTree(RequestBodyWriter.writeSendEmail(
                 "welcome",
                 Map.of("name", "John"),
                 new SendEmailRecipient("john@example.com", "cc", Map.of("segment", "vip")),
                 EmailProvider.SES
-        );
+        ));
 
         JsonNode recipient = body.get("recipient");
         assertTrue(recipient.isObject());
@@ -0,0 +1,117 @@
+package com.teracrafts.huefy.client;
+
+import com.teracrafts.huefy.config.HuefyConfig;
+import com.teracrafts.huefy.errors.ErrorCode;
+import com.teracrafts.huefy.errors.HuefyException;
+import com.teracrafts.huefy.models.SendEmailResponse;
+import com.teracrafts.huefy.models.SendResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.teracrafts.huefy.client.SendServer.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HuefyEmailClientRateLimitTest {
+
+    private SendServer server;
+    private HuefyEmailClient client;
+    private final AtomicInteger sendCalls = new AtomicInteger();
+    private final AtomicInteger remaining = new AtomicInteger(2);
+    private final AtomicLong resetAt = new AtomicLong(Instant.now().getEpochSecond() + 60);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new SendServer(exchange -> {
+            sendCalls.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("X-RateLimit-Limit", "2");
+            exchange.getResponseHeaders().add("X-RateLimit-Remaining",
+                    String.valueOf(Math.max(0, remaining.decrementAndGet())));
+            exchange.getResponseHeaders().add("X-RateLimit-Reset", String.valueOf(resetAt.get()));
+            SendServer.respond(exchange, 200, SendServer.SEND_RESPONSE);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+        server.close();
+    }
+
+    private HuefyEmailClient client(HuefyConfig.RateLimiterConfig rateLimiterConfig) {
+        client = new HuefyEmailClient(server.config()
+                .rateLimiterConfig(rateLimiterConfig)
+                .build());
+        return client;
+    }
+
+    @Test
+    @DisplayName("fails fast without sending once the reported quota is used up")
+    void failsFastWhenQuotaUsed() {
+        HuefyEmailClient client = client(HuefyConfig.RateLimiterConfig.failFast());
+        client.sendEmail(request());
+        client.sendEmail(request());
+
+        HuefyException e = assertThrows(HuefyException.class, () -> client.sendEmail(request()));
+        SendResult<SendEmailResponse> result = client.trySendEmail(request());
+
+        assertEquals(ErrorCode.RATE_LIMIT_ERROR, e.getCode());
+        assertTrue(e.getRetryAfter() > 0);
+        assertEquals(ErrorCode.RATE_LIMIT_ERROR, assertInstanceOf(SendResult.Rejected.class, result).code());
+        assertEquals(2, sendCalls.get());
+    }
+
+    @Test
+    @DisplayName("keeps the latest rate limit snapshot without callbacks or a limiter")
+    void tracksRateLimitSnapshot() {
+        HuefyEmailClient client = client(null);
+        assertNull(client.getRateLimitInfo());
+
+        client.sendEmail(request());
+        client.sendEmail(request());
+
+        assertEquals(2, client.getRateLimitInfo().limit());
+        assertEquals(0, client.getRateLimitInfo().remaining());
+        assertEquals(resetAt.get(), client.getRateLimitInfo().resetAt().getEpochSecond());
+    }
+
+    @Test
+    @DisplayName("waits for the window to reset in wait mode")
+    void waitsForReset() {
+        resetAt.set(Instant.now().getEpochSecond() + 1);
+        remaining.set(1);
+        HuefyEmailClient client = client(new HuefyConfig.RateLimiterConfig(
+                HuefyConfig.RateLimiterConfig.OnLimit.WAIT, 5000));
+        client.sendEmail(request());
+
+        long start = System.nanoTime();
+        SendEmailResponse response = client.sendEmailAsync(request()).join();
+
+        assertTrue(response.success());
+        assertTrue(System.nanoTime() - start > 50_000_000L, "the second send should have waited");
+        assertEquals(2, sendCalls.get());
+    }
+
+    @Test
+    @DisplayName("fails when the reset is further away than the maximum wait")
+    void failsBeyondMaxWait() {
+        remaining.set(1);
+        HuefyEmailClient client = client(new HuefyConfig.RateLimiterConfig(
+                HuefyConfig.RateLimiterConfig.OnLimit.WAIT, 100));
+        client.sendEmail(request());
+
+        HuefyException e = assertThrows(HuefyException.class, () -> client.sendEmail(request()));
+
+        assertEquals(ErrorCode.RATE_LIMIT_ERROR, e.getCode());
+        assertEquals(1, sendCalls.get());
+    }
+}
@@ -0,0 +1,113 @@
+package com.teracrafts.huefy.client;
+
+import com.teracrafts.huefy.config.HuefyConfig;
+import com.teracrafts.huefy.errors.ErrorCode;
+import com.teracrafts.huefy.models.SendEmailRequest;
+import com.teracrafts.huefy.models.SendEmailResponse;
+import com.teracrafts.huefy.models.SendResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.teracrafts.huefy.client.SendServer.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HuefyEmailClientTrySendTest {
+
+    private SendServer server;
+    private HuefyEmailClient client;
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger sendCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new SendServer(exchange -> {
+            sendCalls.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            boolean fail = failures.getAndDecrement() > 0;
+            exchange.getResponseHeaders().add("X-Request-Id", "req_1");
+            SendServer.respond(exchange, fail ? 503 : 200,
+                    fail ? "{\"error\":\"unavailable\"}" : SendServer.SEND_RESPONSE);
+        });
+
+        client = new HuefyEmailClient(server.config()
+                .circuitBreakerConfig(new HuefyConfig.CircuitBreakerConfig(2, 60_000))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+        server.close();
+    }
+
+    @Test
+    @DisplayName("trySendEmail returns the response on success")
+    void successCarriesResponse() {
+        SendResult<SendEmailResponse> result = client.trySendEmail(request());
+
+        assertTrue(result.isSuccess());
+        SendEmailResponse response = ((SendResult.Success<SendEmailResponse>) result).response();
+        assertEquals("email_1", response.data().emailId());
+    }
+
+    @Test
+    @DisplayName("trySendEmail reports invalid input without sending")
+    void invalidInputIsValidationFailure() {
+        SendResult<SendEmailResponse> result = client.trySendEmail(
+                new SendEmailRequest("", Map.of(), "not-an-email"));
+
+        var failure = assertInstanceOf(SendResult.ValidationFailure.class, result);
+        assertEquals(ErrorCode.VALIDATION_ERROR, failure.code());
+        assertEquals(0, sendCalls.get());
+    }
+
+    @Test
+    @DisplayName("trySendEmail reports error responses as transport failures")
+    void errorResponseIsTransportFailure() {
+        failures.set(1);
+
+        SendResult<SendEmailResponse> result = client.trySendEmail(request());
+
+        var failure = assertInstanceOf(SendResult.TransportFailure.class, result);
+        assertEquals(ErrorCode.SERVICE_UNAVAILABLE, failure.code());
+        assertEquals(503, failure.statusCode());
+        assertTrue(failure.recoverable());
+    }
+
+    @Test
+    @DisplayName("trySendEmail reports an open circuit as a rejection without sending")
+    void openCircuitIsRejection() {
+        failures.set(2);
+        client.trySendEmail(request());
+        client.trySendEmail(request());
+
+        SendResult<SendEmailResponse> result = client.trySendEmail(request());
+
+        var rejected = assertInstanceOf(SendResult.Rejected.class, result);
+        assertEquals(ErrorCode.CIRCUIT_OPEN, rejected.code());
+        assertNotNull(rejected.retryAfter());
+        assertTrue(rejected.retryAfter() > 0);
+        assertEquals(2, sendCalls.get());
+        assertEquals(ErrorCode.CIRCUIT_OPEN, rejected.toException().getCode());
+    }
+
+    @Test
+    @DisplayName("trySendEmailAsync never completes exceptionally")
+    void asyncFailuresAreResults() {
+        failures.set(1);
+
+        SendResult<SendEmailResponse> failed = client.trySendEmailAsync(request()).join();
+        SendResult<SendEmailResponse> succeeded = client.trySendEmailAsync(request()).join();
+
+        assertInstanceOf(SendResult.TransportFailure.class, failed);
+        assertTrue(succeeded.isSuccess());
+    }
+}
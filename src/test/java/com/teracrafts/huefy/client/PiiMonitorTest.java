@@ -0,0 +1,113 @@
+package com.teracrafts.huefy.client;
+
+import com.teracrafts.huefy.config.HuefyConfig.PiiScanConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PiiMonitorTest {
+
+    private static final Map<String, Object> DATA = Map.of(
+            "name", "Jane",
+            "customer", Map.of("email", "jane@example.com"),
+            "items", List.of(Map.of("phone", "(555) 123-4567"), Map.of("phone", "555-123-4567")));
+
+    @Test
+    @DisplayName("counts sends with findings per field, folding list indices")
+    void countsPerField() {
+        PiiMonitor monitor = new PiiMonitor(new PiiScanConfig(), 1000, Runnable::run);
+
+        monitor.check(DATA, Map.of("ssn", "123-45-6789"));
+        monitor.check(DATA, null);
+
+        assertEquals(Map.of(
+                "data.customer.email", 2L,
+                "data.items[*].phone", 2L,
+                "recipient.data.ssn", 1L
+        ), monitor.counts());
+    }
+
+    @Test
+    @DisplayName("checks nothing when off")
+    void off() {
+        PiiMonitor monitor = new PiiMonitor(PiiScanConfig.off(), 1000, Runnable::run);
+
+        monitor.check(DATA, null);
+
+        assertEquals(Map.of(), monitor.counts());
+    }
+
+    @Test
+    @DisplayName("checks one in every N sends when sampled")
+    void sampled() {
+        PiiMonitor monitor = new PiiMonitor(PiiScanConfig.sampled(3), 1000, Runnable::run);
+
+        for (int i = 0; i < 9; i++) {
+            monitor.check(Map.of("email", "a@example.com"), null);
+        }
+
+        assertEquals(Map.of("data.email", 3L), monitor.counts());
+    }
+
+    @Test
+    @DisplayName("checks in the background and skips sends beyond the queue bound")
+    void async() {
+        List<Runnable> tasks = new ArrayList<>();
+        PiiMonitor monitor = new PiiMonitor(PiiScanConfig.async(2), 1000, tasks::add);
+
+        for (int i = 0; i < 3; i++) {
+            monitor.check(Map.of("email", "a@example.com"), null);
+        }
+        assertEquals(Map.of(), monitor.counts());
+        assertEquals(2, tasks.size());
+
+        tasks.forEach(Runnable::run);
+        monitor.check(Map.of("email", "a@example.com"), null);
+        tasks.get(2).run();
+
+        assertEquals(Map.of("data.email", 3L), monitor.counts());
+    }
+
+    @Test
+    @DisplayName("a background check sees the data as it was at send time")
+    void asyncChecksSnapshot() {
+        List<Runnable> tasks = new ArrayList<>();
+        PiiMonitor monitor = new PiiMonitor(PiiScanConfig.async(10), 1000, tasks::add);
+        Map<String, Object> data = new HashMap<>(Map.of("email", "a@example.com"));
+        Map<String, Object> recipientData = new HashMap<>();
+
+        monitor.check(data, recipientData);
+        data.clear();
+        recipientData.put("ssn", "123-45-6789");
+        tasks.forEach(Runnable::run);
+
+        assertEquals(Map.of("data.email", 1L), monitor.counts());
+    }
+
+    @Test
+    @DisplayName("counts fields beyond the limit together")
+    void limitsFields() {
+        PiiMonitor monitor = new PiiMonitor(new PiiScanConfig(), 1000, Runnable::run);
+
+        for (int i = 0; i <= PiiMonitor.MAX_FIELDS; i++) {
+            monitor.check(Map.of("email" + i, "a@example.com"), null);
+        }
+
+        Map<String, Long> counts = monitor.counts();
+        assertEquals(PiiMonitor.MAX_FIELDS + 1, counts.size());
+        assertEquals(1L, counts.get(PiiMonitor.OTHER_FIELDS));
+    }
+
+    @Test
+    @DisplayName("rejects invalid settings")
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> PiiScanConfig.sampled(0));
+        assertThrows(IllegalArgumentException.class, () -> PiiScanConfig.async(0));
+    }
+}
@@ -0,0 +1,117 @@
+package com.teracrafts.huefy.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.teracrafts.huefy.models.BulkRecipient;
+import com.teracrafts.huefy.models.EmailProvider;
+import com.teracrafts.huefy.models.SendEmailRecipient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the streaming writer produces the same JSON as rendering an ObjectNode tree.
+ */
+class RequestBodyWriterTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Map<String, Object> sampleData() {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("city", "Zürich");
+        nested.put("zip", null);
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("name", "John \"JJ\" O'Neil\n");
+        data.put("count", 2);
+        data.put("ratio", 0.25);
+        data.put("total", new BigDecimal("19.990"));
+        data.put("beta", true);
+        data.put("roles", List.of("admin", "editor"));
+        data.put("scores", new int[] {1, 2, 3});
+        data.put("address", nested);
+        data.put("emoji", "🚀");
+        return data;
+    }
+
+    private static String write(byte[] body) {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private static void assertSameJson(ObjectNode expected, byte[] actual) throws Exception {
+        assertEquals(objectMapper.readTree(expected.toString()), objectMapper.readTree(actual));
+    }
+
+    @Test
+    @DisplayName("single-send body matches the tree rendering")
+    void singleSendMatchesTree() throws Exception {
+        ObjectNode expected = objectMapper.createObjectNode();
+        expected.put("templateKey", "welcome");
+        expected.put("recipient", "john@example.com");
+        expected.set("data", objectMapper.valueToTree(sampleData()));
+        expected.put("providerType", "sendgrid");
+
+        assertSameJson(expected, RequestBodyWriter.writeSendEmail(
+                " welcome ", sampleData(), " john@example.com ", EmailProvider.SENDGRID));
+    }
+
+    @Test
+    @DisplayName("single-send body with a recipient object matches the tree rendering")
+    void singleSendRecipientObjectMatchesTree() throws Exception {
+        ObjectNode recipient = objectMapper.createObjectNode();
+        recipient.put("email", "john@example.com");
+        recipient.put("type", "cc");
+        recipient.set("data", objectMapper.valueToTree(Map.of("segment", "vip")));
+        ObjectNode expected = objectMapper.createObjectNode();
+        expected.put("templateKey", "welcome");
+        expected.set("recipient", recipient);
+        expected.set("data", objectMapper.valueToTree(sampleData()));
+
+        assertSameJson(expected, RequestBodyWriter.writeSendEmail(
+                "welcome", sampleData(), new SendEmailRecipient("john@example.com", " CC ", Map.of("segment", "vip")), null));
+    }
+
+    @Test
+    @DisplayName("bulk body matches the tree rendering and the buffer is reused cleanly")
+    void bulkMatchesTree() throws Exception {
+        List<BulkRecipient> recipients = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            recipients.add(new BulkRecipient("user" + i + "@example.com", i % 2 == 0 ? "TO" : null,
+                    i % 3 == 0 ? null : sampleData()));
+        }
+
+        ObjectNode expected = objectMapper.createObjectNode();
+        expected.put("templateKey", "promo");
+        ArrayNode recipientsNode = expected.putArray("recipients");
+        for (BulkRecipient r : recipients) {
+            ObjectNode node = recipientsNode.addObject();
+            node.put("email", r.email());
+            if (r.type() != null) {
+                node.put("type", r.type().toLowerCase(Locale.ROOT));
+            }
+            if (r.data() != null) {
+                node.set("data", objectMapper.valueToTree(r.data()));
+            }
+        }
+        expected.put("providerType", "ses");
+
+        byte[] large = RequestBodyWriter.writeSendBulkEmails("promo", recipients, EmailProvider.SES);
+        assertSameJson(expected, large);
+
+        // A small write after a large one must not carry over bytes from the reused buffer
+        byte[] small = RequestBodyWriter.writeSendBulkEmails("promo",
+                List.of(new BulkRecipient("a@example.com", null, null)), null);
+        assertEquals("{\"templateKey\":\"promo\",\"recipients\":[{\"email\":\"a@example.com\"}]}", write(small));
+        assertFalse(Arrays.equals(small, large));
+    }
+}
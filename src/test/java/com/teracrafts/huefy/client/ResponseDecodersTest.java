@@ -0,0 +1,129 @@
+package com.teracrafts.huefy.client;
+
+import com.teracrafts.huefy.errors.ErrorCode;
+import com.teracrafts.huefy.errors.HuefyException;
+import com.teracrafts.huefy.models.HealthResponse;
+import com.teracrafts.huefy.models.RecipientStatus;
+import com.teracrafts.huefy.models.SendBulkEmailsResponse;
+import com.teracrafts.huefy.models.SendEmailResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the streaming response decoders bind the API envelopes and keep the
+ * documented defaults for missing fields.
+ */
+class ResponseDecodersTest {
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("decodes a send response and skips unknown fields")
+    void decodesSendResponse() throws Exception {
+        SendEmailResponse response = ResponseDecoders.SEND_EMAIL.decode(stream("""
+                {"success":true,"extra":{"nested":[1,2,{"a":null}]},"correlationId":"corr-1",
+                 "data":{"emailId":"em_1","status":"sent","unknown":[],
+                   "recipients":[{"email":"a@example.com","status":"sent","messageId":"m1","extra":{}},
+                                 {"email":"b@example.com","status":"failed","error":"bounced"}],
+                   "sentAt":"2024-01-01T00:00:00Z"}}
+                """));
+
+        assertTrue(response.success());
+        assertEquals("corr-1", response.correlationId());
+        assertEquals("em_1", response.data().emailId());
+        assertEquals("sent", response.data().status());
+        assertNull(response.data().scheduledAt());
+        assertEquals("2024-01-01T00:00:00Z", response.data().sentAt());
+        assertEquals(List.of(
+                new RecipientStatus("a@example.com", "sent", "m1", null, null),
+                new RecipientStatus("b@example.com", "failed", null, "bounced", null)
+        ), response.data().recipients());
+    }
+
+    @Test
+    @DisplayName("decodes every bulk field including errors and metadata")
+    void decodesBulkResponse() throws Exception {
+        SendBulkEmailsResponse response = ResponseDecoders.SEND_BULK_EMAILS.decode(stream("""
+                {"success":true,"correlationId":"corr-2","data":{
+                  "batchId":"b_1","status":"completed","templateKey":"welcome","templateVersion":3,
+                  "senderUsed":"no-reply@example.com","senderVerified":true,"totalRecipients":2,
+                  "processedCount":2,"successCount":1,"failureCount":1,"suppressedCount":0,
+                  "startedAt":"s","completedAt":"c",
+                  "recipients":[{"email":"a@example.com","status":"sent"}],
+                  "errors":[{"email":"b@example.com","code":42}],
+                  "metadata":{"region":"eu","tags":["x"]}}}
+                """));
+
+        var data = response.data();
+        assertTrue(response.success());
+        assertEquals("corr-2", response.correlationId());
+        assertEquals("b_1", data.batchId());
+        assertEquals("completed", data.status());
+        assertEquals("welcome", data.templateKey());
+        assertEquals(3, data.templateVersion());
+        assertEquals("no-reply@example.com", data.senderUsed());
+        assertTrue(data.senderVerified());
+        assertEquals(2, data.totalRecipients());
+        assertEquals(2, data.processedCount());
+        assertEquals(1, data.successCount());
+        assertEquals(1, data.failureCount());
+        assertEquals(0, data.suppressedCount());
+        assertEquals("s", data.startedAt());
+        assertEquals("c", data.completedAt());
+        assertEquals(List.of(new RecipientStatus("a@example.com", "sent", null, null, null)), data.recipients());
+        assertEquals(List.of(Map.of("email", "b@example.com", "code", 42)), data.errors());
+        assertEquals(Map.of("region", "eu", "tags", List.of("x")), data.metadata());
+    }
+
+    @Test
+    @DisplayName("missing data decodes to defaults")
+    void missingDataDecodesToDefaults() throws Exception {
+        SendBulkEmailsResponse bulk = ResponseDecoders.SEND_BULK_EMAILS.decode(stream("{\"success\":false}"));
+        assertFalse(bulk.success());
+        assertNull(bulk.data().batchId());
+        assertEquals(0, bulk.data().totalRecipients());
+        assertTrue(bulk.data().recipients().isEmpty());
+        assertEquals(List.of(), bulk.data().errors());
+        assertEquals(Map.of(), bulk.data().metadata());
+        assertNull(ResponseDecoders.SEND_BULK_EMAILS.decode(stream("")).data().status());
+
+        SendEmailResponse single = ResponseDecoders.SEND_EMAIL.decode(stream(""));
+        assertFalse(single.success());
+        assertNull(single.data().emailId());
+        assertTrue(single.data().recipients().isEmpty());
+
+        HealthResponse health = ResponseDecoders.HEALTH.decode(stream("{\"success\":true,\"data\":null}"));
+        assertTrue(health.success());
+        assertEquals("unknown", health.data().status());
+    }
+
+    @Test
+    @DisplayName("decodes a health response")
+    void decodesHealthResponse() throws Exception {
+        HealthResponse health = ResponseDecoders.HEALTH.decode(stream("""
+                {"success":true,"data":{"status":"healthy","timestamp":"t","version":"1.2.3"}}
+                """));
+        assertEquals("healthy", health.data().status());
+        assertEquals("t", health.data().timestamp());
+        assertEquals("1.2.3", health.data().version());
+    }
+
+    @Test
+    @DisplayName("malformed JSON fails with the operation's network error")
+    void malformedJsonFails() {
+        HuefyException e = assertThrows(HuefyException.class,
+                () -> ResponseDecoders.SEND_BULK_EMAILS.decode(stream("{\"data\":{\"recipients\":[")));
+        assertEquals(ErrorCode.NETWORK_ERROR, e.getCode());
+        assertTrue(e.getMessage().startsWith("Failed to send bulk emails: "));
+    }
+}
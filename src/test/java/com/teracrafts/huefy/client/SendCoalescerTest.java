@@ -0,0 +1,172 @@
+package com.teracrafts.huefy.client;
+
+import com.teracrafts.huefy.config.HuefyConfig.CoalescingConfig;
+import com.teracrafts.huefy.errors.HuefyException;
+import com.teracrafts.huefy.models.BulkRecipient;
+import com.teracrafts.huefy.models.EmailProvider;
+import com.teracrafts.huefy.models.RecipientStatus;
+import com.teracrafts.huefy.models.SendBulkEmailsResponse;
+import com.teracrafts.huefy.models.SendBulkEmailsResponseData;
+import com.teracrafts.huefy.models.SendEmailResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SendCoalescerTest {
+
+    private record Sent(String templateKey, List<BulkRecipient> recipients, EmailProvider provider) {}
+
+    private final List<Sent> sent = new CopyOnWriteArrayList<>();
+
+    private SendCoalescer coalescer(long linger, int maxBatchSize) {
+        return new SendCoalescer(new CoalescingConfig(linger, maxBatchSize), (templateKey, recipients, provider) -> {
+            sent.add(new Sent(templateKey, List.copyOf(recipients), provider));
+            // Report statuses in reverse order to prove callers are matched by address
+            List<RecipientStatus> statuses = new ArrayList<>();
+            for (BulkRecipient r : recipients) {
+                statuses.add(new RecipientStatus(r.email(), "sent", "msg_" + r.email(), null, null));
+            }
+            Collections.reverse(statuses);
+            return CompletableFuture.completedFuture(new SendBulkEmailsResponse(true, new SendBulkEmailsResponseData(
+                    "batch_" + sent.size(), "completed", templateKey, 1, null, true,
+                    recipients.size(), recipients.size(), recipients.size(), 0, 0, null, null,
+                    statuses, List.of(), Map.of()), "corr"));
+        }, null);
+    }
+
+    private static BulkRecipient recipient(String email) {
+        return new BulkRecipient(email, null, Map.of("name", email));
+    }
+
+    @Test
+    @DisplayName("a full batch is flushed at once and each caller gets its own status")
+    void fullBatchFlushesImmediately() {
+        SendCoalescer coalescer = coalescer(60_000, 3);
+
+        CompletableFuture<SendEmailResponse> a = coalescer.submit("order", null, recipient("a@example.com"));
+        CompletableFuture<SendEmailResponse> b = coalescer.submit("order", null, recipient("b@example.com"));
+        assertTrue(sent.isEmpty());
+        CompletableFuture<SendEmailResponse> c = coalescer.submit("order", null, recipient("c@example.com"));
+
+        assertEquals(1, sent.size());
+        assertEquals(3, sent.get(0).recipients().size());
+        assertEquals("msg_a@example.com", a.join().data().emailId());
+        assertEquals("msg_b@example.com", b.join().data().emailId());
+        assertEquals("msg_c@example.com", c.join().data().emailId());
+        assertTrue(c.join().success());
+        assertEquals(List.of(new RecipientStatus("c@example.com", "sent", "msg_c@example.com", null, null)),
+                c.join().data().recipients());
+    }
+
+    @Test
+    @DisplayName("a partial batch is flushed after the linger time")
+    void partialBatchFlushesAfterLinger() throws Exception {
+        SendCoalescer coalescer = coalescer(20, 100);
+
+        CompletableFuture<SendEmailResponse> a = coalescer.submit("order", null, recipient("a@example.com"));
+        CompletableFuture<SendEmailResponse> b = coalescer.submit("order", null, recipient("b@example.com"));
+
+        assertEquals("msg_a@example.com", a.get(5, TimeUnit.SECONDS).data().emailId());
+        assertEquals("msg_b@example.com", b.get(5, TimeUnit.SECONDS).data().emailId());
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    @DisplayName("sends are batched per template key and provider")
+    void batchesPerTemplateAndProvider() {
+        SendCoalescer coalescer = coalescer(60_000, 100);
+
+        coalescer.submit("order", null, recipient("a@example.com"));
+        coalescer.submit("order", EmailProvider.SES, recipient("b@example.com"));
+        coalescer.submit("welcome", null, recipient("c@example.com"));
+        coalescer.submit("order", null, recipient("d@example.com"));
+        coalescer.flushAll();
+
+        assertEquals(3, sent.size());
+        Sent order = sent.stream()
+                .filter(s -> s.templateKey().equals("order") && s.provider() == null)
+                .findFirst().orElseThrow();
+        assertEquals(2, order.recipients().size());
+    }
+
+    @Test
+    @DisplayName("a repeated address starts a new batch")
+    void repeatedAddressStartsNewBatch() {
+        SendCoalescer coalescer = coalescer(60_000, 100);
+
+        CompletableFuture<SendEmailResponse> first = coalescer.submit("order", null, recipient("a@example.com"));
+        CompletableFuture<SendEmailResponse> second = coalescer.submit("order", null, recipient("A@example.com "));
+
+        assertEquals(1, sent.size());
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        coalescer.flushAll();
+        assertEquals(2, sent.size());
+        assertTrue(second.join().success());
+    }
+
+    @Test
+    @DisplayName("a failed bulk request fails every caller in the batch")
+    void failedBatchFailsEveryCaller() {
+        HuefyException failure = HuefyException.networkError("boom", null);
+        SendCoalescer coalescer = new SendCoalescer(new CoalescingConfig(60_000, 2),
+                (templateKey, recipients, provider) -> CompletableFuture.failedFuture(failure), null);
+
+        CompletableFuture<SendEmailResponse> a = coalescer.submit("order", null, recipient("a@example.com"));
+        CompletableFuture<SendEmailResponse> b = coalescer.submit("order", null, recipient("b@example.com"));
+
+        assertSame(failure, assertThrows(CompletionException.class, a::join).getCause());
+        assertSame(failure, assertThrows(CompletionException.class, b::join).getCause());
+    }
+
+    private static SendCoalescer reporting(List<RecipientStatus> statuses) {
+        return new SendCoalescer(new CoalescingConfig(60_000, statuses.size()),
+                (templateKey, recipients, provider) -> CompletableFuture.completedFuture(
+                        new SendBulkEmailsResponse(true, new SendBulkEmailsResponseData(
+                                "batch_1", "completed", templateKey, 1, null, true,
+                                recipients.size(), recipients.size(), recipients.size(), 0, 0, null, null,
+                                statuses, List.of(), Map.of()), "corr")), null);
+    }
+
+    @Test
+    @DisplayName("statuses without addresses are matched by position")
+    void addresslessStatusesMatchByPosition() {
+        SendCoalescer coalescer = reporting(List.of(
+                new RecipientStatus(null, "sent", "msg_1", null, null),
+                new RecipientStatus(null, "sent", "msg_2", null, null)));
+
+        CompletableFuture<SendEmailResponse> a = coalescer.submit("order", null, recipient("a@example.com"));
+        CompletableFuture<SendEmailResponse> b = coalescer.submit("order", null, recipient("b@example.com"));
+
+        assertEquals("msg_1", a.join().data().emailId());
+        assertEquals("msg_2", b.join().data().emailId());
+    }
+
+    @Test
+    @DisplayName("a caller without a reported status is completed as unsuccessful")
+    void unreportedCallerFails() {
+        SendCoalescer coalescer = reporting(List.of(
+                new RecipientStatus("a@example.com", "sent", "msg_a", null, null),
+                new RecipientStatus(null, "sent", "msg_2", null, null)));
+
+        CompletableFuture<SendEmailResponse> a = coalescer.submit("order", null, recipient("a@example.com"));
+        CompletableFuture<SendEmailResponse> b = coalescer.submit("order", null, recipient("b@example.com"));
+
+        assertTrue(a.join().success());
+        assertEquals("msg_a", a.join().data().emailId());
+        assertFalse(b.join().success());
+        assertNull(b.join().data().emailId());
+        assertEquals("unknown", b.join().data().status());
+        assertNotNull(b.join().data().recipients().get(0).error());
+    }
+}
@@ -0,0 +1,77 @@
+package com.teracrafts.huefy.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.teracrafts.huefy.config.HuefyConfig;
+import com.teracrafts.huefy.models.SendEmailRequest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Local stand-in for the API's {@code /emails/send} endpoint, shared by the client tests.
+ */
+final class SendServer implements AutoCloseable {
+
+    static final String SEND_RESPONSE =
+            "{\"success\":true,\"data\":{\"emailId\":\"email_1\",\"status\":\"queued\",\"recipients\":[]},"
+                    + "\"correlationId\":\"corr_1\"}";
+
+    private final HttpServer server;
+
+    /**
+     * Starts a server that hands every send to {@code handler} on the server's own thread.
+     *
+     * @param handler handles {@code /emails/send}
+     */
+    SendServer(HttpHandler handler) throws IOException {
+        this(handler, null);
+    }
+
+    /**
+     * Starts a server that hands every send to {@code handler}.
+     *
+     * @param handler  handles {@code /emails/send}
+     * @param executor runs the handler, or null for the server's own thread
+     */
+    SendServer(HttpHandler handler, Executor executor) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/emails/send", handler);
+        server.start();
+    }
+
+    /**
+     * Returns a config builder pointed at this server, with retries off.
+     */
+    HuefyConfig.Builder config() {
+        return HuefyConfig.builder()
+                .apiKey("sdk_test_key")
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .retryConfig(new HuefyConfig.RetryConfig(0, 10, 20));
+    }
+
+    /**
+     * Writes a JSON response and closes the exchange.
+     */
+    static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    static SendEmailRequest request() {
+        return new SendEmailRequest("welcome", Map.of("name", "John"), "john@example.com");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
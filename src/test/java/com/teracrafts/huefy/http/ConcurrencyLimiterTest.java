@@ -0,0 +1,173 @@
+package com.teracrafts.huefy.http;
+
+import com.teracrafts.huefy.config.HuefyConfig;
+import com.teracrafts.huefy.errors.ErrorCode;
+import com.teracrafts.huefy.errors.HuefyException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    private static final long MS = 1_000_000;
+
+    private static ConcurrencyLimiter limiter(HuefyConfig.ConcurrencyLimitConfig config) {
+        return new ConcurrencyLimiter(config, false, null);
+    }
+
+    private static HuefyException timeout() {
+        return new HuefyException("timed out", ErrorCode.TIMEOUT_ERROR, null, true, null, null, null);
+    }
+
+    @Test
+    @DisplayName("grows while the limit is in use and latency stays flat")
+    void growsWhileLatencyIsFlat() {
+        ConcurrencyLimiter limiter = limiter(new HuefyConfig.ConcurrencyLimitConfig(4, 1, 100));
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+        }
+
+        for (int i = 0; i < 50; i++) {
+            limiter.release(0, 10 * MS, null);
+            while (limiter.info().inFlight() < limiter.info().limit()) {
+                limiter.acquire();
+            }
+        }
+
+        assertEquals(10, limiter.info().limit());
+        assertEquals(10, limiter.info().inFlight());
+    }
+
+    @Test
+    @DisplayName("does not grow while most of the limit is unused")
+    void doesNotGrowWhenIdle() {
+        ConcurrencyLimiter limiter = limiter(new HuefyConfig.ConcurrencyLimitConfig(10, 1, 100));
+
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire();
+            limiter.release(0, 10 * MS, null);
+        }
+
+        assertEquals(10, limiter.info().limit());
+    }
+
+    @Test
+    @DisplayName("cuts the limit on a timeout, once per burst")
+    void cutsOncePerBurst() {
+        ConcurrencyLimiter limiter = limiter(new HuefyConfig.ConcurrencyLimitConfig(20, 1, 100));
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire();
+        }
+
+        for (int i = 0; i < 5; i++) {
+            limiter.release(i * MS, (100 + i) * MS, timeout());
+        }
+
+        assertEquals(18, limiter.info().limit());
+    }
+
+    @Test
+    @DisplayName("cuts the limit on 429 and 503 responses but not on other errors")
+    void cutsOnOverloadResponses() {
+        ConcurrencyLimiter limiter = limiter(new HuefyConfig.ConcurrencyLimitConfig(20, 1, 100));
+
+        limiter.acquire();
+        limiter.release(0, 10 * MS, HuefyException.fromResponse(400, "{}", null, null, false));
+        assertEquals(20, limiter.info().limit());
+
+        limiter.acquire();
+        limiter.release(20 * MS, 30 * MS, new CompletionException(
+                HuefyException.fromResponse(429, "{}", null, null, false)));
+        assertEquals(18, limiter.info().limit());
+
+        limiter.acquire();
+        limiter.release(40 * MS, 50 * MS, HuefyException.fromResponse(503, "{}", null, null, false));
+        assertEquals(16, limiter.info().limit());
+    }
+
+    @Test
+    @DisplayName("treats a success well above the baseline latency as a drop")
+    void cutsOnLatencySpike() {
+        ConcurrencyLimiter limiter = limiter(new HuefyConfig.ConcurrencyLimitConfig(20, 1, 100));
+
+        limiter.acquire();
+        limiter.release(0, 10 * MS, null);
+        limiter.acquire();
+        limiter.release(100 * MS, 115 * MS, null);
+        assertEquals(20, limiter.info().limit());
+
+        limiter.acquire();
+        limiter.release(200 * MS, 250 * MS, null);
+        assertEquals(18, limiter.info().limit());
+    }
+
+    @Test
+    @DisplayName("never cuts below the minimum")
+    void respectsMinimum() {
+        ConcurrencyLimiter limiter = limiter(new HuefyConfig.ConcurrencyLimitConfig(3, 2, 10));
+
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire();
+            limiter.release(i * 100 * MS, (i * 100 + 10) * MS, timeout());
+        }
+
+        assertEquals(2, limiter.info().limit());
+    }
+
+    @Test
+    @DisplayName("queues callers over the limit and hands them freed slots in order")
+    void queuesInOrder() {
+        ConcurrencyLimiter limiter = limiter(new HuefyConfig.ConcurrencyLimitConfig(1, 1, 1));
+        limiter.acquire();
+
+        CompletableFuture<Void> first = limiter.acquireAsync();
+        CompletableFuture<Void> second = limiter.acquireAsync();
+        assertFalse(first.isDone());
+        assertEquals(2, limiter.info().queued());
+
+        limiter.release(0, MS, null);
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+
+        limiter.release(0, MS, null);
+        assertTrue(second.isDone());
+        assertEquals(1, limiter.info().inFlight());
+        assertEquals(0, limiter.info().queued());
+    }
+
+    @Test
+    @DisplayName("sheds callers when the queue is full")
+    void shedsWhenQueueFull() {
+        ConcurrencyLimiter limiter = limiter(new HuefyConfig.ConcurrencyLimitConfig(1, 1, 1).withQueue(0, 1000));
+        limiter.acquire();
+
+        HuefyException ex = assertThrows(HuefyException.class, limiter::acquire);
+
+        assertEquals(ErrorCode.CONCURRENCY_LIMIT_EXCEEDED, ex.getCode());
+        assertTrue(ex.isRecoverable());
+        assertEquals(1, limiter.info().inFlight());
+    }
+
+    @Test
+    @DisplayName("gives up waiting after the maximum wait and leaves the queue")
+    void timesOutWaiters() {
+        ConcurrencyLimiter limiter = limiter(new HuefyConfig.ConcurrencyLimitConfig(1, 1, 1).withQueue(10, 50));
+        limiter.acquire();
+
+        assertThrows(HuefyException.class, limiter::acquire);
+        CompletableFuture<Void> async = limiter.acquireAsync();
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> async.orTimeout(5, TimeUnit.SECONDS).join());
+
+        assertEquals(ErrorCode.CONCURRENCY_LIMIT_EXCEEDED, ((HuefyException) ex.getCause()).getCode());
+        assertEquals(0, limiter.info().queued());
+
+        limiter.release(0, MS, null);
+        assertEquals(0, limiter.info().inFlight());
+    }
+}
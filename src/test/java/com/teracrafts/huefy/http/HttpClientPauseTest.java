@@ -0,0 +1,102 @@
+package com.teracrafts.huefy.http;
+
+import com.sun.net.httpserver.HttpServer;
+import com.teracrafts.huefy.config.HuefyConfig;
+import com.teracrafts.huefy.errors.ErrorCode;
+import com.teracrafts.huefy.errors.HuefyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Covers how {@link HttpClient} drives its {@link PauseGate} on real responses.
+ */
+class HttpClientPauseTest {
+
+    private static final String RATE_LIMITED = "{\"error\":{\"code\":\"RATE_LIMITED\",\"retry_after\":100}}";
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ExecutorService handlers;
+    private HttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        handlers = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // The first request is rate limited; every later one hangs until the test ends
+        server.createContext("/slow", exchange -> {
+            if (hits.incrementAndGet() == 1) {
+                byte[] body = RATE_LIMITED.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(429, body.length);
+                exchange.getResponseBody().write(body);
+            } else {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.sendResponseHeaders(200, -1);
+            }
+            exchange.close();
+        });
+        server.setExecutor(handlers);
+        server.start();
+        client = new HttpClient(HuefyConfig.builder()
+                .apiKey("sdk_test_key")
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .timeout(1000)
+                .retryConfig(new HuefyConfig.RetryConfig(0, 10, 20))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        client.close();
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("a probe that times out keeps the other attempts parked")
+    void timedOutProbeKeepsOthersParked() throws Exception {
+        assertEquals(ErrorCode.RATE_LIMIT_ERROR, failure(client.requestAsync("GET", "/slow", (String) null)));
+
+        // The probe goes out once the 100ms pause runs out and times out after 1s
+        CompletableFuture<String> probe = client.requestAsync("GET", "/slow", (String) null);
+        Thread.sleep(500);
+        List<CompletableFuture<String>> parked = List.of(
+                client.requestAsync("GET", "/slow", (String) null),
+                client.requestAsync("GET", "/slow", (String) null));
+
+        assertEquals(ErrorCode.TIMEOUT_ERROR, failure(probe));
+        // One parked attempt takes over as the probe; the other stays parked until its park time runs out
+        List<ErrorCode> codes = parked.stream().map(HttpClientPauseTest::failure).sorted().toList();
+        assertEquals(List.of(ErrorCode.TIMEOUT_ERROR, ErrorCode.RATE_LIMIT_ERROR), codes);
+        assertEquals(3, hits.get());
+    }
+
+    private static ErrorCode failure(CompletableFuture<String> future) {
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> future.orTimeout(5, TimeUnit.SECONDS).join());
+        return assertInstanceOf(HuefyException.class, e.getCause()).getCode();
+    }
+}
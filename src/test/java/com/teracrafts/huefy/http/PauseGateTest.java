@@ -0,0 +1,83 @@
+package com.teracrafts.huefy.http;
+
+import com.teracrafts.huefy.errors.ErrorCode;
+import com.teracrafts.huefy.errors.HuefyException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PauseGateTest {
+
+    private final PauseGate gate = new PauseGate(5000, false, null);
+
+    @Test
+    @DisplayName("passes immediately when no pause is active")
+    void passesWithoutPause() {
+        assertTimeoutPreemptively(java.time.Duration.ofMillis(500), gate::await);
+        assertTrue(gate.awaitAsync().isDone());
+    }
+
+    @Test
+    @DisplayName("parks attempts until the advertised instant, then lets one probe through")
+    void releasesOneProbeAfterPause() throws Exception {
+        gate.pause(200L);
+
+        CompletableFuture<?> first = gate.awaitAsync();
+        CompletableFuture<?> second = gate.awaitAsync();
+        assertFalse(first.isDone());
+
+        // After the pause runs out exactly one attempt becomes the probe
+        CompletableFuture.anyOf(first, second).get(2, TimeUnit.SECONDS);
+        Thread.sleep(150);
+        assertTrue(first.isDone() ^ second.isDone(), "only the probe should proceed");
+
+        gate.lift();
+
+        CompletableFuture.allOf(first, second).get(2, TimeUnit.SECONDS);
+        assertTrue(gate.awaitAsync().isDone());
+    }
+
+    @Test
+    @DisplayName("a rate-limited probe starts a new pause")
+    void rateLimitedProbePausesAgain() throws Exception {
+        gate.pause(50L);
+        gate.awaitAsync().get(2, TimeUnit.SECONDS);
+
+        gate.pause(300L);
+        CompletableFuture<?> parked = gate.awaitAsync();
+        Thread.sleep(100);
+        assertFalse(parked.isDone());
+
+        parked.get(2, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("a response before the probe is out does not lift the pause")
+    void earlyResponsesDoNotLift() throws InterruptedException {
+        gate.pause(300L);
+        gate.lift();
+
+        CompletableFuture<?> parked = gate.awaitAsync();
+        Thread.sleep(100);
+
+        assertFalse(parked.isDone());
+    }
+
+    @Test
+    @DisplayName("fails attempts whose wait exceeds the maximum park time")
+    void failsBeyondMaxPark() {
+        PauseGate shortPark = new PauseGate(100, true, null);
+        shortPark.pause(10_000L);
+
+        CompletionException e = assertThrows(CompletionException.class, () -> shortPark.awaitAsync().join());
+        HuefyException cause = assertInstanceOf(HuefyException.class, e.getCause());
+        assertEquals(ErrorCode.RATE_LIMIT_ERROR, cause.getCode());
+        assertTrue(cause.getRetryAfter() > 9_000);
+        assertEquals(0, cause.getStackTrace().length);
+    }
+}
@@ -0,0 +1,92 @@
+package com.teracrafts.huefy.http;
+
+import com.teracrafts.huefy.config.RateLimitInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitNotifierTest {
+
+    private static final Instant RESET = Instant.now().plusSeconds(60);
+
+    private static RateLimitInfo info(int remaining) {
+        return new RateLimitInfo(100, remaining, RESET);
+    }
+
+    private static void awaitSize(List<?> list, int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (list.size() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("updates published during a slow callback are coalesced to the newest")
+    void coalescesWhileBusy() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> delivered = new CopyOnWriteArrayList<>();
+        RateLimitNotifier notifier = new RateLimitNotifier(info -> {
+            delivered.add(info.remaining());
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, null, executor);
+
+        notifier.publish(info(99));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        for (int remaining = 98; remaining >= 50; remaining--) {
+            notifier.publish(info(remaining));
+        }
+        release.countDown();
+        awaitSize(delivered, 2);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of(99, 50), delivered);
+    }
+
+    @Test
+    @DisplayName("publishing never runs the callback on the caller's thread")
+    void deliversOffCallerThread() throws Exception {
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        RateLimitNotifier notifier = new RateLimitNotifier(info -> threads.add(Thread.currentThread()), null, null);
+
+        notifier.publish(info(10));
+        awaitSize(threads, 1);
+
+        assertEquals(1, threads.size());
+        assertNotSame(caller, threads.get(0));
+    }
+
+    @Test
+    @DisplayName("warns below 20% of the quota and survives a failing callback")
+    void warnsAndSurvivesFailures() throws Exception {
+        List<Integer> warnings = new CopyOnWriteArrayList<>();
+        RateLimitNotifier notifier = new RateLimitNotifier(info -> {
+            if (info.remaining() == 90) {
+                throw new IllegalStateException("boom");
+            }
+        }, info -> warnings.add(info.remaining()), Runnable::run);
+
+        notifier.publish(info(90));
+        notifier.publish(info(30));
+        notifier.publish(info(19));
+
+        assertEquals(List.of(19), warnings);
+    }
+}
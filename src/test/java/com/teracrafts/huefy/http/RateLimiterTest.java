@@ -0,0 +1,104 @@
+package com.teracrafts.huefy.http;
+
+import com.teracrafts.huefy.config.RateLimitInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final RateLimiter limiter = new RateLimiter();
+
+    private static RateLimitInfo info(int limit, int remaining, long resetInSeconds) {
+        return new RateLimitInfo(limit, remaining, Instant.now().plusSeconds(resetInSeconds));
+    }
+
+    @Test
+    @DisplayName("permits everything before any quota is known")
+    void permitsWithoutQuota() {
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(RateLimiter.PERMITTED, limiter.tryAcquire());
+        }
+    }
+
+    @Test
+    @DisplayName("holds requests back once the window's tokens are used")
+    void holdsBackWhenExhausted() {
+        limiter.update(info(100, 1, 60));
+
+        assertEquals(RateLimiter.PERMITTED, limiter.tryAcquire());
+        long wait = limiter.tryAcquire();
+
+        assertTrue(wait > 58_000 && wait <= 61_000, "wait was " + wait);
+    }
+
+    @Test
+    @DisplayName("spreads the window's tokens evenly up to the reset")
+    void pacesTokens() {
+        limiter.update(info(100, 4, 60));
+
+        assertEquals(RateLimiter.PERMITTED, limiter.tryAcquire());
+        long wait = limiter.tryAcquire();
+
+        assertTrue(wait > 13_000 && wait <= 15_250, "wait was " + wait);
+    }
+
+    @Test
+    @DisplayName("keeps the lowest remaining count within a window")
+    void keepsLowestRemaining() {
+        Instant reset = Instant.now().plusSeconds(60);
+        limiter.update(new RateLimitInfo(100, 1, reset));
+        limiter.update(new RateLimitInfo(100, 50, reset));
+
+        assertEquals(RateLimiter.PERMITTED, limiter.tryAcquire());
+        assertNotEquals(RateLimiter.PERMITTED, limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("a later window replaces the current one")
+    void laterWindowReplaces() {
+        limiter.update(info(100, 0, 30));
+        assertNotEquals(RateLimiter.PERMITTED, limiter.tryAcquire());
+
+        limiter.update(info(100, 5, 90));
+
+        assertEquals(RateLimiter.PERMITTED, limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("ignores headers for a window that has already reset")
+    void ignoresExpiredWindow() {
+        limiter.update(info(100, 0, -5));
+
+        assertEquals(RateLimiter.PERMITTED, limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("a released token can be taken again")
+    void releaseReturnsToken() {
+        limiter.update(info(100, 1, 60));
+        assertEquals(RateLimiter.PERMITTED, limiter.tryAcquire());
+
+        limiter.release();
+
+        assertEquals(RateLimiter.PERMITTED, limiter.tryAcquire());
+        assertNotEquals(RateLimiter.PERMITTED, limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("refills to the limit after the window resets and keeps pacing")
+    void refillsAfterReset() throws InterruptedException {
+        limiter.update(new RateLimitInfo(2, 0, Instant.ofEpochSecond(Instant.now().getEpochSecond() + 1)));
+        assertNotEquals(RateLimiter.PERMITTED, limiter.tryAcquire());
+
+        Thread.sleep(limiter.tryAcquire() + 50);
+
+        assertEquals(RateLimiter.PERMITTED, limiter.tryAcquire());
+        // The next window is assumed to be as long as the last one, so it is paced too
+        long wait = limiter.tryAcquire();
+        assertTrue(wait > 0 && wait <= 1_000, "wait was " + wait);
+    }
+}
@@ -0,0 +1,71 @@
+package com.teracrafts.huefy.http;
+
+import com.sun.net.httpserver.HttpServer;
+import com.teracrafts.huefy.config.HuefyConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Covers the Java 17 baseline of {@link VirtualThreads}. Tests load classes from the
+ * output directory, which is not multi-release, so the baseline is what runs here on
+ * any JDK.
+ */
+class VirtualThreadsTest {
+
+    private static final String HEALTH_RESPONSE = "{\"success\":true,\"data\":{\"status\":\"healthy\"}}";
+
+    private HttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/health", exchange -> {
+            byte[] body = HEALTH_RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("has no virtual-thread executor on the baseline")
+    void baselineHasNoExecutor() {
+        assertNull(VirtualThreads.newExecutor());
+    }
+
+    @Test
+    @DisplayName("falls back to the default executors when virtual threads are requested")
+    void clientFallsBackToDefaultExecutors() {
+        client = new HttpClient(HuefyConfig.builder()
+                .apiKey("sdk_test_key")
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .retryConfig(new HuefyConfig.RetryConfig(0, 10, 20))
+                .useVirtualThreads(true)
+                .build());
+
+        assertNull(client.getExecutor());
+        assertEquals(HEALTH_RESPONSE, client.request("GET", "/health", (String) null));
+        assertEquals(HEALTH_RESPONSE,
+                client.requestAsync("GET", "/health", (String) null).orTimeout(5, TimeUnit.SECONDS).join());
+    }
+}
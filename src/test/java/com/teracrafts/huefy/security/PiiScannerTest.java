@@ -0,0 +1,108 @@
+package com.teracrafts.huefy.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PiiScannerTest {
+
+    /** The patterns the scanner replaces, in the order it reports types. */
+    private static final Map<String, Pattern> REGEXES = new LinkedHashMap<>();
+
+    static {
+        REGEXES.put("email", Pattern.compile("[a-zA-Z0-9._%+\\-]+@[a-zA-Z0-9.\\-]+\\.[a-zA-Z]{2,}"));
+        REGEXES.put("credit_card", Pattern.compile("\\b(?:\\d{4}[\\s\\-]?){3}\\d{4}\\b"));
+        REGEXES.put("ssn", Pattern.compile("\\b\\d{3}-\\d{2}-\\d{4}\\b"));
+        REGEXES.put("phone", Pattern.compile("(?:\\+?1[\\s\\-.]?)?\\(?\\d{3}\\)?[\\s\\-.]?\\d{3}[\\s\\-.]?\\d{4}"));
+        REGEXES.put("ip_address", Pattern.compile("\\b(?:\\d{1,3}\\.){3}\\d{1,3}\\b"));
+    }
+
+    private static List<String> regexDetect(String text) {
+        return REGEXES.entrySet().stream()
+                .filter(e -> e.getValue().matcher(text).find())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "Contact us at user@example.com for info",
+            "Card: 4111-1111-1111-1111",
+            "Card: 4111 1111 1111 1111, or 4111111111111111",
+            "SSN: 123-45-6789",
+            "Call (555) 123-4567 or +1 555.123.4567",
+            "Server at 192.168.1.100",
+            "Email: user@example.com, SSN: 123-45-6789, IP: 10.0.0.1",
+            "version 1.2.3.4.5 and 1234.1.1.1 and 1.2.3.4567",
+            "a@b.c, @example.com, user@.com, user@x.co",
+            "order_4111111111111111 x4111-1111-1111-1111_",
+            "5551234567890123456789",
+            "This is a clean text with no PII",
+            "é123-45-6789 and 123-45-6789é",
+    })
+    @DisplayName("agrees with the regexes on known inputs")
+    void agreesOnKnownInputs(String text) {
+        assertEquals(regexDetect(text), PiiScanner.detect(text));
+    }
+
+    @Test
+    @DisplayName("agrees with the regexes on random digit-heavy inputs")
+    void agreesOnRandomInputs() {
+        String alphabet = "0123456789012345678901234567890123456789 -.()+@_aZx\t";
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder();
+        for (int run = 0; run < 50_000; run++) {
+            text.setLength(0);
+            int length = random.nextInt(40);
+            for (int i = 0; i < length; i++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String input = text.toString();
+            assertEquals(regexDetect(input), PiiScanner.detect(input), () -> "input: \"" + input + "\"");
+        }
+    }
+
+    @Test
+    @DisplayName("returns the same list instance for the same findings")
+    void sharesResultLists() {
+        assertSame(PiiScanner.detect("no pii here"), PiiScanner.detect("still none"));
+        assertSame(PiiScanner.detect("a@example.com"), PiiScanner.detect("b@example.org"));
+    }
+
+    @Test
+    @DisplayName("stops once the wanted types are found")
+    void stopsWhenWantedFound() {
+        assertEquals(PiiScanner.EMAIL, PiiScanner.scan("a@example.com then 123-45-6789", PiiScanner.EMAIL));
+    }
+
+    @Test
+    @DisplayName("scans only up to the length cap")
+    void capsScanLength() {
+        String text = "x".repeat(100) + " user@example.com";
+
+        assertEquals(List.of(), Security.detectPii(text, 100));
+        assertEquals(List.of("email"), Security.detectPii(text, text.length()));
+        // The cap is the end of the text, as if the string were cut there
+        assertEquals(List.of("ssn"), Security.detectPii("123-45-67890", 11));
+        assertThrows(IllegalArgumentException.class, () -> Security.detectPii(text, 0));
+    }
+
+    @Test
+    @DisplayName("scans long adversarial runs in linear time")
+    void scansAdversarialRuns() {
+        String[] payloads = {"a".repeat(200_000), "x@" + "1.".repeat(100_000), "1234 ".repeat(40_000)};
+        for (String payload : payloads) {
+            assertTimeoutPreemptively(Duration.ofSeconds(2), () -> PiiScanner.detect(payload));
+        }
+    }
+}
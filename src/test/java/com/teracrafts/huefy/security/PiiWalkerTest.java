@@ -0,0 +1,86 @@
+package com.teracrafts.huefy.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PiiWalkerTest {
+
+    private record Contact(String name, String email) {}
+
+    @Test
+    @DisplayName("reports the path of each string with PII")
+    void reportsPaths() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("name", "Jane");
+        data.put("customer", Map.of("email", "jane@example.com"));
+        data.put("phones", List.of("n/a", "(555) 123-4567"));
+        data.put("ips", new String[] {"10.0.0.1"});
+        data.put("card", 4111111111111111L);
+
+        assertEquals(List.of(
+                new PiiFinding("customer.email", List.of("email")),
+                new PiiFinding("phones[1]", List.of("phone")),
+                new PiiFinding("ips[0]", List.of("ip_address")),
+                new PiiFinding("card", List.of("credit_card", "phone"))
+        ), PiiWalker.walk(data, 1000));
+    }
+
+    @Test
+    @DisplayName("walks Jackson trees and converts other objects")
+    void walksTreesAndObjects() throws Exception {
+        Object tree = new ObjectMapper().readTree("{\"to\":[{\"address\":\"a@example.com\"}]}");
+
+        assertEquals(List.of(new PiiFinding("to[0].address", List.of("email"))), PiiWalker.walk(tree, 1000));
+        assertEquals(List.of(new PiiFinding("[1].email", List.of("email"))),
+                PiiWalker.walk(List.of(new Contact("a", "none"), new Contact("b", "b@example.com")), 1000));
+    }
+
+    @Test
+    @DisplayName("scans map keys and field names under the path of their entry")
+    void scansKeys() throws Exception {
+        Map<Object, Object> byEmail = new LinkedHashMap<>();
+        byEmail.put("jane@example.com", "gold");
+        byEmail.put(5551234567L, "silver");
+        byEmail.put(7, "bronze");
+        Object tree = new ObjectMapper().readTree("{\"tiers\":{\"10.0.0.1\":\"internal\"}}");
+
+        assertEquals(List.of(
+                new PiiFinding("jane@example.com", List.of("email")),
+                new PiiFinding("5551234567", List.of("phone"))
+        ), PiiWalker.walk(byEmail, 1000));
+        assertEquals(List.of(new PiiFinding("tiers.10.0.0.1", List.of("ip_address"))), PiiWalker.walk(tree, 1000));
+    }
+
+    @Test
+    @DisplayName("returns the shared empty list when nothing is found")
+    void returnsEmptyList() {
+        assertSame(List.of(), PiiWalker.walk(Map.of("a", List.of("x", 1, true), "b", new int[] {1, 2}), 1000));
+        assertSame(List.of(), PiiWalker.walk(null, 1000));
+    }
+
+    @Test
+    @DisplayName("caps the characters scanned per string")
+    void capsEachString() {
+        Map<String, String> data = Map.of("note", "x".repeat(50) + " a@example.com");
+
+        assertEquals(List.of(), Security.findPii(data, 50));
+        assertEquals(1, Security.findPii(data, 100).size());
+    }
+
+    @Test
+    @DisplayName("stops at a value that contains itself")
+    void stopsOnCycles() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("self", data);
+
+        assertEquals(List.of(), PiiWalker.walk(data, 1000));
+    }
+}